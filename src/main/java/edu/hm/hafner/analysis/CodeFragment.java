@@ -0,0 +1,212 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * An immutable code fragment of a {@link DuplicationGroup}. The identity of a fragment is a digest of its text that is
+ * computed once when the fragment is created: so comparing or hashing fragments (and the issues that reference them)
+ * does not need to process the whole text. Large fragments are stored in compressed form. The text of such fragments is
+ * decompressed on demand, e.g. when the fragment is displayed in the user interface.
+ *
+ * @author Ullrich Hafner
+ * @see CodeFragmentPool
+ */
+public final class CodeFragment implements Serializable {
+    private static final long serialVersionUID = -4331226440405393556L;
+
+    /** The empty code fragment. */
+    public static final CodeFragment EMPTY = of(StringUtils.EMPTY);
+
+    /** Minimum number of bytes of a text that will be compressed. */
+    static final int COMPRESSION_THRESHOLD = 512;
+
+    private final String digest;
+    private final byte[] content;
+    private final boolean isCompressed;
+    private final boolean isBlank;
+
+    @Nullable
+    private transient volatile SoftReference<String> text;
+
+    /**
+     * Creates a new code fragment with the specified text. The text is not compressed.
+     *
+     * @param text
+     *         the text of the fragment
+     *
+     * @return the code fragment
+     */
+    public static CodeFragment of(@Nullable final String text) {
+        String value = StringUtils.defaultString(text);
+        byte[] bytes = toBytes(value);
+        return new CodeFragment(createDigest(bytes), bytes, StringUtils.isBlank(value), false);
+    }
+
+    /**
+     * Creates a new code fragment.
+     *
+     * @param digest
+     *         the digest of the text, see {@link #createDigest(byte[])}
+     * @param bytes
+     *         the UTF-8 encoded text of the fragment
+     * @param isBlank
+     *         determines whether the text is blank
+     * @param compress
+     *         determines whether the text should be stored in compressed form if it is large enough
+     */
+    CodeFragment(final String digest, final byte[] bytes, final boolean isBlank, final boolean compress) {
+        this.digest = digest;
+        this.isBlank = isBlank;
+
+        byte[] compressed = compress && bytes.length >= COMPRESSION_THRESHOLD ? deflate(bytes) : bytes;
+        isCompressed = compressed.length < bytes.length;
+        content = isCompressed ? compressed : bytes;
+    }
+
+    static byte[] toBytes(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String createDigest(final byte[] bytes) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static byte[] deflate(final byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    private String inflate() {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(content.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Compressed code fragment is corrupt: " + digest);
+                }
+                output.write(buffer, 0, length);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+        catch (DataFormatException exception) {
+            throw new IllegalStateException("Compressed code fragment is corrupt: " + digest, exception);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Returns the text of this fragment. Compressed fragments are decompressed on demand, the text is cached as long as
+     * there is enough memory available.
+     *
+     * @return the text
+     */
+    public String getText() {
+        SoftReference<String> cached = text;
+        if (cached != null) {
+            String value = cached.get();
+            if (value != null) {
+                return value;
+            }
+        }
+        String value = isCompressed ? inflate() : new String(content, StandardCharsets.UTF_8);
+        text = new SoftReference<>(value);
+        return value;
+    }
+
+    /**
+     * Returns the digest of the text of this fragment. Fragments with the same text have the same digest.
+     *
+     * @return the digest
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Returns whether the text of this fragment is empty or contains only whitespace.
+     *
+     * @return {@code true} if the text is blank, {@code false} otherwise
+     */
+    public boolean isBlank() {
+        return isBlank;
+    }
+
+    /**
+     * Returns whether the text of this fragment is stored in compressed form.
+     *
+     * @return {@code true} if the text is compressed, {@code false} otherwise
+     */
+    public boolean isCompressed() {
+        return isCompressed;
+    }
+
+    /**
+     * Returns the number of bytes that are required to store the text of this fragment.
+     *
+     * @return the size of the stored text in bytes
+     */
+    public int getStoredSize() {
+        return content.length;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CodeFragment that = (CodeFragment) o;
+
+        return digest.equals(that.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return digest.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return digest;
+    }
+}
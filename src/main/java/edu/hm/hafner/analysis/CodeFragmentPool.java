@@ -0,0 +1,74 @@
+package edu.hm.hafner.analysis;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A thread-safe pool of {@link CodeFragment code fragments}. Fragments with the same text are stored only once, even if
+ * they are reported by different parsers or in different reports. Several duplication parsers can share the same pool
+ * during an analysis run. The pool should be discarded after the analysis run: the fragments are still referenced by
+ * the duplication groups of the created issues.
+ *
+ * @author Ullrich Hafner
+ */
+public class CodeFragmentPool {
+    private final Map<String, CodeFragment> fragments = new ConcurrentHashMap<>();
+    private final boolean isCompressing;
+
+    /**
+     * Creates a new {@link CodeFragmentPool} that stores large fragments in compressed form.
+     */
+    public CodeFragmentPool() {
+        this(true);
+    }
+
+    /**
+     * Creates a new {@link CodeFragmentPool}.
+     *
+     * @param isCompressing
+     *         determines whether large fragments should be stored in compressed form
+     */
+    public CodeFragmentPool(final boolean isCompressing) {
+        this.isCompressing = isCompressing;
+    }
+
+    /**
+     * Returns the shared code fragment for the specified text. If the pool does not contain a fragment with this text
+     * yet, then a new fragment will be created and added to the pool.
+     *
+     * @param text
+     *         the text of the fragment
+     *
+     * @return the shared code fragment
+     */
+    public CodeFragment add(@Nullable final String text) {
+        if (StringUtils.isEmpty(text)) {
+            return CodeFragment.EMPTY;
+        }
+        byte[] bytes = CodeFragment.toBytes(text);
+        return fragments.computeIfAbsent(CodeFragment.createDigest(bytes),
+                digest -> new CodeFragment(digest, bytes, StringUtils.isBlank(text), isCompressing));
+    }
+
+    /**
+     * Returns the number of distinct fragments in this pool.
+     *
+     * @return the number of fragments
+     */
+    public int size() {
+        return fragments.size();
+    }
+
+    /**
+     * Returns the number of bytes that are required to store the text of all fragments in this pool.
+     *
+     * @return the size of the stored texts in bytes
+     */
+    public long getStoredSize() {
+        return fragments.values().stream().mapToLong(CodeFragment::getStoredSize).sum();
+    }
+}
@@ -0,0 +1,684 @@
+package edu.hm.hafner.analysis;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import edu.hm.hafner.util.NoSuchElementException;
+import edu.hm.hafner.util.TreeString;
+import edu.hm.hafner.util.TreeStringBuilder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import static java.util.stream.Collectors.*;
+
+/**
+ * A {@link Report} that stores its issues in columns rather than in individual {@link Issue} instances. Line and
+ * column positions are stored in primitive {@code int} columns, all other properties (file, package, module, category,
+ * type, severity, origin, message, etc.) are dictionary encoded: every distinct value is stored only once and each
+ * issue just references the index of the value in the dictionary. This representation is useful for very large
+ * reports with millions of issues.
+ * <p>
+ * The issues of this report are created on demand whenever an issue is handed out (e.g., by {@link #iterator()},
+ * {@link #stream()}, or {@link #get(int)}). These issues are views of a row: changing the mutable properties of such
+ * an issue (file name, package name, module name, origin, reference, or fingerprint) writes the new values back to the
+ * columns of the row. So the resolvers that post-process a report work on this report as well. Aggregations like
+ * {@link #getSizeOf(Severity)}, {@link #getPropertyCount(String)}, {@link #groupByProperty(String)}, or {@link
+ * #getFiles()} run directly over the columns.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@SuppressWarnings({"PMD.TooManyFields", "PMD.ExcessivePublicCount", "PMD.GodClass"})
+public class ColumnarReport extends Report {
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_INDEX_SIZE = 64;
+
+    private final LongArrayList mostSignificantIdBits = new LongArrayList();
+    private final LongArrayList leastSignificantIdBits = new LongArrayList();
+    private final IntArrayList hashCodes = new IntArrayList();
+
+    private final IntArrayList lineStarts = new IntArrayList();
+    private final IntArrayList lineEnds = new IntArrayList();
+    private final IntArrayList columnStarts = new IntArrayList();
+    private final IntArrayList columnEnds = new IntArrayList();
+
+    private final Column<String> pathNames = new StringColumn();
+    private final Column<TreeString> fileNames = new TreeStringColumn();
+    private final Column<TreeString> packageNames = new TreeStringColumn();
+    private final Column<String> moduleNames = new StringColumn();
+    private final Column<String> categories = new StringColumn();
+    private final Column<String> types = new StringColumn();
+    private final Column<Severity> severities = new SeverityColumn();
+    private final Column<String> origins = new StringColumn();
+    private final Column<TreeString> messages = new TreeStringColumn();
+    private final Column<String> descriptions = new StringColumn();
+    private final Column<String> references = new StringColumn();
+    private final Column<String> fingerprints = new StringColumn();
+
+    private final Map<Integer, LineRangeList> lineRanges = new HashMap<>();
+    private final Map<Integer, Serializable> additionalProperties = new HashMap<>();
+
+    private final BitSet removed = new BitSet();
+    /** The rows that have not been removed, created on demand after a removal. */
+    @Nullable
+    private transient int[] remainingRows;
+    private int rows = 0;
+    private int size = 0;
+
+    /** Open addressing hash index of the rows: each slot contains the row + 1, empty slots contain 0. */
+    private int[] index = new int[INITIAL_INDEX_SIZE];
+    /** Determines whether the hash code of a row has been changed since the index has been built. */
+    private boolean isIndexStale = false;
+
+    /**
+     * Creates an empty {@link ColumnarReport}.
+     */
+    public ColumnarReport() {
+        super();
+    }
+
+    @Override
+    boolean addElement(final Issue issue) {
+        int hashCode = issue.hashCode();
+        if (contains(issue, hashCode)) {
+            return false;
+        }
+
+        int row = rows;
+        UUID id = issue.getId();
+        mostSignificantIdBits.add(id.getMostSignificantBits());
+        leastSignificantIdBits.add(id.getLeastSignificantBits());
+        hashCodes.add(hashCode);
+
+        lineStarts.add(issue.getLineStart());
+        lineEnds.add(issue.getLineEnd());
+        columnStarts.add(issue.getColumnStart());
+        columnEnds.add(issue.getColumnEnd());
+
+        pathNames.add(issue.getPath());
+        fileNames.add(issue.getFileName());
+        packageNames.add(issue.getPackageName());
+        moduleNames.add(issue.getModuleName());
+        categories.add(issue.getCategory());
+        types.add(issue.getType());
+        severities.add(issue.getSeverity().getName());
+        origins.add(issue.getOrigin());
+        messages.add(issue.getMessage());
+        descriptions.add(issue.getDescription());
+        references.add(issue.getReference());
+        fingerprints.add(issue.getFingerprint());
+
+        Iterator<? extends LineRange> ranges = issue.getLineRanges().iterator();
+        if (ranges.hasNext()) {
+            LineRangeList list = new LineRangeList();
+            ranges.forEachRemaining(list::add);
+            list.trim();
+            lineRanges.put(row, list);
+        }
+        if (issue.getAdditionalProperties() != null) {
+            additionalProperties.put(row, issue.getAdditionalProperties());
+        }
+
+        addToIndex(row, hashCode);
+        rows++;
+        size++;
+        remainingRows = null;
+
+        return true;
+    }
+
+    private boolean contains(final Issue issue, final int hashCode) {
+        if (isIndexStale) {
+            rebuildIndex(index.length);
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(hashCode) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int row = index[slot] - 1;
+            if (hashCodes.get(row) == hashCode && !removed.get(row) && createIssue(row).equals(issue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addToIndex(final int row, final int hashCode) {
+        if ((rows + 1) * 2 > index.length) {
+            rebuildIndex(index.length * 2);
+        }
+        insert(row, hashCode);
+    }
+
+    private void rebuildIndex(final int length) {
+        index = new int[length];
+        for (int row = 0; row < rows; row++) {
+            if (!removed.get(row)) {
+                insert(row, hashCodes.get(row));
+            }
+        }
+        isIndexStale = false;
+    }
+
+    private void insert(final int row, final int hashCode) {
+        int mask = index.length - 1;
+        int slot = spread(hashCode) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = row + 1;
+    }
+
+    private static int spread(final int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * Creates a new issue view for the specified row.
+     *
+     * @param row
+     *         the row
+     *
+     * @return the issue of the specified row
+     */
+    private Issue createIssue(final int row) {
+        return new IssueView(row);
+    }
+
+    /**
+     * Writes the mutable properties of the specified issue view back to the columns of the row.
+     *
+     * @param row
+     *         the row of the issue
+     * @param issue
+     *         the changed issue
+     */
+    private void update(final int row, final Issue issue) {
+        pathNames.set(row, issue.getPath());
+        fileNames.set(row, issue.getFileName());
+        packageNames.set(row, issue.getPackageName());
+        moduleNames.set(row, issue.getModuleName());
+        origins.set(row, issue.getOrigin());
+        references.set(row, issue.getReference());
+        fingerprints.set(row, issue.getFingerprint());
+
+        int hashCode = issue.hashCode();
+        if (hashCodes.get(row) != hashCode) {
+            hashCodes.set(row, hashCode);
+            isIndexStale = true;
+        }
+    }
+
+    private IntStream rows() {
+        return IntStream.range(0, rows).filter(row -> !removed.get(row));
+    }
+
+    @Override
+    Stream<Issue> streamElements() {
+        return rows().mapToObj(this::createIssue);
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Issue> iterator() {
+        return streamElements().iterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Issue get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No such index " + index + " in " + toString());
+        }
+        if (removed.isEmpty()) {
+            return createIssue(index);
+        }
+        if (remainingRows == null) {
+            remainingRows = rows().toArray();
+        }
+        return createIssue(remainingRows[index]);
+    }
+
+    @Override
+    public Issue findById(final UUID issueId) {
+        return createIssue(findRow(issueId));
+    }
+
+    @Override
+    Issue remove(final UUID issueId) {
+        int row = findRow(issueId);
+        removed.set(row);
+        remainingRows = null;
+        size--;
+        return createIssue(row);
+    }
+
+    private int findRow(final UUID issueId) {
+        long mostSignificantBits = issueId.getMostSignificantBits();
+        long leastSignificantBits = issueId.getLeastSignificantBits();
+
+        return rows().filter(row -> mostSignificantIdBits.get(row) == mostSignificantBits
+                && leastSignificantIdBits.get(row) == leastSignificantBits)
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No issue found with id %s.", issueId));
+    }
+
+    @Override
+    public int getSizeOf(final Severity severity) {
+        int code = severities.find(severity.getName());
+        if (code < 0) {
+            return 0;
+        }
+        return (int) rows().filter(row -> severities.code(row) == code).count();
+    }
+
+    @Override
+    public Set<String> getModules() {
+        return getValues(moduleNames);
+    }
+
+    @Override
+    public Set<String> getPackages() {
+        return getValues(packageNames);
+    }
+
+    @Override
+    public Set<String> getFiles() {
+        return getValues(fileNames);
+    }
+
+    @Override
+    public Set<String> getCategories() {
+        return getValues(categories);
+    }
+
+    @Override
+    public Set<String> getTypes() {
+        return getValues(types);
+    }
+
+    @Override
+    public Set<String> getTools() {
+        return getValues(origins);
+    }
+
+    @Override
+    public Set<Severity> getSeverities() {
+        int[] counts = countCodes(severities);
+        Set<Severity> values = new HashSet<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                values.add(severities.value(code));
+            }
+        }
+        return values;
+    }
+
+    private Set<String> getValues(final Column<?> column) {
+        return getCounts(column).keySet();
+    }
+
+    @Override
+    public Map<String, Integer> getPropertyCount(final String propertyName) {
+        Column<?> column = getColumn(propertyName);
+        if (column == null) {
+            return super.getPropertyCount(propertyName);
+        }
+        return getCounts(column);
+    }
+
+    private Map<String, Integer> getCounts(final Column<?> column) {
+        int[] counts = countCodes(column);
+        Map<String, Integer> values = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                values.merge(column.value(code).toString(), counts[code], Integer::sum);
+            }
+        }
+        return values;
+    }
+
+    private int[] countCodes(final Column<?> column) {
+        int[] counts = new int[column.distinctValues()];
+        rows().forEach(row -> counts[column.code(row)]++);
+        return counts;
+    }
+
+    @Override
+    public Map<String, Report> groupByProperty(final String propertyName) {
+        Column<?> column = getColumn(propertyName);
+        if (column == null) {
+            return super.groupByProperty(propertyName);
+        }
+
+        Map<Integer, List<Integer>> rowsByCode = rows().boxed()
+                .collect(groupingBy(column::code, LinkedHashMap::new, toList()));
+        Map<String, Report> groups = new HashMap<>();
+        rowsByCode.forEach((code, codeRows) -> {
+            Report group = groups.computeIfAbsent(column.value(code).toString(), key -> createEmptyInstance());
+            codeRows.forEach(row -> group.add(createIssue(row)));
+        });
+        return groups;
+    }
+
+    @Nullable
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private Column<?> getColumn(final String propertyName) {
+        switch (propertyName) {
+            case "fileName":
+                return fileNames;
+            case "packageName":
+                return packageNames;
+            case "moduleName":
+                return moduleNames;
+            case "category":
+                return categories;
+            case "type":
+                return types;
+            case "severity":
+                return severities;
+            case "origin":
+                return origins;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    Report createEmptyInstance() {
+        return new ColumnarReport();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        ColumnarReport that = (ColumnarReport) o;
+        return streamElements().collect(toSet()).equals(that.streamElements().collect(toSet()));
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), streamElements().mapToInt(Issue::hashCode).sum());
+    }
+
+    /**
+     * An issue that has been created for a row of this report. Changes of the mutable properties are written back to
+     * the columns of the row. Serialization replaces the view with a plain {@link Issue}.
+     */
+    private class IssueView extends Issue {
+        private static final long serialVersionUID = 1L;
+
+        private final int row;
+
+        IssueView(final int row) {
+            super(pathNames.get(row), fileNames.get(row),
+                    lineStarts.get(row), lineEnds.get(row), columnStarts.get(row), columnEnds.get(row),
+                    lineRanges.get(row), categories.get(row), types.get(row), packageNames.get(row),
+                    moduleNames.get(row), severities.get(row), messages.get(row), descriptions.get(row),
+                    origins.get(row), references.get(row), fingerprints.get(row), additionalProperties.get(row),
+                    new UUID(mostSignificantIdBits.get(row), leastSignificantIdBits.get(row)));
+
+            // the constructor replaces empty values with defaults, the setters retain the values as is
+            super.setModuleName(moduleNames.get(row));
+            super.setFingerprint(fingerprints.get(row));
+            this.row = row;
+        }
+
+        @Override
+        void setFileName(final String pathName, final TreeString fileName) {
+            super.setFileName(pathName, fileName);
+            update(row, this);
+        }
+
+        @Override
+        void setPackageName(final TreeString packageName) {
+            super.setPackageName(packageName);
+            update(row, this);
+        }
+
+        @Override
+        void setModuleName(@Nullable final String moduleName) {
+            super.setModuleName(moduleName);
+            update(row, this);
+        }
+
+        @Override
+        public void setOrigin(final String origin) {
+            super.setOrigin(origin);
+            update(row, this);
+        }
+
+        @Override
+        public void setReference(@Nullable final String reference) {
+            super.setReference(reference);
+            update(row, this);
+        }
+
+        @Override
+        void setFingerprint(@Nullable final String fingerprint) {
+            super.setFingerprint(fingerprint);
+            update(row, this);
+        }
+
+        private Object writeReplace() {
+            Issue issue = new Issue(this);
+            issue.setModuleName(getModuleName());
+            issue.setFingerprint(getFingerprint());
+            return issue;
+        }
+    }
+
+    /**
+     * A dictionary encoded column: each distinct value is stored only once, the rows of the column reference the index
+     * of the value.
+     *
+     * @param <T>
+     *         the type of the values
+     */
+    private abstract static class Column<T> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final IntArrayList codes = new IntArrayList();
+        private final List<T> values = new ArrayList<>();
+
+        /**
+         * Creates the value that will be stored in the dictionary of this column.
+         *
+         * @param value
+         *         the value as string
+         *
+         * @return the value to store
+         */
+        abstract T createValue(String value);
+
+        /**
+         * Returns the index of the specified value in the dictionary of this column.
+         *
+         * @param value
+         *         the value as string
+         *
+         * @return the index of the value, or -1 if the value is not part of the dictionary
+         */
+        abstract int find(String value);
+
+        /**
+         * Registers the index of a value that has been added to the dictionary of this column.
+         *
+         * @param value
+         *         the value that has been created by {@link #createValue(String)}
+         * @param code
+         *         the index of the value
+         */
+        abstract void register(T value, int code);
+
+        private int encode(final String value) {
+            int code = find(value);
+            if (code < 0) {
+                code = values.size();
+                T created = createValue(value);
+                values.add(created);
+                register(created, code);
+            }
+            return code;
+        }
+
+        void add(final String value) {
+            codes.add(encode(value));
+        }
+
+        void set(final int row, final String value) {
+            codes.set(row, encode(value));
+        }
+
+        int code(final int row) {
+            return codes.get(row);
+        }
+
+        T get(final int row) {
+            return values.get(codes.get(row));
+        }
+
+        T value(final int code) {
+            return values.get(code);
+        }
+
+        void replaceValue(final int code, final T value) {
+            values.set(code, value);
+        }
+
+        int distinctValues() {
+            return values.size();
+        }
+    }
+
+    /**
+     * A column of strings. The values are keyed by the interned strings, so every distinct value is stored only once.
+     */
+    private static class StringColumn extends Column<String> {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+
+        @Override
+        String createValue(final String value) {
+            return value.intern();
+        }
+
+        @Override
+        int find(final String value) {
+            return codesByValue.getOrDefault(value, -1);
+        }
+
+        @Override
+        void register(final String value, final int code) {
+            codesByValue.put(value, code);
+        }
+    }
+
+    /**
+     * A column of tree-strings. Values of the same column share common prefixes. The values are looked up in the trie
+     * of the {@link TreeStringBuilder}: since the builder returns the same tree-string for equal values, the index of a
+     * value is found by the identity of its tree-string.
+     */
+    private static class TreeStringColumn extends Column<TreeString> {
+        private static final long serialVersionUID = 1L;
+
+        @Nullable
+        private transient TreeStringBuilder builder;
+        @Nullable
+        private transient Map<TreeString, Integer> codesByValue;
+
+        @Override
+        TreeString createValue(final String value) {
+            return getBuilder().intern(value);
+        }
+
+        @Override
+        int find(final String value) {
+            TreeString treeString = getBuilder().intern(value);
+            return getCodesByValue().getOrDefault(treeString, -1);
+        }
+
+        @Override
+        void register(final TreeString value, final int code) {
+            getCodesByValue().put(value, code);
+        }
+
+        private TreeStringBuilder getBuilder() {
+            if (builder == null) {
+                restoreDictionary();
+            }
+            return builder;
+        }
+
+        private Map<TreeString, Integer> getCodesByValue() {
+            if (codesByValue == null) {
+                restoreDictionary();
+            }
+            return codesByValue;
+        }
+
+        /**
+         * Creates the builder and the index of the dictionary. After deserialization the values of the dictionary are
+         * interned again so that the values share their prefixes and can be found by identity.
+         */
+        private void restoreDictionary() {
+            builder = new TreeStringBuilder();
+            codesByValue = new IdentityHashMap<>();
+            for (int code = 0; code < distinctValues(); code++) {
+                TreeString interned = builder.intern(value(code).toString());
+                replaceValue(code, interned);
+                codesByValue.putIfAbsent(interned, code);
+            }
+        }
+    }
+
+    /**
+     * A column of severities.
+     */
+    private static class SeverityColumn extends Column<Severity> {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Integer> codesByName = new HashMap<>();
+
+        @Override
+        Severity createValue(final String value) {
+            Severity severity = Severity.valueOf(value);
+            if (severity.getName().equals(value)) {
+                return severity;
+            }
+            return new Severity(value);
+        }
+
+        @Override
+        int find(final String value) {
+            return codesByName.getOrDefault(value, -1);
+        }
+
+        @Override
+        void register(final Severity value, final int code) {
+            codesByName.put(value.getName(), code);
+        }
+    }
+}
@@ -7,16 +7,22 @@ import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
  * Links all affected files of a duplicated code fragment. A code duplication could be reported by a code duplication
- * detector like CPD, DupFinder, or Simian.
+ * detector like CPD, DupFinder, or Simian. Two groups are equal if their code fragments are equal. The comparison uses
+ * the digest of the {@link CodeFragment code fragment}, so comparing groups does not require comparing the actual
+ * copied code.
  */
 public final class DuplicationGroup implements Serializable {
     private static final long serialVersionUID = -5005784523279541971L;
 
     private final List<Issue> occurrences = new ArrayList<>();
-    private String codeFragment = StringUtils.EMPTY;
+    private CodeFragment fragment = CodeFragment.EMPTY;
+    /** Text of the fragment in serializations of previous releases. */
+    @Nullable
+    private String codeFragment;
 
     /**
      * Creates a new duplication group for the specified code fragment.
@@ -28,6 +34,16 @@ public final class DuplicationGroup implements Serializable {
         setCodeFragment(codeFragment);
     }
 
+    /**
+     * Creates a new duplication group for the specified code fragment.
+     *
+     * @param fragment
+     *         the copied code fragment
+     */
+    public DuplicationGroup(final CodeFragment fragment) {
+        setCodeFragment(fragment);
+    }
+
     /**
      * Creates a new duplication group. The code fragment is not set and should be set using {@link #add(Issue)}.
      */
@@ -42,11 +58,47 @@ public final class DuplicationGroup implements Serializable {
      * @param codeFragment
      *         the copied code fragment
      */
-    @SuppressWarnings("InstanceVariableUsedBeforeInitialized")
     public void setCodeFragment(@Nullable final String codeFragment) {
-        if (StringUtils.isBlank(this.codeFragment)) {
-            this.codeFragment = StringUtils.defaultString(codeFragment);
+        if (!hasCodeFragment()) {
+            setCodeFragment(CodeFragment.of(codeFragment));
+        }
+    }
+
+    /**
+     * Sets the code fragment of the duplication group. Once this value has been set to a non-empty value it will not
+     * change again.
+     *
+     * @param codeFragment
+     *         the copied code fragment
+     */
+    @SuppressWarnings("InstanceVariableUsedBeforeInitialized")
+    public void setCodeFragment(final CodeFragment codeFragment) {
+        if (!hasCodeFragment()) {
+            fragment = codeFragment;
+        }
+    }
+
+    /**
+     * Returns whether the code fragment of this group has been set to a non-empty value.
+     *
+     * @return {@code true} if the code fragment has been set, {@code false} otherwise
+     */
+    public boolean hasCodeFragment() {
+        return !fragment.isBlank();
+    }
+
+    /**
+     * Called after de-serialization to convert the code fragment of serializations of previous releases.
+     *
+     * @return this
+     */
+    @SuppressFBWarnings(value = "RCN_REDUNDANT_NULLCHECK_OF_NONNULL_VALUE", justification = "Deserialization of instances that do not have all fields yet")
+    private Object readResolve() {
+        if (fragment == null) {
+            fragment = CodeFragment.of(codeFragment);
+            codeFragment = null;
         }
+        return this;
     }
 
     /**
@@ -65,7 +117,17 @@ public final class DuplicationGroup implements Serializable {
      * @return the duplicated code fragment
      */
     public String getCodeFragment() {
-        return codeFragment;
+        return fragment.getText();
+    }
+
+    /**
+     * Returns the code fragment that has been duplicated by all members of this group. In contrast to {@link
+     * #getCodeFragment()} the text of the fragment is not decompressed.
+     *
+     * @return the duplicated code fragment
+     */
+    public CodeFragment getFragment() {
+        return fragment;
     }
 
     public List<Issue> getDuplications() {
@@ -83,11 +145,11 @@ public final class DuplicationGroup implements Serializable {
 
         DuplicationGroup that = (DuplicationGroup) o;
 
-        return codeFragment.equals(that.codeFragment);
+        return fragment.equals(that.fragment);
     }
 
     @Override
     public int hashCode() {
-        return codeFragment.hashCode();
+        return fragment.hashCode();
     }
 }
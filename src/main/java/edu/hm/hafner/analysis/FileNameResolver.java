@@ -18,6 +18,26 @@ public class FileNameResolver {
     static final String NOTHING_TO_DO = "-> none of the issues requires resolving of paths";
     private static final PathUtil PATH_UTIL = new PathUtil();
 
+    private final InterningContext interningContext;
+
+    /**
+     * Creates a new {@link FileNameResolver} that uses its own {@link InterningContext}.
+     */
+    public FileNameResolver() {
+        this(new InterningContext());
+    }
+
+    /**
+     * Creates a new {@link FileNameResolver} that interns the resolved file names using the specified {@link
+     * InterningContext}.
+     *
+     * @param interningContext
+     *         the context to intern the resolved file names
+     */
+    public FileNameResolver(final InterningContext interningContext) {
+        this.interningContext = interningContext;
+    }
+
     /**
      * Resolves the file names of the affected files of the specified set of issues.
      *
@@ -48,7 +68,7 @@ public class FileNameResolver {
                 .filter(entry -> PATH_UTIL.exists(entry.getValue(), sourceDirectoryPrefix))
                 .collect(Collectors.toMap(Entry::getKey, Entry::getValue));
 
-        IssueBuilder builder = new IssueBuilder();
+        IssueBuilder builder = new IssueBuilder(interningContext);
         report.stream()
                 .filter(issue -> pathMapping.containsKey(issue.getFileName()))
                 .forEach(issue -> issue.setFileName(sourceDirectoryPrefix, builder.internFileName(pathMapping.get(issue.getFileName()))));
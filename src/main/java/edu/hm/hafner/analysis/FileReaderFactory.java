@@ -1,35 +1,71 @@
 package edu.hm.hafner.analysis;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.SequenceInputStream;
 import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import javax.xml.stream.XMLStreamReader;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.BOMInputStream;
 
 import com.google.errorprone.annotations.MustBeClosed;
 
+import edu.hm.hafner.util.Ensure;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
- * Provides a {@link ReaderFactory} that returns readers for a given file.
+ * Provides a {@link ReaderFactory} that returns readers for a given file. Compressed files are decompressed while
+ * reading: gzip files and zip archives are detected by the magic bytes at the beginning of the file. For zip archives,
+ * the first file entry of the archive is read.
+ * <p>
+ * If no charset is given, then the charset is detected from the byte order mark or the XML declaration at the beginning
+ * of the file. The detection uses the same stream that is used to read the file and is done only once. Optionally, the
+ * first bytes of the (decompressed) file can be kept in a head buffer. Then, reading only the beginning of the file
+ * (e.g., to check if the file is an XML file) does not access the file system again. Note that the factory assumes
+ * that the file is not changed after the head has been read.
+ * </p>
  *
  * @author Ullrich Hafner
  */
 public class FileReaderFactory extends ReaderFactory {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+
+    /** Number of bytes at the beginning of a file that will be inspected to detect the charset. */
+    private static final int PREFIX_SIZE = 1024;
+    private static final byte[] UTF_8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] UTF_16_BE_BOM = {(byte) 0xFE, (byte) 0xFF};
+    private static final byte[] UTF_16_LE_BOM = {(byte) 0xFF, (byte) 0xFE};
+    private static final Pattern XML_DECLARATION
+            = Pattern.compile("^<\\?xml\\s[^>]*?encoding\\s*=\\s*[\"']([A-Za-z][A-Za-z0-9._:-]*)[\"']");
+
     private final Path file;
     private final String fileName;
     @Nullable
     private Charset charset;
-    private final boolean isCharsetUndetected;
+    private boolean isCharsetUndetected;
+    private final int headBufferSize;
+    @Nullable
+    private byte[] head;
+    private boolean isHeadComplete;
 
     /**
      * Creates a new factory to read the specified file with a given charset.
@@ -40,10 +76,30 @@ public class FileReaderFactory extends ReaderFactory {
      *         the charset to use when reading the file (or {@code null} if the charset should be detected)
      */
     public FileReaderFactory(final Path file, final @Nullable Charset charset) {
+        this(file, charset, 0);
+    }
+
+    /**
+     * Creates a new factory to read the specified file with a given charset. The specified number of bytes at the
+     * beginning of the file will be kept in memory, so that subsequent reads of the beginning of the file do not
+     * access the file system again.
+     *
+     * @param file
+     *         the file to open
+     * @param charset
+     *         the charset to use when reading the file (or {@code null} if the charset should be detected)
+     * @param headBufferSize
+     *         the number of bytes at the beginning of the file that should be kept in memory, use 0 to read the whole
+     *         file for each reader
+     */
+    public FileReaderFactory(final Path file, final @Nullable Charset charset, final int headBufferSize) {
         super(StandardCharsets.UTF_8);
 
+        Ensure.that(headBufferSize >= 0).isTrue("Head buffer size must not be negative: %d", headBufferSize);
+
         this.file = file;
         this.charset = charset;
+        this.headBufferSize = headBufferSize;
         isCharsetUndetected = charset == null;
         fileName = file.toAbsolutePath().toString().replace('\\', '/');
     }
@@ -61,12 +117,19 @@ public class FileReaderFactory extends ReaderFactory {
     @Override @MustBeClosed
     public Reader create() {
         try {
-            if (isCharsetUndetected) {
-                charset = detectCharset(Files.newInputStream(file));
+            InputStream inputStream = headBufferSize > 0 ? openWithHead() : openInputStream();
+            try {
+                if (isCharsetUndetected) {
+                    charset = head == null ? detectCharset(inputStream)
+                            : detectCharset(head, Math.min(head.length, PREFIX_SIZE));
+                    isCharsetUndetected = false;
+                }
+                return new InputStreamReader(new BOMInputStream(inputStream), getCharset());
+            }
+            catch (IOException exception) {
+                inputStream.close();
+                throw exception;
             }
-            InputStream inputStream = Files.newInputStream(file);
-
-            return new InputStreamReader(new BOMInputStream(inputStream), getCharset());
         }
         catch (FileNotFoundException | InvalidPathException exception) {
             throw new ParsingException(exception, "Can't find file '%s'", fileName);
@@ -76,22 +139,131 @@ public class FileReaderFactory extends ReaderFactory {
         }
     }
 
+    @MustBeClosed
+    private InputStream openWithHead() throws IOException {
+        byte[] content = readHead();
+        InputStream headStream = new ByteArrayInputStream(content);
+        if (isHeadComplete) {
+            return headStream;
+        }
+        return new BufferedInputStream(new SequenceInputStream(headStream, new RemainderInputStream(content.length)));
+    }
+
+    private byte[] readHead() throws IOException {
+        byte[] content = head;
+        if (content == null) {
+            try (InputStream inputStream = openInputStream()) {
+                byte[] buffer = new byte[headBufferSize + 1];
+                int length = IOUtils.read(inputStream, buffer);
+                isHeadComplete = length <= headBufferSize;
+                content = Arrays.copyOf(buffer, Math.min(length, headBufferSize));
+                head = content;
+            }
+        }
+        return content;
+    }
+
+    @MustBeClosed
+    private InputStream openInputStream() throws IOException {
+        InputStream inputStream = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        try {
+            return decompress(inputStream);
+        }
+        catch (IOException exception) {
+            inputStream.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns a stream that decompresses the content of the specified stream if the content starts with the magic bytes
+     * of a gzip file or a zip archive. Otherwise, the specified stream is returned. The returned stream supports
+     * {@link InputStream#mark(int)}.
+     *
+     * @param inputStream
+     *         the stream to read the content from, must support {@link InputStream#mark(int)}
+     *
+     * @return the stream to read the (decompressed) content from
+     * @throws IOException
+     *         if the content could not be read or if a zip archive contains no file
+     */
+    private InputStream decompress(final InputStream inputStream) throws IOException {
+        byte[] magic = new byte[ZIP_MAGIC.length];
+        inputStream.mark(magic.length);
+        int length = IOUtils.read(inputStream, magic);
+        inputStream.reset();
+
+        if (length >= 2 && (magic[0] & 0xFF) == GZIP_MAGIC_FIRST && (magic[1] & 0xFF) == GZIP_MAGIC_SECOND) {
+            return new BufferedInputStream(new GZIPInputStream(inputStream, BUFFER_SIZE));
+        }
+        if (length == ZIP_MAGIC.length && Arrays.equals(magic, ZIP_MAGIC)) {
+            ZipInputStream zipInputStream = new ZipInputStream(inputStream);
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                if (!entry.isDirectory()) {
+                    return new BufferedInputStream(zipInputStream);
+                }
+            }
+            throw new IOException("Zip archive contains no file");
+        }
+        return inputStream;
+    }
+
+    /**
+     * Detects the charset from the byte order mark or the XML declaration at the beginning of the specified stream.
+     * The stream is reset to its beginning afterwards.
+     *
+     * @param inputStream
+     *         the stream to read the prefix from, must support {@link InputStream#mark(int)}
+     *
+     * @return the detected charset or {@code null} if the charset could not be detected
+     * @throws IOException
+     *         if the prefix could not be read
+     */
     @Nullable
     private Charset detectCharset(final InputStream inputStream) throws IOException {
-        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.US_ASCII)) {
-            XMLStreamReader xmlStreamReader = new SecureXmlParserFactory().createXmlStreamReader(reader);
-            String encodingTitle = xmlStreamReader.getCharacterEncodingScheme();
-            if (encodingTitle != null) {
-                return Charset.forName(encodingTitle);
+        byte[] prefix = new byte[PREFIX_SIZE];
+        inputStream.mark(PREFIX_SIZE);
+        int length = IOUtils.read(inputStream, prefix);
+        inputStream.reset();
+
+        return detectCharset(prefix, length);
+    }
+
+    @Nullable
+    private Charset detectCharset(final byte[] prefix, final int length) {
+        if (startsWith(prefix, length, UTF_16_BE_BOM) || startsWith(prefix, length, UTF_16_LE_BOM)) {
+            return StandardCharsets.UTF_16; // the decoder uses the byte order mark
+        }
+
+        int start = startsWith(prefix, length, UTF_8_BOM) ? UTF_8_BOM.length : 0;
+        String declaration = new String(prefix, start, length - start, StandardCharsets.ISO_8859_1);
+        Matcher matcher = XML_DECLARATION.matcher(declaration);
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            }
+            catch (IllegalArgumentException ignore) {
+                // Ignore it the charset couldn't be detected
             }
         }
-        catch (IllegalArgumentException ignore) {
-            // Ignore it the charset couldn't be detected
+        if (start > 0) {
+            return StandardCharsets.UTF_8;
         }
-
         return null;
     }
 
+    private static boolean startsWith(final byte[] prefix, final int length, final byte[] bom) {
+        if (length < bom.length) {
+            return false;
+        }
+        for (int i = 0; i < bom.length; i++) {
+            if (prefix[i] != bom[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns the absolute path of the resource. The file name uses UNIX path separators.
      *
@@ -109,4 +281,44 @@ public class FileReaderFactory extends ReaderFactory {
         }
         return charset;
     }
+
+    /**
+     * Reads the content of the file that follows the head buffer. The file is opened when the first byte is read.
+     */
+    private class RemainderInputStream extends InputStream {
+        private final int skip;
+        @Nullable
+        private InputStream remainder;
+
+        RemainderInputStream(final int skip) {
+            super();
+
+            this.skip = skip;
+        }
+
+        private InputStream getRemainder() throws IOException {
+            if (remainder == null) {
+                remainder = openInputStream();
+                IOUtils.skipFully(remainder, skip);
+            }
+            return remainder;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return getRemainder().read();
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            return getRemainder().read(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (remainder != null) {
+                remainder.close();
+            }
+        }
+    }
 }
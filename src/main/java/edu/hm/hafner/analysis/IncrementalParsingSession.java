@@ -0,0 +1,295 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import edu.hm.hafner.util.AnsiEscapeCodes;
+import edu.hm.hafner.util.Ensure;
+import edu.hm.hafner.util.LookaheadStream;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Parses a growing file (e.g., the console log of a running build) incrementally with a {@link LookaheadParser}. Each
+ * call of {@link #parseIncrement()} reads only the bytes that have been appended since the last call and returns the
+ * issues that have been found in these bytes. So the cost of a refresh depends on the size of the appended content and
+ * not on the size of the whole file.
+ * <p>
+ * The session keeps the byte offset and the line number of the first line that has not been parsed yet, and the
+ * {@link IssueBuilder} with the current make or cmake directory. Only complete lines (i.e., lines that are terminated by
+ * a line feed) are parsed, an incomplete last line is parsed in a subsequent increment. If a parser reaches the end of
+ * the available lines while reading the additional lines of a multi-line issue, then this issue is still pending: it
+ * is not reported and its lines will be parsed again in the next increment. Call {@link #finish()} if the file is
+ * complete in order to parse the remaining lines and pending issues.
+ * </p>
+ * <p>
+ * Lines are separated by line feeds only, a carriage return before a line feed is removed. Therefore, the charset of
+ * the file must encode a line feed as a single byte (e.g., UTF-8 or ISO-8859-1). ANSI color codes are removed from the
+ * lines. Note that the state of a parser that keeps information about the parsed lines in its own fields is not reset
+ * if the lines of a pending issue are parsed again. If the file has been truncated, then the session starts over and
+ * parses the file from the beginning.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class IncrementalParsingSession {
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final LookaheadParser parser;
+    private final Path file;
+    private final Charset charset;
+    private final String fileName;
+
+    private IssueBuilder builder;
+    private long offset = 0;
+    private int line = 0;
+
+    /**
+     * Creates a new {@link IncrementalParsingSession} that parses the specified file using the specified parser.
+     *
+     * @param parser
+     *         the parser to use
+     * @param file
+     *         the file to parse
+     * @param charset
+     *         the charset of the file, must encode a line feed as a single byte
+     */
+    public IncrementalParsingSession(final LookaheadParser parser, final Path file, final Charset charset) {
+        Ensure.that(Arrays.equals("\n".getBytes(charset), new byte[] {LINE_FEED}))
+                .isTrue("Charset %s does not encode a line feed as single byte", charset);
+
+        this.parser = parser;
+        this.file = file;
+        this.charset = charset;
+        fileName = file.toAbsolutePath().toString().replace('\\', '/');
+        builder = parser.createIssueBuilder();
+    }
+
+    /**
+     * Returns the byte offset of the first line that has not been parsed yet.
+     *
+     * @return the byte offset
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of lines that have been parsed so far.
+     *
+     * @return the number of parsed lines
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Parses the complete lines that have been appended to the file since the last call of this method.
+     *
+     * @return the new issues
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    public Report parseIncrement() throws ParsingException, ParsingCanceledException {
+        return parse(false);
+    }
+
+    /**
+     * Parses all remaining lines of the file, including an incomplete last line and the lines of pending issues. Call
+     * this method if the file will not grow anymore.
+     *
+     * @return the new issues
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    public Report finish() throws ParsingException, ParsingCanceledException {
+        return parse(true);
+    }
+
+    private Report parse(final boolean isComplete) {
+        Report report = new Report();
+
+        StepBoundedCharSequence boundedLine = new StepBoundedCharSequence();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < offset) {
+                report.logInfo("File '%s' has been truncated, parsing from the beginning", fileName);
+                offset = 0;
+                line = 0;
+                builder = parser.createIssueBuilder();
+            }
+
+            Increment increment = new Increment(channel, size, isComplete);
+            try (LookaheadStream lookahead = new LookaheadStream(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(increment, Spliterator.ORDERED | Spliterator.NONNULL), false),
+                    fileName, line)) {
+                int parsedLines = 0;
+                long parsedOffset = offset;
+                while (lookahead.hasNext()) {
+                    String directory = builder.getDirectory();
+                    int issues = report.size();
+                    increment.isEndReached = false;
+
+                    parser.parseNextLine(report, lookahead, builder, boundedLine);
+
+                    if (increment.isEndReached && !isComplete) { // issue is still pending
+                        removeIssuesAfter(report, issues);
+                        builder.setDirectory(directory);
+                        break;
+                    }
+                    parsedLines = lookahead.getLine() - line;
+                    parsedOffset = increment.getEndOffset(parsedLines);
+                }
+                offset = parsedOffset;
+                line += parsedLines;
+            }
+        }
+        catch (IOException | UncheckedIOException exception) {
+            throw new ParsingException(exception, "Can't read file '%s'", fileName);
+        }
+
+        parser.logAbortedLines(report, boundedLine);
+        return parser.postProcess(report);
+    }
+
+    private void removeIssuesAfter(final Report report, final int size) {
+        while (report.size() > size) {
+            report.remove(report.get(report.size() - 1).getId());
+        }
+    }
+
+    /**
+     * The lines that have been appended to the file. The bytes are read in chunks of a fixed size, so only the current
+     * line needs to be kept in memory. Records whether a parser tried to read beyond the last available line.
+     */
+    private class Increment implements Iterator<String> {
+        private static final int CHUNK_SIZE = 64 * 1024;
+
+        private final FileChannel channel;
+        private final long size;
+        private final boolean isComplete;
+        private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        private long chunkStart = offset;
+        private byte[] content = new byte[1024];
+        private int length = 0;
+
+        /** The end offsets of the last lines, the {@link LookaheadStream} reads at most one line ahead. */
+        private final long[] lineEnds = new long[2];
+        private int lines = 0;
+        @Nullable
+        private String nextLine;
+        private boolean isExhausted = false;
+        private boolean isEndReached = false;
+
+        Increment(final FileChannel channel, final long size, final boolean isComplete) {
+            this.channel = channel;
+            this.size = size;
+            this.isComplete = isComplete;
+
+            chunk.limit(0);
+        }
+
+        long getEndOffset(final int parsedLines) {
+            if (parsedLines == 0) {
+                return offset;
+            }
+            Ensure.that(lines - parsedLines < lineEnds.length)
+                    .isTrue("End offset of line %d is not available anymore", parsedLines);
+            return lineEnds[(parsedLines - 1) % lineEnds.length];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLine == null) {
+                nextLine = readLine();
+            }
+            if (nextLine != null) {
+                return true;
+            }
+            isEndReached = true;
+            return false;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more lines available");
+            }
+            String next = nextLine;
+            nextLine = null;
+            return next;
+        }
+
+        @Nullable
+        private String readLine() {
+            while (!isExhausted) {
+                while (chunk.hasRemaining()) {
+                    byte current = chunk.get();
+                    if (current == LINE_FEED) {
+                        if (length > 0 && content[length - 1] == CARRIAGE_RETURN) {
+                            length--;
+                        }
+                        return createLine(chunkStart + chunk.position());
+                    }
+                    append(current);
+                }
+                if (!readChunk()) {
+                    isExhausted = true;
+                    if (isComplete && length > 0) {
+                        return createLine(size);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void append(final byte current) {
+            if (length == content.length) {
+                content = Arrays.copyOf(content, length * 2);
+            }
+            content[length++] = current;
+        }
+
+        private String createLine(final long end) {
+            lineEnds[lines % lineEnds.length] = end;
+            lines++;
+
+            String next = AnsiEscapeCodes.strip(new String(content, 0, length, charset));
+            length = 0;
+            return next;
+        }
+
+        private boolean readChunk() {
+            try {
+                chunkStart += chunk.limit();
+                chunk.clear();
+                chunk.limit((int) Math.min(chunk.capacity(), Math.max(0, size - chunkStart)));
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk, chunkStart + chunk.position()) < 0) {
+                        break;
+                    }
+                }
+                chunk.flip();
+                return chunk.hasRemaining();
+            }
+            catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package edu.hm.hafner.analysis;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import com.google.errorprone.annotations.MustBeClosed;
+
+import edu.hm.hafner.analysis.ParsingStatistics.Phase;
+import edu.hm.hafner.analysis.ParsingStatistics.Timer;
+
+/**
+ * Decorates an {@link IssueParser} and records {@link ParsingStatistics statistics} of each parsing run. The
+ * statistics are attached to the created report and are available using {@link Report#getStatistics()}. Parsers that
+ * are not wrapped into this decorator do not record any statistics.
+ *
+ * @author Ullrich Hafner
+ */
+public class InstrumentedParser extends IssueParser {
+    private static final long serialVersionUID = -2916287034637153442L;
+
+    private final IssueParser parser;
+
+    /**
+     * Creates a new instance of {@link InstrumentedParser}.
+     *
+     * @param parser
+     *         the parser to instrument
+     */
+    public InstrumentedParser(final IssueParser parser) {
+        super();
+
+        this.parser = parser;
+    }
+
+    @Override
+    public Report parse(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
+        ParsingStatistics statistics = new ParsingStatistics(parser.getClass().getSimpleName());
+        CountingReaderFactory countingFactory = new CountingReaderFactory(readerFactory);
+
+        Report report;
+        Timer timer = statistics.start(Phase.TOTAL);
+        try {
+            if (parser instanceof LookaheadParser) {
+                report = ((LookaheadParser) parser).parse(countingFactory, statistics);
+            }
+            else {
+                report = parser.parse(countingFactory);
+                statistics.setIssuesCreated(report.size() + report.getDuplicatesSize());
+                statistics.setDuplicatesDropped(report.getDuplicatesSize());
+            }
+        }
+        finally {
+            timer.stop();
+        }
+        statistics.setCharactersRead(countingFactory.getCharactersRead());
+        report.setStatistics(statistics);
+
+        return report;
+    }
+
+    @Override
+    public boolean accepts(final ReaderFactory readerFactory) {
+        return parser.accepts(readerFactory);
+    }
+
+    @Override
+    public void setInterningContext(final InterningContext interningContext) {
+        parser.setInterningContext(interningContext);
+    }
+
+    /**
+     * A {@link ReaderFactory} that counts the characters that are read from the readers of the decorated factory.
+     */
+    private static class CountingReaderFactory extends ReaderFactory {
+        private final ReaderFactory readerFactory;
+        private long charactersRead;
+
+        CountingReaderFactory(final ReaderFactory readerFactory) {
+            super(readerFactory);
+
+            this.readerFactory = readerFactory;
+        }
+
+        long getCharactersRead() {
+            return charactersRead;
+        }
+
+        @Override
+        public String getFileName() {
+            return readerFactory.getFileName();
+        }
+
+        @Override
+        public Charset getCharset() {
+            return readerFactory.getCharset();
+        }
+
+        @Override @MustBeClosed
+        public Reader create() {
+            return new FilterReader(readerFactory.create()) {
+                @Override
+                public int read() throws IOException {
+                    int character = super.read();
+                    if (character >= 0) {
+                        charactersRead++;
+                    }
+                    return character;
+                }
+
+                @Override
+                public int read(final char[] buffer, final int offset, final int length) throws IOException {
+                    int count = super.read(buffer, offset, length);
+                    if (count > 0) {
+                        charactersRead += count;
+                    }
+                    return count;
+                }
+            };
+        }
+    }
+}
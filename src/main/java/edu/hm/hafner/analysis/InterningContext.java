@@ -0,0 +1,177 @@
+package edu.hm.hafner.analysis;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.hm.hafner.util.Ensure;
+import edu.hm.hafner.util.TreeString;
+import edu.hm.hafner.util.TreeStringBuilder;
+
+/**
+ * A thread-safe context to intern the strings of {@link Issue issues}. Several {@link IssueBuilder builders}, parsers,
+ * and resolvers can share the same context during an analysis run so that equal file names, package names, messages,
+ * and other properties are stored only once, even if the issues are part of different reports.
+ * <p>
+ * The memory of a context is bounded: once the specified number of distinct values has been interned, new values
+ * will not be cached anymore. Values that are already part of the context are still shared. The context should be
+ * discarded after the analysis run.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class InterningContext {
+    /** Default maximum number of distinct values that will be interned. */
+    public static final int DEFAULT_CAPACITY = 250_000;
+
+    /** Estimated size of a {@link String} instance without its characters. */
+    private static final int STRING_OVERHEAD = 40;
+
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder savedBytes = new LongAdder();
+
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final TreeStringCache fileNames = new TreeStringCache();
+    private final TreeStringCache packageNames = new TreeStringCache();
+    private final TreeStringCache messages = new TreeStringCache();
+
+    /**
+     * Creates a new {@link InterningContext} with the {@link #DEFAULT_CAPACITY default capacity}.
+     */
+    public InterningContext() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link InterningContext} with the specified capacity.
+     *
+     * @param capacity
+     *         the maximum number of distinct values that will be interned
+     */
+    public InterningContext(final int capacity) {
+        Ensure.that(capacity > 0).isTrue("Capacity must be positive: %d", capacity);
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a canonical representation for the specified string.
+     *
+     * @param value
+     *         the value to intern
+     *
+     * @return the shared instance of the value, or the value itself if the capacity of this context has been reached
+     */
+    public String intern(final String value) {
+        String existing = strings.get(value);
+        if (existing != null) {
+            recordSaving(existing, value);
+            return existing;
+        }
+        if (isFull()) {
+            return value;
+        }
+        existing = strings.putIfAbsent(value, value);
+        if (existing == null) {
+            size.incrementAndGet();
+            return value;
+        }
+        recordSaving(existing, value);
+        return existing;
+    }
+
+    TreeString internFileName(final String fileName) {
+        return fileNames.intern(fileName);
+    }
+
+    TreeString internPackageName(final String packageName) {
+        return packageNames.intern(packageName);
+    }
+
+    TreeString internMessage(final String message) {
+        return messages.intern(message);
+    }
+
+    /**
+     * Returns the number of distinct values that have been interned in this context.
+     *
+     * @return the number of distinct values
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the capacity of this context, i.e. the maximum number of distinct values that will be interned.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns an estimation of the number of bytes that have been saved by deduplication. For each value that has
+     * been replaced by an already interned value the size of the duplicate string is added.
+     *
+     * @return the estimated number of saved bytes
+     */
+    public long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    private boolean isFull() {
+        return size.get() >= capacity;
+    }
+
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private void recordSaving(final Object existing, final String value) {
+        if (existing != value) {
+            savedBytes.add(STRING_OVERHEAD + 2L * value.length());
+        }
+    }
+
+    /**
+     * Interns the values as {@link TreeString tree-strings}. The values are looked up in the trie of the {@link
+     * TreeStringBuilder} itself, so the cache does not keep the full values as strings. Since the builder is not
+     * thread-safe, access to the builder is synchronized. Once the capacity has been reached, the trie is not
+     * modified anymore: existing values are then found using a map that is keyed by the interned tree-strings.
+     */
+    private class TreeStringCache {
+        private final TreeStringBuilder builder = new TreeStringBuilder();
+        private final Set<TreeString> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<TreeString, TreeString> treeStrings = new ConcurrentHashMap<>();
+
+        TreeString intern(final String value) {
+            if (isFull()) {
+                TreeString created = TreeString.valueOf(value);
+                TreeString existing = treeStrings.get(created);
+                if (existing == null) {
+                    return created;
+                }
+                recordSaving(existing, value);
+                return existing;
+            }
+
+            TreeString interned;
+            boolean isNew;
+            synchronized (builder) {
+                interned = builder.intern(value);
+                isNew = nodes.add(interned);
+            }
+            if (isNew) {
+                treeStrings.put(interned, interned);
+                size.incrementAndGet();
+            }
+            else {
+                recordSaving(interned, value);
+            }
+            return interned;
+        }
+    }
+}
@@ -187,6 +187,8 @@ public class Issue implements Serializable {
 
     private String fingerprint;     // mutable, not part of equals
 
+    private transient int hashCode; // cached, 0 indicates that the hash code needs to be computed
+
     /**
      * Creates a new instance of {@link Issue} using the properties of the other issue instance. The new issue has the
      * same ID as the copy.
@@ -534,6 +536,8 @@ public class Issue implements Serializable {
     void setFileName(final String pathName, final TreeString fileName) {
         this.pathName = normalizeFileName(pathName);
         this.fileName = fileName;
+
+        invalidateHashCode();
     }
 
     /**
@@ -677,6 +681,8 @@ public class Issue implements Serializable {
      */
     void setPackageName(final TreeString packageName) {
         this.packageName = packageName;
+
+        invalidateHashCode();
     }
 
     /**
@@ -706,6 +712,8 @@ public class Issue implements Serializable {
      */
     void setModuleName(@Nullable final String moduleName) {
         this.moduleName = stripToEmpty(moduleName);
+
+        invalidateHashCode();
     }
 
     /**
@@ -737,6 +745,8 @@ public class Issue implements Serializable {
         Ensure.that(origin).isNotBlank("Issue origin '%s' must be not blank (%s)", id, toString());
 
         this.origin = origin.intern();
+
+        invalidateHashCode();
     }
 
     /**
@@ -811,12 +821,15 @@ public class Issue implements Serializable {
         if (this == o) {
             return true;
         }
-        if (o == null || getClass() != o.getClass()) {
+        if (!(o instanceof Issue)) { // reports might hand out subclasses that write changes back to their storage
             return false;
         }
 
         Issue issue = (Issue) o;
 
+        if (hashCode != 0 && issue.hashCode != 0 && hashCode != issue.hashCode) {
+            return false;
+        }
         if (lineStart != issue.lineStart) {
             return false;
         }
@@ -838,7 +851,7 @@ public class Issue implements Serializable {
         if (!severity.equals(issue.severity)) {
             return false;
         }
-        if (!message.equals(issue.message)) {
+        if (!isSameTreeString(message, issue.message)) {
             return false;
         }
         if (!lineRanges.equals(issue.lineRanges)) {
@@ -857,14 +870,45 @@ public class Issue implements Serializable {
         if (!moduleName.equals(issue.moduleName)) {
             return false;
         }
-        if (!packageName.equals(issue.packageName)) {
+        if (!isSameTreeString(packageName, issue.packageName)) {
             return false;
         }
-        return fileName.equals(issue.fileName);
+        return isSameTreeString(fileName, issue.fileName);
+    }
+
+    /**
+     * Compares the specified tree-strings. Tree-strings created by the same {@link IssueBuilder} are interned, so in
+     * most cases the identity comparison succeeds and the expensive character based comparison can be skipped.
+     *
+     * @param first
+     *         the first tree-string
+     * @param second
+     *         the second tree-string
+     *
+     * @return {@code true} if both tree-strings represent the same string, {@code false} otherwise
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private static boolean isSameTreeString(final TreeString first, final TreeString second) {
+        return first == second || first.equals(second);
+    }
+
+    /**
+     * Invalidates the cached hash code. Needs to be called by every mutator of a property that is part of {@link
+     * #hashCode()}.
+     */
+    private void invalidateHashCode() {
+        hashCode = 0;
     }
 
     @Override
     public int hashCode() {
+        if (hashCode == 0) {
+            hashCode = computeHashCode();
+        }
+        return hashCode;
+    }
+
+    private int computeHashCode() {
         int result = category.hashCode();
         result = 31 * result + type.hashCode();
         result = 31 * result + severity.hashCode();
@@ -8,7 +8,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import edu.hm.hafner.util.PathUtil;
 import edu.hm.hafner.util.TreeString;
-import edu.hm.hafner.util.TreeStringBuilder;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 import static edu.hm.hafner.util.IntegerParser.*;
@@ -35,9 +34,8 @@ public class IssueBuilder {
     private static final TreeString UNDEFINED_TREE_STRING = TreeString.valueOf(UNDEFINED);
     private static final TreeString EMPTY_TREE_STRING = TreeString.valueOf(StringUtils.EMPTY);
 
-    private final TreeStringBuilder fileNameBuilder = new TreeStringBuilder();
-    private final TreeStringBuilder packageNameBuilder = new TreeStringBuilder();
-    private final TreeStringBuilder messageBuilder = new TreeStringBuilder();
+    @Nullable
+    private InterningContext interningContext;
 
     private int lineStart = 0;
     private int lineEnd = 0;
@@ -77,6 +75,40 @@ public class IssueBuilder {
 
     private UUID id = UUID.randomUUID();
 
+    /**
+     * Creates a new {@link IssueBuilder} that uses its own {@link InterningContext}. The context will be created when
+     * the first string is interned.
+     */
+    public IssueBuilder() {
+        // the context is created on demand
+    }
+
+    /**
+     * Creates a new {@link IssueBuilder} that uses the specified {@link InterningContext}. Builders that share the same
+     * context will share the strings of the created issues.
+     *
+     * @param interningContext
+     *         the context to intern the strings of the issues
+     */
+    public IssueBuilder(final InterningContext interningContext) {
+        this.interningContext = interningContext;
+    }
+
+    private InterningContext getInterningContext() {
+        if (interningContext == null) {
+            interningContext = new InterningContext();
+        }
+        return interningContext;
+    }
+
+    @Nullable
+    private String intern(@Nullable final String value) {
+        if (value == null) {
+            return null;
+        }
+        return getInterningContext().intern(value);
+    }
+
     /**
      * Sets the unique ID of the issue. If not set then an ID will be generated.
      *
@@ -139,7 +171,7 @@ public class IssueBuilder {
             return UNDEFINED_TREE_STRING;
         }
         else {
-            return fileNameBuilder.intern(normalizeFileName(
+            return getInterningContext().internFileName(normalizeFileName(
                     new PathUtil().createAbsolutePath(directory, unsafeFileName)));
         }
     }
@@ -161,6 +193,16 @@ public class IssueBuilder {
         return this;
     }
 
+    /**
+     * Returns the current work directory.
+     *
+     * @return the current work directory, or {@code null} if not set
+     */
+    @Nullable
+    String getDirectory() {
+        return directory;
+    }
+
     /**
      * Sets the path of the affected file. Note that this path is not the parent folder of the affected file. This path
      * is the folder that contains all of the affected files of a {@link Report}. The path of an affected file is stored
@@ -291,7 +333,7 @@ public class IssueBuilder {
      * @return this
      */
     public IssueBuilder setCategory(@Nullable final String category) {
-        this.category = category;
+        this.category = intern(category);
         return this;
     }
 
@@ -305,7 +347,7 @@ public class IssueBuilder {
      * @return this
      */
     public IssueBuilder setType(@Nullable final String type) {
-        this.type = type;
+        this.type = intern(type);
         return this;
     }
 
@@ -328,7 +370,7 @@ public class IssueBuilder {
             return UNDEFINED_TREE_STRING;
         }
         else {
-            return packageNameBuilder.intern(unsafePackageName);
+            return getInterningContext().internPackageName(unsafePackageName);
         }
     }
 
@@ -341,7 +383,7 @@ public class IssueBuilder {
      * @return this
      */
     public IssueBuilder setModuleName(@Nullable final String moduleName) {
-        this.moduleName = moduleName;
+        this.moduleName = intern(moduleName);
         return this;
     }
 
@@ -354,7 +396,7 @@ public class IssueBuilder {
      * @return this
      */
     public IssueBuilder setOrigin(@Nullable final String origin) {
-        this.origin = origin;
+        this.origin = intern(origin);
         return this;
     }
 
@@ -411,7 +453,7 @@ public class IssueBuilder {
             this.message = EMPTY_TREE_STRING;
         }
         else {
-            this.message = messageBuilder.intern(StringUtils.stripToEmpty(message));
+            this.message = getInterningContext().internMessage(StringUtils.stripToEmpty(message));
         }
         return this;
     }
@@ -489,20 +531,8 @@ public class IssueBuilder {
     }
 
     private static String normalizeFileName(@Nullable final String platformFileName) {
-        return defaultString(StringUtils.replace(
-                StringUtils.strip(platformFileName), "\\", "/"));
-    }
-
-    /**
-     * Creates a default String representation for undefined input parameters.
-     *
-     * @param string
-     *         the string to check
-     *
-     * @return the valid string or a default string if the specified string is not valid
-     */
-    private static String defaultString(@Nullable final String string) {
-        return StringUtils.defaultIfEmpty(string, UNDEFINED).intern();
+        return StringUtils.defaultIfEmpty(StringUtils.replace(
+                StringUtils.strip(platformFileName), "\\", "/"), UNDEFINED);
     }
 
     /**
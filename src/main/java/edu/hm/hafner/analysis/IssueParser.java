@@ -3,6 +3,8 @@ package edu.hm.hafner.analysis;
 import java.io.Serializable;
 import java.util.stream.Stream;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
+
 /**
  * Parses a file and returns the issues reported in this file.
  *
@@ -11,6 +13,37 @@ import java.util.stream.Stream;
 public abstract class IssueParser implements Serializable {
     private static final long serialVersionUID = 200992696185460268L;
 
+    @Nullable
+    private transient InterningContext interningContext;
+
+    /**
+     * Sets the {@link InterningContext} that will be used by the {@link IssueBuilder builders} of this parser. Parsers
+     * that share the same context will share the strings of the created issues, even across different reports. If no
+     * context is set, then the parser creates its own context that is shared by all builders of this parser.
+     *
+     * @param interningContext
+     *         the context to intern the strings of the issues
+     */
+    public synchronized void setInterningContext(final InterningContext interningContext) {
+        this.interningContext = interningContext;
+    }
+
+    /**
+     * Creates a new {@link IssueBuilder} that uses the {@link InterningContext} of this parser.
+     *
+     * @return a new issue builder
+     */
+    protected IssueBuilder createIssueBuilder() {
+        return new IssueBuilder(getInterningContext());
+    }
+
+    private synchronized InterningContext getInterningContext() {
+        if (interningContext == null) {
+            interningContext = new InterningContext();
+        }
+        return interningContext;
+    }
+
     /**
      * Parses the specified file for issues.
      *
@@ -0,0 +1,145 @@
+package edu.hm.hafner.analysis;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.hm.hafner.util.Ensure;
+
+/**
+ * A fast pre-check for lines of a report: a line is accepted only if it contains at least one of the required
+ * literals. For a small number of literals, the literals are searched using {@link String#indexOf(String)}. For a
+ * larger number of literals, the line is scanned only once: at each position, only the literals that start with the
+ * current character are compared.
+ *
+ * @author Ullrich Hafner
+ */
+public final class LiteralPrefilter implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Maximum number of literals that will be searched one after another. */
+    private static final int INDEX_OF_LIMIT = 3;
+    private static final int ASCII = 128;
+    private static final String[] NO_LITERALS = new String[0];
+
+    private final String[] literals;
+    private final String[][] literalsByFirstCharacter = new String[ASCII][];
+    private final String[] nonAsciiLiterals;
+
+    /**
+     * Creates a new prefilter that accepts lines that contain at least one of the specified literals. If no literals
+     * are specified, then all lines are accepted.
+     *
+     * @param literals
+     *         the literals
+     */
+    public LiteralPrefilter(final String... literals) {
+        for (String literal : literals) {
+            Ensure.that(literal).isNotEmpty("Literals must not be empty");
+        }
+
+        this.literals = Arrays.copyOf(literals, literals.length);
+
+        List<String> nonAscii = new ArrayList<>();
+        for (String literal : literals) {
+            char first = literal.charAt(0);
+            if (first < ASCII) {
+                literalsByFirstCharacter[first] = append(literalsByFirstCharacter[first], literal);
+            }
+            else {
+                nonAscii.add(literal);
+            }
+        }
+        nonAsciiLiterals = nonAscii.toArray(NO_LITERALS);
+    }
+
+    private static String[] append(final String[] existing, final String literal) {
+        if (existing == null) {
+            return new String[] {literal};
+        }
+        String[] appended = Arrays.copyOf(existing, existing.length + 1);
+        appended[existing.length] = literal;
+        return appended;
+    }
+
+    /**
+     * Returns whether the specified line contains at least one of the literals.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line contains one of the literals or if there are no literals, {@code false}
+     *         otherwise
+     */
+    public boolean accepts(final CharSequence line) {
+        if (literals.length == 0) {
+            return true;
+        }
+        if (literals.length <= INDEX_OF_LIMIT && line instanceof String) {
+            for (String literal : literals) {
+                if (((String) line).contains(literal)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return scan(line);
+    }
+
+    private boolean scan(final CharSequence line) {
+        int length = line.length();
+        for (int position = 0; position < length; position++) {
+            char current = line.charAt(position);
+            String[] candidates = current < ASCII ? literalsByFirstCharacter[current] : nonAsciiLiterals;
+            if (candidates != null && startsWithAny(line, position, candidates)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean startsWithAny(final CharSequence line, final int position, final String[] candidates) {
+        for (String candidate : candidates) {
+            if (startsWith(line, candidate, position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(final CharSequence line, final String prefix, final int position) {
+        if (position + prefix.length() > line.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (line.charAt(position + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the specified line contains the specified literal.
+     *
+     * @param line
+     *         the line to check
+     * @param literal
+     *         the literal to find
+     *
+     * @return {@code true} if the line contains the literal, {@code false} otherwise
+     */
+    static boolean contains(final CharSequence line, final String literal) {
+        if (line instanceof String) {
+            return ((String) line).contains(literal);
+        }
+        int last = line.length() - literal.length();
+        for (int position = 0; position <= last; position++) {
+            if (startsWith(line, literal, position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
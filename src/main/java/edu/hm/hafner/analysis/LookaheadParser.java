@@ -1,11 +1,17 @@
 package edu.hm.hafner.analysis;
 
+import java.io.UncheckedIOException;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import edu.hm.hafner.analysis.ParsingStatistics.Phase;
+import edu.hm.hafner.analysis.ParsingStatistics.Timer;
+import edu.hm.hafner.util.CharSequenceLineReader;
 import edu.hm.hafner.util.LookaheadStream;
+import edu.hm.hafner.util.VisibleForTesting;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Parses a report file line by line for issues using a pre-defined regular expression. If the regular expression
@@ -29,6 +35,7 @@ public abstract class LookaheadParser extends IssueParser {
     private static final Pattern CMAKE_PATH = Pattern.compile(CMAKE_PREFIX + " been written to: (?<dir>.*)");
 
     private final Pattern pattern;
+    private final LiteralPrefilter prefilter;
 
     /**
      * Creates a new instance of {@link LookaheadParser}.
@@ -37,46 +44,227 @@ public abstract class LookaheadParser extends IssueParser {
      *         pattern of compiler warnings.
      */
     protected LookaheadParser(final String pattern) {
+        this(pattern, new String[0]);
+    }
+
+    /**
+     * Creates a new instance of {@link LookaheadParser}. Each line that matches the pattern must contain at least one
+     * of the specified literals. Lines that contain none of these literals will be skipped without evaluating the
+     * regular expression.
+     *
+     * @param pattern
+     *         pattern of compiler warnings.
+     * @param requiredLiterals
+     *         the literals a matching line must contain (at least one of them)
+     */
+    protected LookaheadParser(final String pattern, final String... requiredLiterals) {
         super();
 
         this.pattern = Pattern.compile(pattern);
+        prefilter = new LiteralPrefilter(requiredLiterals);
     }
 
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
+        return parse(readerFactory, null);
+    }
+
+    /**
+     * Parses the specified file for issues. If statistics are given, then the number of scanned lines, regular
+     * expression matches, and created issues as well as the time of the scan and post processing phases will be
+     * recorded.
+     *
+     * @param readerFactory
+     *         provides a reader to the reports
+     * @param statistics
+     *         the statistics to record, or {@code null} if no statistics should be recorded
+     *
+     * @return the issues
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    Report parse(final ReaderFactory readerFactory, @Nullable final ParsingStatistics statistics)
+            throws ParsingException, ParsingCanceledException {
         Report report = new Report();
-        try (Stream<String> lines = readerFactory.readStream()) {
-            try (LookaheadStream lookahead = new LookaheadStream(lines, readerFactory.getFileName())) {
-                parse(report, lookahead);
-            }
+        if (statistics == null) {
+            scan(readerFactory, report, null);
+
+            return postProcess(report);
+        }
+
+        Timer scanTimer = statistics.start(Phase.SCAN);
+        try {
+            scan(readerFactory, report, statistics);
+        }
+        finally {
+            scanTimer.stop();
+        }
+        statistics.setIssuesCreated(report.size() + report.getDuplicatesSize());
+        statistics.setDuplicatesDropped(report.getDuplicatesSize());
+
+        Timer postProcessTimer = statistics.start(Phase.POST_PROCESS);
+        try {
+            return postProcess(report);
+        }
+        finally {
+            postProcessTimer.stop();
         }
+    }
 
-        return postProcess(report);
+    private void scan(final ReaderFactory readerFactory, final Report report,
+            @Nullable final ParsingStatistics statistics) {
+        if (isReadingCharSequences()) {
+            try (CharSequenceLineReader lines = readerFactory.readCharSequences()) {
+                try (LookaheadStream lookahead = new LookaheadStream(lines, readerFactory.getFileName())) {
+                    parse(report, lookahead, statistics);
+                }
+            }
+            catch (UncheckedIOException exception) {
+                throw new ParsingException(exception);
+            }
+        }
+        else {
+            try (Stream<String> lines = readerFactory.readStream()) {
+                try (LookaheadStream lookahead = new LookaheadStream(lines, readerFactory.getFileName())) {
+                    parse(report, lookahead, statistics);
+                }
+            }
+        }
     }
 
-    private void parse(final Report report, final LookaheadStream lookahead) {
-        IssueBuilder builder = new IssueBuilder();
+    private void parse(final Report report, final LookaheadStream lookahead,
+            @Nullable final ParsingStatistics statistics) {
+        IssueBuilder builder = createIssueBuilder();
+        StepBoundedCharSequence boundedLine = new StepBoundedCharSequence();
         while (lookahead.hasNext()) {
+            parseNextLine(report, lookahead, builder, boundedLine, statistics);
+        }
+        logAbortedLines(report, boundedLine);
+        if (statistics != null) {
+            statistics.setLinesScanned(lookahead.getLine());
+        }
+    }
+
+    /**
+     * Logs the number of lines where matching the regular expression has been aborted.
+     *
+     * @param report
+     *         the report to log to
+     * @param boundedLine
+     *         the bounded line that has been used to match the lines
+     */
+    void logAbortedLines(final Report report, final StepBoundedCharSequence boundedLine) {
+        if (boundedLine.getAbortedLines() > 0) {
+            report.logError("%s: skipped %d lines since matching the regular expression exceeded the step budget",
+                    getClass().getSimpleName(), boundedLine.getAbortedLines());
+        }
+    }
+
+    /**
+     * Parses the next line of the specified lookahead stream. If the line contains an issue, then this issue will be
+     * added to the report. Additional lines might be consumed by {@link #createIssue(Matcher, LookaheadStream,
+     * IssueBuilder)}.
+     *
+     * @param report
+     *         the report to add the issues to
+     * @param lookahead
+     *         the lookahead stream to read the lines from
+     * @param builder
+     *         the issue builder to use, stores the current directory of make and cmake builds
+     * @param boundedLine
+     *         matches the regular expression with a bounded number of steps, counts the aborted lines
+     *
+     * @throws ParsingCanceledException
+     *         if the current thread has been interrupted
+     */
+    void parseNextLine(final Report report, final LookaheadStream lookahead, final IssueBuilder builder,
+            final StepBoundedCharSequence boundedLine) {
+        parseNextLine(report, lookahead, builder, boundedLine, null);
+    }
+
+    private void parseNextLine(final Report report, final LookaheadStream lookahead, final IssueBuilder builder,
+            final StepBoundedCharSequence boundedLine, @Nullable final ParsingStatistics statistics) {
+        if (isReadingCharSequences()) {
+            CharSequence line = lookahead.nextCharSequence();
+            if (!isDirectoryLine(builder, line) && isLineInteresting(line)) {
+                parseLine(report, lookahead, builder, boundedLine, line, statistics);
+            }
+        }
+        else {
             String line = lookahead.next();
-            if (line.contains(ENTERING_DIRECTORY)) {
-                extractAndStoreDirectory(builder, line, MAKE_PATH);
+            if (!isDirectoryLine(builder, line) && isLineInteresting(line)) {
+                parseLine(report, lookahead, builder, boundedLine, line, statistics);
             }
-            else if (line.contains(CMAKE_PREFIX)) {
-                extractAndStoreDirectory(builder, line, CMAKE_PATH);
+        }
+        if (Thread.interrupted()) {
+            throw new ParsingCanceledException();
+        }
+    }
+
+    private boolean isDirectoryLine(final IssueBuilder builder, final CharSequence line) {
+        if (LiteralPrefilter.contains(line, ENTERING_DIRECTORY)) {
+            extractAndStoreDirectory(builder, line, MAKE_PATH);
+            return true;
+        }
+        if (LiteralPrefilter.contains(line, CMAKE_PREFIX)) {
+            extractAndStoreDirectory(builder, line, CMAKE_PATH);
+            return true;
+        }
+        return false;
+    }
+
+    private void parseLine(final Report report, final LookaheadStream lookahead, final IssueBuilder builder,
+            final StepBoundedCharSequence boundedLine, final CharSequence line,
+            @Nullable final ParsingStatistics statistics) {
+        if (statistics != null) {
+            statistics.countInterestingLine();
+        }
+        if (prefilter.accepts(line)) {
+            Matcher matcher = boundedLine.find(pattern, line);
+            if (statistics != null) {
+                statistics.countMatchAttempt(matcher != null);
             }
-            else if (isLineInteresting(line)) {
-                Matcher matcher = pattern.matcher(line);
-                if (matcher.find()) {
-                    createIssue(matcher, lookahead, builder).ifPresent(report::add);
+            if (matcher != null) {
+                if (!(line instanceof String)) { // the line is a reused view, copy the line before extracting the groups
+                    matcher = pattern.matcher(line.toString());
+                    matcher.find();
                 }
-            }
-            if (Thread.interrupted()) {
-                throw new ParsingCanceledException();
+                createIssue(matcher, lookahead, builder).ifPresent(report::add);
             }
         }
     }
 
-    private void extractAndStoreDirectory(final IssueBuilder builder, final String line, final Pattern makePath) {
+    /**
+     * Returns whether the specified line matches the regular expression of this parser, i.e., whether the line would be
+     * handed over to {@link #createIssue(Matcher, LookaheadStream, IssueBuilder)}. This method can be used to check
+     * cheaply if a report might have been created by the tool of this parser.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line matches the regular expression of this parser, {@code false} otherwise
+     */
+    public boolean matches(final String line) {
+        boolean isInteresting = isReadingCharSequences() ? isLineInteresting((CharSequence) line)
+                : isLineInteresting(line);
+
+        return isInteresting && prefilter.accepts(line) && new StepBoundedCharSequence().find(pattern, line) != null;
+    }
+
+    @VisibleForTesting
+    Pattern getPattern() {
+        return pattern;
+    }
+
+    @VisibleForTesting
+    LiteralPrefilter getPrefilter() {
+        return prefilter;
+    }
+
+    private void extractAndStoreDirectory(final IssueBuilder builder, final CharSequence line,
+            final Pattern makePath) {
         Matcher makeLineMatcher = makePath.matcher(line);
         if (makeLineMatcher.matches()) {
             builder.setDirectory(makeLineMatcher.group("dir"));
@@ -116,6 +304,35 @@ public abstract class LookaheadParser extends IssueParser {
         return true;
     }
 
+    /**
+     * Returns whether this parser reads the lines of the report as reusable {@link CharSequence} views rather than as
+     * {@link String} instances. Then, lines that do not contain an issue will not be copied. Parsers that return {@code
+     * true} need to implement {@link #isLineInteresting(CharSequence)} rather than {@link #isLineInteresting(String)}.
+     * This default implementation returns {@code false}.
+     *
+     * @return {@code true} if the lines are read as {@link CharSequence} views, {@code false} if the lines are read as
+     *         {@link String} instances
+     */
+    protected boolean isReadingCharSequences() {
+        return false;
+    }
+
+    /**
+     * Returns whether the specified line is interesting. This method is called instead of {@link
+     * #isLineInteresting(String)} if this parser {@link #isReadingCharSequences() reads the lines as CharSequence
+     * views}. The specified line is valid only during the invocation of this method. This default implementation does
+     * always return {@code true}.
+     *
+     * @param line
+     *         the line to inspect
+     *
+     * @return {@code true} if the line should be handed over to the regular expression scanner, {@code false} if the
+     *         line does not contain a warning.
+     */
+    protected boolean isLineInteresting(final CharSequence line) {
+        return true;
+    }
+
     /**
      * Post processes the issues. This default implementation does nothing.
      *
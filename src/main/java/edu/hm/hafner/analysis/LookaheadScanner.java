@@ -0,0 +1,187 @@
+package edu.hm.hafner.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.hm.hafner.util.Ensure;
+import edu.hm.hafner.util.LookaheadStream;
+
+/**
+ * Scans a report file with several {@link LookaheadParser parsers} in a single pass. The lines of the file are read
+ * and decoded only once (including the removal of ANSI color codes), each line is then handed over to all parsers.
+ * Every parser gets its own view of the lines, i.e. each parser uses its own {@link LookaheadStream}, {@link
+ * IssueBuilder}, and make or cmake directory state. A parser may consume additional lines using the lookahead stream,
+ * these lines will still be visible to the other parsers. Lines are buffered until all parsers have processed them.
+ *
+ * @author Ullrich Hafner
+ */
+public class LookaheadScanner {
+    /** Number of processed lines that will be removed from the buffer in one step. */
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final List<LookaheadParser> parsers;
+
+    /**
+     * Creates a new scanner for the specified parsers.
+     *
+     * @param parsers
+     *         the parsers to use
+     */
+    public LookaheadScanner(final LookaheadParser... parsers) {
+        this(Arrays.asList(parsers));
+    }
+
+    /**
+     * Creates a new scanner for the specified parsers.
+     *
+     * @param parsers
+     *         the parsers to use
+     */
+    public LookaheadScanner(final Collection<? extends LookaheadParser> parsers) {
+        Ensure.that(parsers).isNotEmpty("No parsers given.");
+
+        this.parsers = new ArrayList<>(parsers);
+    }
+
+    /**
+     * Scans the specified file with all parsers. The file will be read only once.
+     *
+     * @param readerFactory
+     *         provides the lines of the file
+     *
+     * @return the reports of the parsers, in the same order as the parsers have been specified in the constructor
+     * @throws ParsingException
+     *         Signals that during parsing a non recoverable error has been occurred
+     * @throws ParsingCanceledException
+     *         Signals that the parsing has been aborted by the user
+     */
+    public List<Report> scan(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
+        try (Stream<String> lines = readerFactory.readStream()) {
+            LineBuffer buffer = new LineBuffer(lines.iterator());
+            List<ScanState> states = parsers.stream()
+                    .map(parser -> new ScanState(parser, buffer, readerFactory.getFileName()))
+                    .collect(Collectors.toList());
+
+            boolean hasMoreLines = true;
+            while (hasMoreLines) {
+                hasMoreLines = false;
+                for (ScanState state : states) {
+                    hasMoreLines |= state.parseNextLine();
+                }
+                buffer.compact(states);
+            }
+
+            return states.stream().map(ScanState::getReport).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * The state of a single parser during a scan.
+     */
+    private static class ScanState {
+        private final LookaheadParser parser;
+        private final Report report = new Report();
+        private final IssueBuilder builder;
+        private final LineCursor cursor;
+        private final LookaheadStream lookahead;
+        private final StepBoundedCharSequence boundedLine = new StepBoundedCharSequence();
+
+        ScanState(final LookaheadParser parser, final LineBuffer buffer, final String fileName) {
+            this.parser = parser;
+            builder = parser.createIssueBuilder();
+            cursor = new LineCursor(buffer);
+            lookahead = new LookaheadStream(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false),
+                    fileName);
+        }
+
+        boolean parseNextLine() {
+            if (lookahead.hasNext()) {
+                parser.parseNextLine(report, lookahead, builder, boundedLine);
+                return true;
+            }
+            return false;
+        }
+
+        long getPosition() {
+            return cursor.position;
+        }
+
+        Report getReport() {
+            parser.logAbortedLines(report, boundedLine);
+            return parser.postProcess(report);
+        }
+    }
+
+    /**
+     * Buffers the lines that have been read but not yet processed by all parsers.
+     */
+    private static class LineBuffer {
+        private final Iterator<String> lines;
+        private final List<String> buffer = new ArrayList<>();
+        private long firstPosition = 0;
+
+        LineBuffer(final Iterator<String> lines) {
+            this.lines = lines;
+        }
+
+        boolean hasLine(final long position) {
+            while (position >= firstPosition + buffer.size()) {
+                if (!lines.hasNext()) {
+                    return false;
+                }
+                buffer.add(lines.next());
+            }
+            return true;
+        }
+
+        String getLine(final long position) {
+            if (!hasLine(position)) {
+                throw new NoSuchElementException("No more lines available");
+            }
+            return buffer.get((int) (position - firstPosition));
+        }
+
+        void compact(final List<ScanState> states) {
+            long minimum = states.stream().mapToLong(ScanState::getPosition).min().orElse(firstPosition);
+            int processed = (int) (minimum - firstPosition);
+            if (processed >= COMPACTION_THRESHOLD || processed == buffer.size() && processed > 0) {
+                buffer.subList(0, processed).clear();
+                firstPosition = minimum;
+            }
+        }
+    }
+
+    /**
+     * Iterates over the lines of a {@link LineBuffer}.
+     */
+    private static class LineCursor implements Iterator<String> {
+        private final LineBuffer buffer;
+        private long position = 0;
+
+        LineCursor(final LineBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return buffer.hasLine(position);
+        }
+
+        @Override
+        public String next() {
+            String line = buffer.getLine(position);
+            position++;
+            return line;
+        }
+    }
+}
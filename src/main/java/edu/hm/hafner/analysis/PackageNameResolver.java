@@ -17,17 +17,34 @@ import static java.util.function.Function.*;
  */
 public class PackageNameResolver {
     private final PackageDetectors packageDetectors;
+    private final InterningContext interningContext;
 
     /**
      * Creates a new {@link PackageNameResolver}.
      */
     public PackageNameResolver() {
-        this(new FileSystem());
+        this(new InterningContext());
+    }
+
+    /**
+     * Creates a new {@link PackageNameResolver} that interns the resolved package names using the specified {@link
+     * InterningContext}.
+     *
+     * @param interningContext
+     *         the context to intern the resolved package names
+     */
+    public PackageNameResolver(final InterningContext interningContext) {
+        this(new FileSystem(), interningContext);
     }
 
     @VisibleForTesting
     PackageNameResolver(final FileSystem fileSystem) {
+        this(fileSystem, new InterningContext());
+    }
+
+    private PackageNameResolver(final FileSystem fileSystem, final InterningContext interningContext) {
         packageDetectors = new PackageDetectors(fileSystem);
+        this.interningContext = interningContext;
     }
 
     /**
@@ -54,7 +71,7 @@ public class PackageNameResolver {
                 .collect(Collectors.toMap(identity(),
                         fileName -> packageDetectors.detectPackageName(fileName, charset)));
 
-        IssueBuilder builder = new IssueBuilder();
+        IssueBuilder builder = new IssueBuilder(interningContext);
         report.stream().forEach(issue -> {
             if (!issue.hasPackageName()) {
                 issue.setPackageName(builder.internPackageName(packagesOfFiles.get(issue.getAbsolutePath())));
@@ -0,0 +1,233 @@
+package edu.hm.hafner.analysis;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Statistics of a single parsing run of an {@link IssueParser}. These statistics are collected only if a parser is
+ * wrapped into an {@link InstrumentedParser}, the statistics are then attached to the created {@link Report}.
+ * <p>
+ * The number of read characters, the elapsed wall and CPU time, and the number of created and dropped issues are
+ * available for all parsers. The number of scanned and interesting lines, and the number of regular expression matches
+ * are available for parsers that extend {@link LookaheadParser} only, for all other parsers these values are 0.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class ParsingStatistics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Value of the CPU time if the virtual machine does not support measuring the CPU time of a thread. */
+    public static final long UNSUPPORTED = -1;
+
+    /**
+     * The phases of a parsing run.
+     */
+    public enum Phase {
+        /** The whole parsing run. */
+        TOTAL,
+        /** Reading and scanning the lines of a {@link LookaheadParser}. */
+        SCAN,
+        /** Post processing the report of a {@link LookaheadParser}. */
+        POST_PROCESS
+    }
+
+    private final String parserName;
+    private final Map<Phase, Long> wallTimes = new EnumMap<>(Phase.class);
+    private final Map<Phase, Long> cpuTimes = new EnumMap<>(Phase.class);
+
+    private long charactersRead;
+    private long linesScanned;
+    private long interestingLines;
+    private long matchAttempts;
+    private long matchHits;
+    private long issuesCreated;
+    private long duplicatesDropped;
+
+    /**
+     * Creates new empty statistics for the specified parser.
+     *
+     * @param parserName
+     *         the name of the parser
+     */
+    ParsingStatistics(final String parserName) {
+        this.parserName = parserName;
+    }
+
+    /**
+     * Starts measuring the specified phase.
+     *
+     * @param phase
+     *         the phase to measure
+     *
+     * @return the timer of the phase, call {@link Timer#stop()} at the end of the phase
+     */
+    Timer start(final Phase phase) {
+        return new Timer(phase);
+    }
+
+    void countInterestingLine() {
+        interestingLines++;
+    }
+
+    void countMatchAttempt(final boolean isHit) {
+        matchAttempts++;
+        if (isHit) {
+            matchHits++;
+        }
+    }
+
+    void setLinesScanned(final long linesScanned) {
+        this.linesScanned = linesScanned;
+    }
+
+    void setCharactersRead(final long charactersRead) {
+        this.charactersRead = charactersRead;
+    }
+
+    void setIssuesCreated(final long issuesCreated) {
+        this.issuesCreated = issuesCreated;
+    }
+
+    void setDuplicatesDropped(final long duplicatesDropped) {
+        this.duplicatesDropped = duplicatesDropped;
+    }
+
+    public String getParserName() {
+        return parserName;
+    }
+
+    public long getCharactersRead() {
+        return charactersRead;
+    }
+
+    public long getLinesScanned() {
+        return linesScanned;
+    }
+
+    /**
+     * Returns the number of lines that have been handed over to the regular expression check, i.e., the lines that
+     * passed {@link LookaheadParser#isLineInteresting(String)} and that are not make or cmake directory lines.
+     *
+     * @return the number of interesting lines
+     */
+    public long getInterestingLines() {
+        return interestingLines;
+    }
+
+    /**
+     * Returns the number of lines that have been matched with the regular expression of the parser, i.e. the
+     * interesting lines that contain at least one of the required literals.
+     *
+     * @return the number of match attempts
+     */
+    public long getMatchAttempts() {
+        return matchAttempts;
+    }
+
+    public long getMatchHits() {
+        return matchHits;
+    }
+
+    public long getIssuesCreated() {
+        return issuesCreated;
+    }
+
+    public long getDuplicatesDropped() {
+        return duplicatesDropped;
+    }
+
+    /**
+     * Returns the elapsed wall time of the specified phase.
+     *
+     * @param phase
+     *         the phase
+     *
+     * @return the wall time in nanoseconds, or 0 if the phase has not been measured
+     */
+    public long getWallTime(final Phase phase) {
+        return wallTimes.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Returns the CPU time of the specified phase.
+     *
+     * @param phase
+     *         the phase
+     *
+     * @return the CPU time in nanoseconds, 0 if the phase has not been measured, or {@link #UNSUPPORTED} if the
+     *         virtual machine does not support measuring the CPU time of a thread
+     */
+    public long getCpuTime(final Phase phase) {
+        return cpuTimes.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Returns all values of these statistics as a map of metric names to values. The wall and CPU times are in
+     * nanoseconds. Use this map to export the statistics into a monitoring system.
+     *
+     * @return the statistics as map
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("charactersRead", charactersRead);
+        values.put("linesScanned", linesScanned);
+        values.put("interestingLines", interestingLines);
+        values.put("matchAttempts", matchAttempts);
+        values.put("matchHits", matchHits);
+        values.put("issuesCreated", issuesCreated);
+        values.put("duplicatesDropped", duplicatesDropped);
+        for (Phase phase : Phase.values()) {
+            String name = phase.name().toLowerCase(Locale.ENGLISH);
+            values.put(name + ".wallTime", getWallTime(phase));
+            values.put(name + ".cpuTime", getCpuTime(phase));
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return parserName + ": " + toMap();
+    }
+
+    /**
+     * Measures the wall and CPU time of a phase.
+     */
+    final class Timer {
+        private final Phase phase;
+        private final long wallStart;
+        private final long cpuStart;
+
+        Timer(final Phase phase) {
+            this.phase = phase;
+            wallStart = System.nanoTime();
+            cpuStart = getCurrentThreadCpuTime();
+        }
+
+        /**
+         * Stops the measurement and adds the elapsed times to the times of the phase.
+         */
+        void stop() {
+            wallTimes.merge(phase, System.nanoTime() - wallStart, Long::sum);
+            if (cpuStart == UNSUPPORTED) {
+                cpuTimes.put(phase, UNSUPPORTED);
+            }
+            else {
+                cpuTimes.merge(phase, getCurrentThreadCpuTime() - cpuStart, Long::sum);
+            }
+        }
+
+        private long getCurrentThreadCpuTime() {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads.isCurrentThreadCpuTimeSupported()) {
+                return threads.getCurrentThreadCpuTime();
+            }
+            return UNSUPPORTED;
+        }
+    }
+}
@@ -6,16 +6,16 @@ import java.io.Reader;
 import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Document;
 import org.xml.sax.helpers.DefaultHandler;
 
 import com.google.errorprone.annotations.MustBeClosed;
 
+import edu.hm.hafner.util.AnsiEscapeCodes;
+import edu.hm.hafner.util.CharSequenceLineReader;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -28,11 +28,9 @@ public abstract class ReaderFactory {
 
     private final Charset charset;
     private final Function<String, String> lineMapper;
+    private final boolean hasCustomLineMapper;
 
-    private static final Pattern ANSI_COLOR_CODES
-            = Pattern.compile("\u001B\\[[;\\d]*[ -/]*[@-~]");
-    private static final Function<String, String> REMOVE_COLOR_CODES
-            = string -> ANSI_COLOR_CODES.matcher(string).replaceAll(StringUtils.EMPTY);
+    private static final Function<String, String> REMOVE_COLOR_CODES = AnsiEscapeCodes::strip;
 
     /**
      * Creates a new factory to read a resource with a given charset.
@@ -55,6 +53,19 @@ public abstract class ReaderFactory {
     public ReaderFactory(final Charset charset, final Function<String, String> lineMapper) {
         this.charset = charset;
         this.lineMapper = REMOVE_COLOR_CODES.compose(lineMapper);
+        hasCustomLineMapper = lineMapper != IDENTITY;
+    }
+
+    /**
+     * Creates a new factory that maps the lines of the resource in the same way as the specified factory.
+     *
+     * @param template
+     *         the factory to copy the line mapper from
+     */
+    ReaderFactory(final ReaderFactory template) {
+        charset = template.charset;
+        lineMapper = template.lineMapper;
+        hasCustomLineMapper = template.hasCustomLineMapper;
     }
 
     /**
@@ -98,6 +109,25 @@ public abstract class ReaderFactory {
         }
     }
 
+    /**
+     * Provides the lines of the file as reusable {@link CharSequence} instances. In contrast to {@link #readStream()},
+     * lines are not copied into new {@link String} instances. Lines that need to be mapped (i.e., lines that contain
+     * ANSI color codes or all lines if this factory has a custom line mapper) are mapped in the same way as in {@link
+     * #readStream()}.
+     *
+     * @return the lines of the file
+     * @throws ParsingException
+     *         if the file could not be read
+     */
+    @MustBeClosed
+    @SuppressWarnings("MustBeClosedChecker")
+    public CharSequenceLineReader readCharSequences() {
+        if (hasCustomLineMapper) {
+            return new CharSequenceLineReader(create(), line -> true, lineMapper);
+        }
+        return new CharSequenceLineReader(create(), AnsiEscapeCodes::containsEscape, REMOVE_COLOR_CODES);
+    }
+
     @SuppressWarnings({"illegalcatch", "PMD.DoNotUseThreads", "PMD.AvoidThrowingRawExceptionTypes"})
     private Runnable closeReader(final AutoCloseable closeable) {
         return () -> {
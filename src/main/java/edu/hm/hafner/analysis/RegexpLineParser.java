@@ -20,8 +20,6 @@ public abstract class RegexpLineParser extends LookaheadParser {
     @Nullable
     private LookaheadStream temporaryLookahead;
 
-    private static final int MAX_LINE_LENGTH = 4000; // see JENKINS-55805
-
     /**
      * Creates a new instance of {@link RegexpLineParser}.
      *
@@ -32,9 +30,17 @@ public abstract class RegexpLineParser extends LookaheadParser {
         super(pattern);
     }
 
-    @Override
-    protected boolean isLineInteresting(final String line) {
-        return line.length() < MAX_LINE_LENGTH; // skip long lines, see JENKINS-55805
+    /**
+     * Creates a new instance of {@link RegexpLineParser}. Each line that matches the pattern must contain at least one
+     * of the specified literals.
+     *
+     * @param pattern
+     *         pattern of compiler warnings
+     * @param requiredLiterals
+     *         the literals a matching line must contain (at least one of them)
+     */
+    protected RegexpLineParser(final String pattern, final String... requiredLiterals) {
+        super(pattern, requiredLiterals);
     }
 
     @Override
@@ -13,6 +13,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -34,6 +35,7 @@ import edu.hm.hafner.util.Ensure;
 import edu.hm.hafner.util.NoSuchElementException;
 import edu.hm.hafner.util.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import static java.util.stream.Collectors.*;
@@ -67,6 +69,9 @@ public class Report implements Iterable<Issue>, Serializable {
 
     private int duplicatesSize = 0;
 
+    @Nullable
+    private ParsingStatistics statistics; // not part of equals: statistics of the parser that created this report
+
     /**
      * Creates an empty {@link Report}.
      */
@@ -122,15 +127,35 @@ public class Report implements Iterable<Issue>, Serializable {
      * @return this
      */
     public Report add(final Issue issue) {
-        if (elements.contains(issue)) {
+        if (!addElement(issue)) {
             duplicatesSize++; // elements are marked as duplicate if the fingerprint is different
         }
-        else {
-            elements.add(issue);
-        }
         return this;
     }
 
+    /**
+     * Stores the specified issue in the elements of this report.
+     *
+     * @param issue
+     *         the issue to store
+     *
+     * @return {@code true} if the issue has been stored, {@code false} if the issue is a duplicate of an existing
+     *         element
+     */
+    boolean addElement(final Issue issue) {
+        return elements.add(issue);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of this report. In contrast to {@link #stream()} the elements are not
+     * copied.
+     *
+     * @return the elements of this report
+     */
+    Stream<Issue> streamElements() {
+        return elements.stream();
+    }
+
     /**
      * Appends all of the specified issues to the end of this report, preserving the order of the array elements.
      * Duplicates will be skipped (the number of skipped elements is available using the method {@link
@@ -256,12 +281,9 @@ public class Report implements Iterable<Issue>, Serializable {
      *         if there is no such issue found
      */
     public Issue findById(final UUID issueId) {
-        for (Issue issue : elements) {
-            if (issue.getId().equals(issueId)) {
-                return issue;
-            }
-        }
-        throw new NoSuchElementException("No issue found with id %s.", issueId);
+        return streamElements().filter(issue -> issue.getId().equals(issueId))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No issue found with id %s.", issueId));
     }
 
     /**
@@ -286,12 +308,12 @@ public class Report implements Iterable<Issue>, Serializable {
      */
     public Report filter(final Predicate<? super Issue> criterion) {
         Report filtered = copyEmptyInstance();
-        filtered.addAll(filterElements(criterion).collect(toList()));
+        filterElements(criterion).forEachOrdered(filtered::add);
         return filtered;
     }
 
     private Stream<Issue> filterElements(final Predicate<? super Issue> criterion) {
-        return elements.stream().filter(criterion);
+        return streamElements().filter(criterion);
     }
 
     @NonNull
@@ -306,7 +328,7 @@ public class Report implements Iterable<Issue>, Serializable {
      * @return a new sequential {@code Stream}
      */
     public Stream<Issue> stream() {
-        return StreamSupport.stream(Spliterators.spliterator(iterator(), 0L, Spliterator.NONNULL), false);
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size(), Spliterator.NONNULL), false);
     }
 
     /**
@@ -357,6 +379,36 @@ public class Report implements Iterable<Issue>, Serializable {
         return duplicatesSize;
     }
 
+    /**
+     * Sets the number of duplicates. Used to restore a report that has been written by a {@link ReportCodec}.
+     *
+     * @param duplicatesSize
+     *         total number of duplicates
+     */
+    void setDuplicatesSize(final int duplicatesSize) {
+        this.duplicatesSize = duplicatesSize;
+    }
+
+    /**
+     * Returns the statistics of the parser that created this report. Statistics are available only if the report has
+     * been created by an {@link InstrumentedParser}.
+     *
+     * @return the parsing statistics, or an empty optional if the parser has not been instrumented
+     */
+    public Optional<ParsingStatistics> getStatistics() {
+        return Optional.ofNullable(statistics);
+    }
+
+    /**
+     * Attaches the statistics of the parser that created this report.
+     *
+     * @param statistics
+     *         the parsing statistics
+     */
+    void setStatistics(final ParsingStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     /**
      * Returns the number of issues with the specified {@code severity}.
      *
@@ -378,7 +430,7 @@ public class Report implements Iterable<Issue>, Serializable {
      * @return total number of issues
      */
     public int getSizeOf(final Severity severity) {
-        return elements.stream().filter(issue -> issue.getSeverity().equals(severity)).mapToInt(e -> 1).sum();
+        return streamElements().filter(issue -> issue.getSeverity().equals(severity)).mapToInt(e -> 1).sum();
     }
 
     /**
@@ -593,7 +645,7 @@ public class Report implements Iterable<Issue>, Serializable {
      * @see #getFiles()
      */
     public <T> Set<T> getProperties(final Function<? super Issue, T> propertiesMapper) {
-        return elements.stream().map(propertiesMapper).collect(toSet());
+        return streamElements().map(propertiesMapper).collect(toSet());
     }
 
     /**
@@ -608,7 +660,21 @@ public class Report implements Iterable<Issue>, Serializable {
      * @see #getProperties(Function)
      */
     public <T> Map<T, Integer> getPropertyCount(final Function<? super Issue, T> propertiesMapper) {
-        return elements.stream().collect(groupingBy(propertiesMapper, reducing(0, issue -> 1, Integer::sum)));
+        return streamElements().collect(groupingBy(propertiesMapper, reducing(0, issue -> 1, Integer::sum)));
+    }
+
+    /**
+     * Returns the number of occurrences for every existing value of the property with the specified name for all
+     * issues.
+     *
+     * @param propertyName
+     *         the name of the property to evaluate
+     *
+     * @return a mapping of: property value to the number of issues for that value
+     * @see #getPropertyCount(Function)
+     */
+    public Map<String, Integer> getPropertyCount(final String propertyName) {
+        return getPropertyCount(Issue.getPropertyValueGetter(propertyName));
     }
 
     /**
@@ -622,14 +688,14 @@ public class Report implements Iterable<Issue>, Serializable {
      * @see #getProperties(Function)
      */
     public Map<String, Report> groupByProperty(final String propertyName) {
-        Map<String, List<Issue>> issues = elements.stream()
+        Map<String, List<Issue>> issues = streamElements()
                 .collect(groupingBy(Issue.getPropertyValueGetter(propertyName)));
 
         return issues.entrySet().stream()
                 .collect(toMap(
                         Entry::getKey,
                         e -> {
-                            Report report = new Report();
+                            Report report = createEmptyInstance();
                             report.addAll(e.getValue());
                             return report;
                         }));
@@ -641,13 +707,23 @@ public class Report implements Iterable<Issue>, Serializable {
      * @return a new issue container that contains the same elements in the same order
      */
     public Report copy() {
-        Report copied = new Report();
+        Report copied = createEmptyInstance();
         copyIssuesAndProperties(this, copied);
         return copied;
     }
 
+    /**
+     * Creates a new empty report of the same type as this report. The new report does not contain issues or
+     * properties.
+     *
+     * @return a new empty report
+     */
+    Report createEmptyInstance() {
+        return new Report();
+    }
+
     private void copyIssuesAndProperties(final Report source, final Report destination) {
-        destination.addAll(source.elements);
+        source.streamElements().forEachOrdered(destination::add);
         copyProperties(source, destination);
     }
 
@@ -665,7 +741,7 @@ public class Report implements Iterable<Issue>, Serializable {
      * @return a new issue container that contains the same properties but no issues
      */
     public Report copyEmptyInstance() {
-        Report empty = new Report();
+        Report empty = createEmptyInstance();
         copyProperties(this, empty);
         return empty;
     }
@@ -808,6 +884,15 @@ public class Report implements Iterable<Issue>, Serializable {
         namesByOrigin.put(origin, name);
     }
 
+    /**
+     * Returns the human readable names of all origins of this report.
+     *
+     * @return a mapping of: origin to human readable name
+     */
+    Map<String, String> getNamesByOrigin() {
+        return Collections.unmodifiableMap(namesByOrigin);
+    }
+
     /**
      * Prints a summary of an {@link Issue}.
      */
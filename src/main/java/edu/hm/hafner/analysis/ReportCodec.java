@@ -0,0 +1,418 @@
+package edu.hm.hafner.analysis;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import edu.hm.hafner.util.TreeString;
+import edu.hm.hafner.util.TreeStringBuilder;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Reads and writes {@link Report reports} using a compact and versioned binary format. Compared with the default Java
+ * serialization of a {@link Report}, this format stores every distinct string only once (file names, packages, modules,
+ * categories, types, messages, etc. are written into a shared string table), encodes line and column positions as
+ * variable length integers, and writes the ID of an issue as two raw {@code long} values.
+ * <p>
+ * The format is lossless: reading a written report creates a report that is equal to the original report, the issues
+ * retain their IDs and all of their properties.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class ReportCodec {
+    private static final int MAGIC = 0x414D5250; // "AMRP"
+    private static final int VERSION = 1;
+
+    private static final int NO_ADDITIONAL_PROPERTIES = 0;
+    private static final int SERIALIZED_ADDITIONAL_PROPERTIES = 1;
+
+    /**
+     * Writes the specified report to the given output stream. The stream will not be closed.
+     *
+     * @param report
+     *         the report to write
+     * @param output
+     *         the stream to write to
+     *
+     * @throws IOException
+     *         if the report could not be written
+     */
+    public void write(final Report report, final OutputStream output) throws IOException {
+        DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(output));
+        stream.writeInt(MAGIC);
+        stream.writeByte(VERSION);
+
+        IssueEncoder encoder = new IssueEncoder(stream);
+        encoder.writeStrings(report.getInfoMessages().castToList());
+        encoder.writeStrings(report.getErrorMessages().castToList());
+        encoder.writeStrings(new ArrayList<>(report.getFileNames()));
+        Map<String, String> namesByOrigin = report.getNamesByOrigin();
+        encoder.writeVarInt(namesByOrigin.size());
+        for (Entry<String, String> entry : namesByOrigin.entrySet()) {
+            encoder.writeString(entry.getKey());
+            encoder.writeString(entry.getValue());
+        }
+        encoder.writeVarInt(report.getDuplicatesSize());
+
+        encoder.writeVarInt(report.size());
+        for (Issue issue : report) {
+            encoder.writeIssue(issue);
+        }
+        stream.flush();
+    }
+
+    /**
+     * Reads a report from the given input stream. The stream will not be closed. Only the bytes of the report are
+     * consumed: data that follows the report in the stream can be read by the caller afterwards. Since the report is
+     * read in small chunks, the caller should provide a buffered stream if the stream is backed by a file or socket.
+     *
+     * @param input
+     *         the stream to read from
+     *
+     * @return the report
+     * @throws IOException
+     *         if the report could not be read or if the stream does not contain a report in the supported format
+     */
+    public Report read(final InputStream input) throws IOException {
+        DataInputStream stream = new DataInputStream(input);
+        if (stream.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Stream does not contain a report in binary format");
+        }
+        int version = stream.readUnsignedByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException(String.format("Unsupported report format version %d", version));
+        }
+
+        IssueDecoder decoder = new IssueDecoder(stream);
+        Report report = new Report();
+        for (String info : decoder.readStrings()) {
+            report.logInfo("%s", info);
+        }
+        for (String error : decoder.readStrings()) {
+            report.logError("%s", error);
+        }
+        for (String fileName : decoder.readStrings()) {
+            report.addFileName(fileName);
+        }
+        int origins = decoder.readVarInt();
+        for (int i = 0; i < origins; i++) {
+            report.setNameOfOrigin(decoder.readString(), decoder.readString());
+        }
+        report.setDuplicatesSize(decoder.readVarInt());
+
+        int size = decoder.readVarInt();
+        for (int i = 0; i < size; i++) {
+            report.add(decoder.readIssue());
+        }
+        return report;
+    }
+
+    /**
+     * Writes issues and strings to a {@link DataOutputStream}. Each distinct string is written only once, subsequent
+     * occurrences are written as references to the string table.
+     */
+    static class IssueEncoder {
+        private final DataOutputStream output;
+        private final boolean isInliningStrings;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        IssueEncoder(final DataOutputStream output) {
+            this(output, true);
+        }
+
+        /**
+         * Creates a new {@link IssueEncoder}.
+         *
+         * @param output
+         *         the stream to write to
+         * @param isInliningStrings
+         *         determines whether the characters of a string are written together with the first occurrence of the
+         *         string. Otherwise, only the references to the string table are written and the string table needs to
+         *         be stored separately, see {@link #getStrings()}.
+         */
+        IssueEncoder(final DataOutputStream output, final boolean isInliningStrings) {
+            this.output = output;
+            this.isInliningStrings = isInliningStrings;
+        }
+
+        /**
+         * Returns the string table of this encoder, i.e. the distinct strings in the order of their references.
+         *
+         * @return the string table
+         */
+        List<String> getStrings() {
+            String[] values = new String[strings.size()];
+            strings.forEach((value, index) -> values[index] = value);
+            return Arrays.asList(values);
+        }
+
+        void writeIssue(final Issue issue) throws IOException {
+            UUID id = issue.getId();
+            output.writeLong(id.getMostSignificantBits());
+            output.writeLong(id.getLeastSignificantBits());
+
+            writeString(issue.getPath());
+            writeString(issue.getFileName());
+            writeVarInt(issue.getLineStart());
+            writeVarInt(issue.getLineEnd());
+            writeVarInt(issue.getColumnStart());
+            writeVarInt(issue.getColumnEnd());
+
+            LineRangeList lineRanges = new LineRangeList();
+            lineRanges.addAll(issue.getLineRanges());
+            writeVarInt(lineRanges.size());
+            for (LineRange lineRange : lineRanges) {
+                writeVarInt(lineRange.getStart());
+                writeVarInt(lineRange.getEnd());
+            }
+
+            writeString(issue.getCategory());
+            writeString(issue.getType());
+            writeString(issue.getSeverity().getName());
+            writeString(issue.getPackageName());
+            writeString(issue.getModuleName());
+            writeString(issue.getMessage());
+            writeString(issue.getDescription());
+            writeString(issue.getOrigin());
+            writeString(issue.getReference());
+            writeString(issue.getFingerprint());
+
+            writeAdditionalProperties(issue.getAdditionalProperties());
+        }
+
+        private void writeAdditionalProperties(@Nullable final Serializable additionalProperties) throws IOException {
+            if (additionalProperties == null) {
+                writeVarInt(NO_ADDITIONAL_PROPERTIES);
+            }
+            else {
+                writeVarInt(SERIALIZED_ADDITIONAL_PROPERTIES);
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream objectStream = new ObjectOutputStream(bytes)) {
+                    objectStream.writeObject(additionalProperties);
+                }
+                writeVarInt(bytes.size());
+                bytes.writeTo(output);
+            }
+        }
+
+        void writeStrings(final List<String> values) throws IOException {
+            writeVarInt(values.size());
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeString(final String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index == null) {
+                int next = strings.size();
+                strings.put(value, next);
+                writeVarInt(next);
+                if (isInliningStrings) {
+                    writeCharacters(value);
+                }
+            }
+            else {
+                writeVarInt(index);
+            }
+        }
+
+        /**
+         * Writes the characters of the specified string (without using the string table).
+         *
+         * @param value
+         *         the string to write
+         *
+         * @throws IOException
+         *         if the string could not be written
+         */
+        void writeCharacters(final String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            output.write(bytes);
+        }
+
+        void writeVarInt(final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                output.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            output.writeByte(remaining);
+        }
+    }
+
+    /**
+     * Reads issues and strings from a {@link DataInputStream} that has been written by an {@link IssueEncoder}. File
+     * names, package names, and messages are interned using tree-strings.
+     */
+    static class IssueDecoder {
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<>();
+        @Nullable
+        private final IntFunction<String> stringTable;
+
+        private final TreeStringBuilder fileNameBuilder = new TreeStringBuilder();
+        private final TreeStringBuilder packageNameBuilder = new TreeStringBuilder();
+        private final TreeStringBuilder messageBuilder = new TreeStringBuilder();
+
+        IssueDecoder(final DataInputStream input) {
+            this.input = input;
+            this.stringTable = null;
+        }
+
+        /**
+         * Creates a new {@link IssueDecoder} for issues that have been written without inlined strings.
+         *
+         * @param input
+         *         the stream to read from
+         * @param stringTable
+         *         provides the string for an index of the string table
+         */
+        IssueDecoder(final DataInputStream input, final IntFunction<String> stringTable) {
+            this.input = input;
+            this.stringTable = stringTable;
+        }
+
+        Issue readIssue() throws IOException {
+            UUID id = new UUID(input.readLong(), input.readLong());
+
+            String pathName = readString();
+            TreeString fileName = fileNameBuilder.intern(readString());
+            int lineStart = readVarInt();
+            int lineEnd = readVarInt();
+            int columnStart = readVarInt();
+            int columnEnd = readVarInt();
+
+            int lineRangesSize = readVarInt();
+            LineRangeList lineRanges = new LineRangeList(lineRangesSize * 2);
+            for (int i = 0; i < lineRangesSize; i++) {
+                lineRanges.add(new LineRange(readVarInt(), readVarInt()));
+            }
+
+            String category = readString();
+            String type = readString();
+            Severity severity = readSeverity();
+            TreeString packageName = packageNameBuilder.intern(readString());
+            String moduleName = readString();
+            TreeString message = messageBuilder.intern(readString());
+            String description = readString();
+            String origin = readString();
+            String reference = readString();
+            String fingerprint = readString();
+            Serializable additionalProperties = readAdditionalProperties();
+
+            Issue issue = new Issue(pathName, fileName, lineStart, lineEnd, columnStart, columnEnd, lineRanges,
+                    category, type, packageName, moduleName, severity, message, description, origin, reference,
+                    fingerprint, additionalProperties, id);
+            // the constructor replaces empty values with defaults, the setters retain the values as is
+            issue.setModuleName(moduleName);
+            issue.setFingerprint(fingerprint);
+            return issue;
+        }
+
+        private Severity readSeverity() throws IOException {
+            String name = readString();
+            Severity severity = Severity.valueOf(name);
+            if (severity.getName().equals(name)) {
+                return severity;
+            }
+            return new Severity(name);
+        }
+
+        @Nullable
+        private Serializable readAdditionalProperties() throws IOException {
+            int kind = readVarInt();
+            if (kind == NO_ADDITIONAL_PROPERTIES) {
+                return null;
+            }
+            if (kind != SERIALIZED_ADDITIONAL_PROPERTIES) {
+                throw new StreamCorruptedException(String.format("Unknown additional properties kind %d", kind));
+            }
+
+            byte[] bytes = new byte[readVarInt()];
+            input.readFully(bytes);
+            try (ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                return (Serializable) objectStream.readObject();
+            }
+            catch (ClassNotFoundException exception) {
+                throw new IOException(exception);
+            }
+        }
+
+        List<String> readStrings() throws IOException {
+            int size = readVarInt();
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        String readString() throws IOException {
+            int index = readVarInt();
+            if (stringTable != null) {
+                return stringTable.apply(index);
+            }
+            if (index < strings.size()) {
+                return strings.get(index);
+            }
+            if (index != strings.size()) {
+                throw new StreamCorruptedException(String.format("Invalid string table index %d", index));
+            }
+
+            String value = readCharacters();
+            strings.add(value);
+            return value;
+        }
+
+        /**
+         * Reads the characters of a string that has been written by {@link IssueEncoder#writeCharacters(String)}.
+         *
+         * @return the string
+         * @throws IOException
+         *         if the string could not be read
+         */
+        String readCharacters() throws IOException {
+            byte[] bytes = new byte[readVarInt()];
+            input.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int current = input.read();
+                if (current < 0) {
+                    throw new EOFException();
+                }
+                value |= (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable length integer");
+        }
+    }
+}
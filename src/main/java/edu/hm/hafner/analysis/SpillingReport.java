@@ -0,0 +1,685 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.hm.hafner.analysis.ReportCodec.IssueDecoder;
+import edu.hm.hafner.analysis.ReportCodec.IssueEncoder;
+import edu.hm.hafner.util.Ensure;
+import edu.hm.hafner.util.NoSuchElementException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A {@link Report} that keeps only a limited number of issues in memory. Whenever the number of issues in memory
+ * exceeds the configured budget, these issues are spilled as a new segment to a temporary file. The issues of a
+ * segment are stored in the compact binary format of {@link ReportCodec}, the strings of a segment are stored in a
+ * separate string table so that each issue can be read on its own. Iterating, filtering, and counting the issues of
+ * this report streams over the memory mapped segments and the issues that are still in memory.
+ * <p>
+ * Duplicate detection works the same way as in {@link Report#add(Issue)}: each spilled segment has an index of the
+ * hash codes of its issues, sorted by the hash codes. Only the issues of a segment that have the same hash code as a
+ * new issue are read and compared with the new issue. The index is part of the temporary file, so the heap usage of
+ * this report is bounded by the budget and does not grow with the number of spilled issues.
+ * </p>
+ * <p>
+ * Spilled issues are immutable snapshots: the issues that are read from the spilled segments are new instances, and
+ * changing the mutable properties of such an issue (e.g., by a {@link FileNameResolver} or {@link
+ * FingerprintGenerator}) has no effect on this report. The same holds for an added issue once it has been spilled. So
+ * resolvers need to be applied before the issues are added to this report.
+ * </p>
+ * <p>
+ * The temporary file is created when the first segment is spilled. It is deleted when this report is {@link #close()
+ * closed} or when this report has been garbage collected. Note that closing removes all spilled issues from this
+ * report, afterwards only the issues that are still in memory are part of this report. Reports that are derived from
+ * this report (e.g., by {@link #filter(java.util.function.Predicate)} or {@link #copy()}) spill to their own
+ * temporary files.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+@SuppressWarnings({"PMD.GodClass", "PMD.TooManyMethods", "PMD.ExcessiveImports"})
+public class SpillingReport extends Report implements Closeable {
+    private static final long serialVersionUID = 1L;
+
+    /** Default maximum number of issues that will be kept in memory. */
+    public static final int DEFAULT_BUDGET = 100_000;
+
+    /** Temporary files of reports that might have been garbage collected without being closed. */
+    private static final ReferenceQueue<SpillingReport> UNREACHABLE_REPORTS = new ReferenceQueue<>();
+    private static final Set<SpillFile> OPEN_SPILL_FILES = ConcurrentHashMap.newKeySet();
+
+    private final int budget;
+
+    private transient List<Issue> buffer = new ArrayList<>();
+    /** The issues of the buffer for duplicate detection, rebuilt after an issue of the buffer has been removed. */
+    private transient Set<Issue> bufferIndex = new HashSet<>();
+    private transient boolean isBufferIndexStale = false;
+    private transient List<Segment> segments = new ArrayList<>();
+    private transient BitSet removedRows = new BitSet();
+    private transient int size = 0;
+    private transient int nextRow = 0;
+
+    @Nullable
+    private transient SpillFile spillFile;
+
+    /**
+     * Creates an empty {@link SpillingReport} that keeps at most {@link #DEFAULT_BUDGET} issues in memory.
+     */
+    public SpillingReport() {
+        this(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates an empty {@link SpillingReport} that keeps at most the specified number of issues in memory.
+     *
+     * @param budget
+     *         the maximum number of issues that will be kept in memory
+     */
+    public SpillingReport(final int budget) {
+        super();
+
+        Ensure.that(budget > 0).isTrue("Budget must be positive: %d", budget);
+
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the maximum number of issues that will be kept in memory.
+     *
+     * @return the budget
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the number of issues that have been spilled to disk.
+     *
+     * @return the number of spilled issues
+     */
+    public int getSpilledSize() {
+        return segments.stream().mapToInt(segment -> segment.size).sum();
+    }
+
+    @Override
+    boolean addElement(final Issue issue) {
+        if (isBuffered(issue) || isSpilled(issue)) {
+            return false;
+        }
+
+        buffer.add(issue);
+        bufferIndex.add(issue);
+        size++;
+        if (buffer.size() >= budget) {
+            spill();
+        }
+        return true;
+    }
+
+    private boolean isBuffered(final Issue issue) {
+        if (isBufferIndexStale) {
+            bufferIndex = new HashSet<>(buffer);
+            isBufferIndexStale = false;
+        }
+        return bufferIndex.contains(issue);
+    }
+
+    private boolean isSpilled(final Issue issue) {
+        int hashCode = issue.hashCode();
+        for (Segment segment : segments) {
+            ByteBuffer content = getContent(segment);
+            for (int index = segment.findFirst(content, hashCode);
+                    index < segment.size && segment.getHashCode(content, index) == hashCode; index++) {
+                int position = segment.getPosition(content, index);
+                if (!removedRows.get(segment.firstRow + position)
+                        && readIssue(segment, content, position).equals(issue)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void spill() {
+        try {
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(records);
+            IssueEncoder encoder = new IssueEncoder(output, false);
+            int[] recordOffsets = new int[buffer.size()];
+            long[] hashCodesAndPositions = new long[buffer.size()];
+            int position = 0;
+            for (Issue issue : buffer) {
+                recordOffsets[position] = output.size();
+                encoder.writeIssue(issue);
+                hashCodesAndPositions[position] = (long) issue.hashCode() << Integer.SIZE | position;
+                position++;
+            }
+            Arrays.sort(hashCodesAndPositions);
+
+            ByteArrayOutputStream table = new ByteArrayOutputStream();
+            DataOutputStream tableOutput = new DataOutputStream(table);
+            IssueEncoder tableEncoder = new IssueEncoder(tableOutput);
+            List<String> strings = encoder.getStrings();
+            int[] stringOffsets = new int[strings.size()];
+            for (int i = 0; i < strings.size(); i++) {
+                stringOffsets[i] = tableOutput.size();
+                tableEncoder.writeCharacters(strings.get(i));
+            }
+
+            ByteArrayOutputStream index = new ByteArrayOutputStream();
+            DataOutputStream indexOutput = new DataOutputStream(index);
+            for (int stringOffset : stringOffsets) {
+                indexOutput.writeInt(stringOffset);
+            }
+            for (int recordOffset : recordOffsets) {
+                indexOutput.writeInt(recordOffset);
+            }
+            for (long hashCodeAndPosition : hashCodesAndPositions) {
+                indexOutput.writeInt((int) (hashCodeAndPosition >> Integer.SIZE));
+            }
+            for (long hashCodeAndPosition : hashCodesAndPositions) {
+                indexOutput.writeInt((int) hashCodeAndPosition);
+            }
+
+            Segment segment = new Segment(nextRow, buffer.size(), strings.size(), table.size(),
+                    table.size() + records.size());
+            segment.offset = append(table.toByteArray(), records.toByteArray(), index.toByteArray());
+            segment.length = table.size() + records.size() + index.size();
+
+            segments.add(segment);
+            nextRow += segment.size;
+            buffer.clear();
+            bufferIndex.clear();
+            isBufferIndexStale = false;
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Can't spill issues to " + getFileName(), exception);
+        }
+    }
+
+    private long append(final byte[]... parts) throws IOException {
+        FileChannel channel = getChannel();
+        long offset = channel.size();
+        long position = offset;
+        for (byte[] bytes : parts) {
+            ByteBuffer content = ByteBuffer.wrap(bytes);
+            while (content.hasRemaining()) {
+                position += channel.write(content, position);
+            }
+        }
+        return offset;
+    }
+
+    private FileChannel getChannel() throws IOException {
+        if (spillFile == null) {
+            spillFile = SpillFile.create(this);
+        }
+        return spillFile.channel;
+    }
+
+    private String getFileName() {
+        return spillFile == null ? "temporary file" : spillFile.path.toString();
+    }
+
+    /**
+     * Reads the issue at the specified position of a segment. Only the strings of this issue are read from the
+     * string table of the segment.
+     *
+     * @param segment
+     *         the segment
+     * @param content
+     *         the content of the segment
+     * @param position
+     *         the position of the issue in the segment
+     *
+     * @return the issue
+     */
+    private Issue readIssue(final Segment segment, final ByteBuffer content, final int position) {
+        content.position(segment.getRecordOffset(content, position));
+        return readIssue(new IssueDecoder(new DataInputStream(new ByteBufferInputStream(content)),
+                index -> segment.readString(content, index)));
+    }
+
+    private ByteBuffer getContent(final Segment segment) {
+        try {
+            if (segment.content == null) {
+                segment.content = getChannel().map(MapMode.READ_ONLY, segment.offset, segment.length);
+            }
+            return segment.content.duplicate();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException("Can't read spilled issues from " + getFileName(), exception);
+        }
+    }
+
+    private Stream<Issue> readSegment(final Segment segment) {
+        return StreamSupport.stream(new SegmentSpliterator(segment), false);
+    }
+
+    @Override
+    Stream<Issue> streamElements() {
+        return Stream.concat(segments.stream().flatMap(this::readSegment), buffer.stream());
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Issue> iterator() {
+        return streamElements().iterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Issue get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No such index " + index + " in " + toString());
+        }
+        if (removedRows.isEmpty()) {
+            int remaining = index;
+            for (Segment segment : segments) {
+                if (remaining < segment.size) {
+                    return readIssue(segment, getContent(segment), remaining);
+                }
+                remaining -= segment.size;
+            }
+        }
+        return streamElements().skip(index).findFirst().orElseThrow(IndexOutOfBoundsException::new);
+    }
+
+    @Override
+    public Issue findById(final UUID issueId) {
+        for (Issue element : buffer) {
+            if (element.getId().equals(issueId)) {
+                return element;
+            }
+        }
+        for (Segment segment : segments) {
+            ByteBuffer content = getContent(segment);
+            int position = findPosition(segment, content, issueId);
+            if (position >= 0) {
+                return readIssue(segment, content, position);
+            }
+        }
+        throw new NoSuchElementException("No issue found with id %s.", issueId);
+    }
+
+    @Override
+    Issue remove(final UUID issueId) {
+        for (Iterator<Issue> iterator = buffer.iterator(); iterator.hasNext(); ) {
+            Issue element = iterator.next();
+            if (element.getId().equals(issueId)) {
+                iterator.remove();
+                isBufferIndexStale = true;
+                size--;
+                return element;
+            }
+        }
+
+        for (Segment segment : segments) {
+            ByteBuffer content = getContent(segment);
+            int position = findPosition(segment, content, issueId);
+            if (position >= 0) {
+                Issue removed = readIssue(segment, content, position);
+                removedRows.set(segment.firstRow + position);
+                size--;
+                return removed;
+            }
+        }
+        throw new NoSuchElementException("No issue found with id %s.", issueId);
+    }
+
+    /**
+     * Finds the position of the issue with the specified ID in a segment. Only the IDs of the issues are read.
+     *
+     * @param segment
+     *         the segment
+     * @param content
+     *         the content of the segment
+     * @param issueId
+     *         the ID of the issue
+     *
+     * @return the position of the issue, or -1 if the segment does not contain such an issue
+     */
+    private int findPosition(final Segment segment, final ByteBuffer content, final UUID issueId) {
+        long mostSignificantBits = issueId.getMostSignificantBits();
+        long leastSignificantBits = issueId.getLeastSignificantBits();
+
+        for (int position = 0; position < segment.size; position++) {
+            int offset = segment.getRecordOffset(content, position);
+            if (content.getLong(offset) == mostSignificantBits
+                    && content.getLong(offset + Long.BYTES) == leastSignificantBits
+                    && !removedRows.get(segment.firstRow + position)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static Issue readIssue(final IssueDecoder decoder) {
+        try {
+            return decoder.readIssue();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    Report createEmptyInstance() {
+        return new SpillingReport(budget);
+    }
+
+    /**
+     * Deletes the temporary file that contains the spilled issues. The spilled issues are removed from this report:
+     * afterwards, this report contains only the issues that are still in memory.
+     *
+     * @throws IOException
+     *         if the file could not be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.content = null;
+        }
+        segments.clear();
+        removedRows.clear();
+        size = buffer.size();
+
+        if (spillFile != null) {
+            spillFile.close();
+            spillFile = null;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+        SpillingReport that = (SpillingReport) o;
+        if (size != that.size) {
+            return false;
+        }
+        Iterator<Issue> other = that.iterator();
+        return streamElements().allMatch(issue -> issue.equals(other.next()));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + streamElements().mapToInt(Issue::hashCode).sum();
+    }
+
+    private void writeObject(final ObjectOutputStream output) throws IOException {
+        output.defaultWriteObject();
+
+        output.writeInt(size);
+        for (Issue issue : this) {
+            output.writeObject(issue);
+        }
+    }
+
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+
+        buffer = new ArrayList<>();
+        bufferIndex = new HashSet<>();
+        segments = new ArrayList<>();
+        removedRows = new BitSet();
+
+        int issues = input.readInt();
+        for (int i = 0; i < issues; i++) {
+            addElement((Issue) input.readObject());
+        }
+    }
+
+    /**
+     * A segment of spilled issues in the temporary file. A segment starts with the string table, followed by the
+     * issues that reference the strings of the table. The segment ends with an index that contains the offsets of the
+     * strings, the offsets of the issues, and the hash codes of the issues (sorted by the hash codes) together with
+     * the positions of the issues. The index is read from the mapped content of the segment, so the heap usage of a
+     * segment does not depend on the number of its issues.
+     */
+    private static class Segment {
+        private final int firstRow;
+        private final int size;
+        private final int strings;
+        private final int recordsOffset;
+        private final int stringOffsetsOffset;
+        private final int recordOffsetsOffset;
+        private final int hashCodesOffset;
+        private final int positionsOffset;
+
+        private long offset;
+        private int length;
+
+        @Nullable
+        private MappedByteBuffer content;
+
+        Segment(final int firstRow, final int size, final int strings, final int recordsOffset,
+                final int indexOffset) {
+            this.firstRow = firstRow;
+            this.size = size;
+            this.strings = strings;
+            this.recordsOffset = recordsOffset;
+
+            stringOffsetsOffset = indexOffset;
+            recordOffsetsOffset = stringOffsetsOffset + strings * Integer.BYTES;
+            hashCodesOffset = recordOffsetsOffset + size * Integer.BYTES;
+            positionsOffset = hashCodesOffset + size * Integer.BYTES;
+        }
+
+        int getRecordOffset(final ByteBuffer content, final int position) {
+            return recordsOffset + content.getInt(recordOffsetsOffset + position * Integer.BYTES);
+        }
+
+        int getHashCode(final ByteBuffer content, final int index) {
+            return content.getInt(hashCodesOffset + index * Integer.BYTES);
+        }
+
+        int getPosition(final ByteBuffer content, final int index) {
+            return content.getInt(positionsOffset + index * Integer.BYTES);
+        }
+
+        /**
+         * Returns the first index of the specified hash code in the sorted index.
+         *
+         * @param content
+         *         the content of the segment
+         * @param hashCode
+         *         the hash code
+         *
+         * @return the first index of the hash code, or an index with a different hash code if the segment does not
+         *         contain an issue with such a hash code
+         */
+        int findFirst(final ByteBuffer content, final int hashCode) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (getHashCode(content, middle) < hashCode) {
+                    low = middle + 1;
+                }
+                else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        String readString(final ByteBuffer content, final int index) {
+            int position = content.getInt(stringOffsetsOffset + index * Integer.BYTES);
+            int length = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte current = content.get(position++);
+                length |= (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    break;
+                }
+            }
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = content.get(position + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads the issues of a segment in the order of the segment. Removed issues are skipped. The strings of the
+     * segment are read only once.
+     */
+    private class SegmentSpliterator extends AbstractSpliterator<Issue> {
+        private final Segment segment;
+        private final ByteBuffer content;
+        private final IssueDecoder decoder;
+        private final String[] strings;
+        private int position = 0;
+
+        SegmentSpliterator(final Segment segment) {
+            super(segment.size, Spliterator.ORDERED | Spliterator.NONNULL);
+
+            this.segment = segment;
+            content = getContent(segment);
+            strings = new String[segment.strings];
+            decoder = new IssueDecoder(new DataInputStream(new ByteBufferInputStream(content)), this::getString);
+        }
+
+        private String getString(final int index) {
+            if (strings[index] == null) {
+                strings[index] = segment.readString(content, index);
+            }
+            return strings[index];
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Issue> action) {
+            while (position < segment.size) {
+                int current = position++;
+                if (!removedRows.get(segment.firstRow + current)) {
+                    content.position(segment.getRecordOffset(content, current));
+                    action.accept(readIssue(decoder));
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The temporary file of a report. The file is deleted when its channel is closed. If a report is garbage collected
+     * without being closed, then the channel is closed when the next temporary file is created.
+     */
+    private static class SpillFile extends PhantomReference<SpillingReport> {
+        private final Path path;
+        private final FileChannel channel;
+
+        static SpillFile create(final SpillingReport report) throws IOException {
+            closeUnreachableFiles();
+
+            Path path = Files.createTempFile("report", ".spill");
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            SpillFile spillFile = new SpillFile(report, path, channel);
+            OPEN_SPILL_FILES.add(spillFile);
+            return spillFile;
+        }
+
+        private static void closeUnreachableFiles() {
+            for (Reference<? extends SpillingReport> reference = UNREACHABLE_REPORTS.poll(); reference != null;
+                    reference = UNREACHABLE_REPORTS.poll()) {
+                try {
+                    ((SpillFile) reference).close();
+                }
+                catch (IOException ignored) {
+                    // the file has been deleted already
+                }
+            }
+        }
+
+        SpillFile(final SpillingReport report, final Path path, final FileChannel channel) {
+            super(report, UNREACHABLE_REPORTS);
+
+            this.path = path;
+            this.channel = channel;
+        }
+
+        void close() throws IOException {
+            OPEN_SPILL_FILES.remove(this);
+            clear();
+
+            try {
+                channel.close();
+            }
+            finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Provides the content of a {@link ByteBuffer} as {@link InputStream}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            super();
+
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            if (buffer.hasRemaining()) {
+                return buffer.get() & 0xFF;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
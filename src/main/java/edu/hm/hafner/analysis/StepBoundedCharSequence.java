@@ -0,0 +1,124 @@
+package edu.hm.hafner.analysis;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Matches lines with a regular expression using a bounded number of steps. The regular expression engine of Java reads
+ * the input using {@link CharSequence#charAt(int)}, so each call of this method is counted as a step. If a match
+ * requires more steps than the budget allows (e.g., due to catastrophic backtracking in a long line), then the matching
+ * is aborted and the line is counted as aborted line.
+ * <p>
+ * Instances of this class are reused for all lines of a report and are not thread-safe.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+final class StepBoundedCharSequence implements CharSequence {
+    /** Default number of steps that a single match of a line might use. */
+    static final long DEFAULT_STEP_BUDGET = 5_000_000;
+
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long budget;
+    private CharSequence line = StringUtils.EMPTY;
+    private long remainingSteps = UNBOUNDED;
+    private int abortedLines = 0;
+
+    /**
+     * Creates a new {@link StepBoundedCharSequence} with the {@link #DEFAULT_STEP_BUDGET default budget}.
+     */
+    StepBoundedCharSequence() {
+        this(DEFAULT_STEP_BUDGET);
+    }
+
+    /**
+     * Creates a new {@link StepBoundedCharSequence} with the specified budget.
+     *
+     * @param budget
+     *         the number of steps that a single match of a line might use
+     */
+    StepBoundedCharSequence(final long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Creates a matcher for the specified line and finds the next match using the step budget. After the search, the
+     * budget is not checked anymore so that the groups of the returned matcher can be evaluated without limits.
+     *
+     * @param pattern
+     *         the pattern to match
+     * @param currentLine
+     *         the line to inspect
+     *
+     * @return the matcher if the pattern has been found in the line, {@code null} if the pattern has not been found or
+     *         if the search has been aborted
+     */
+    @Nullable
+    Matcher find(final Pattern pattern, final CharSequence currentLine) {
+        line = currentLine;
+        remainingSteps = budget;
+        try {
+            Matcher matcher = pattern.matcher(this);
+            if (matcher.find()) {
+                return matcher;
+            }
+            return null;
+        }
+        catch (BudgetExceededException exception) {
+            abortedLines++;
+            return null;
+        }
+        finally {
+            remainingSteps = UNBOUNDED;
+        }
+    }
+
+    /**
+     * Returns the number of lines where the matching has been aborted since the budget has been exceeded.
+     *
+     * @return the number of aborted lines
+     */
+    int getAbortedLines() {
+        return abortedLines;
+    }
+
+    @Override
+    public int length() {
+        return line.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        remainingSteps--;
+        if (remainingSteps < 0) {
+            throw new BudgetExceededException();
+        }
+        return line.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return line.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return line.toString();
+    }
+
+    /**
+     * Thrown if the step budget has been exceeded. This exception does not fill in a stack trace.
+     */
+    private static class BudgetExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BudgetExceededException() {
+            super("Step budget exceeded", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package edu.hm.hafner.analysis;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import edu.hm.hafner.util.Ensure;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A SAX handler that maps the paths of XML elements to callbacks. A path is the slash separated list of element names
+ * starting with the root element, e.g. {@code report/file/item}. For each path callbacks can be registered that will
+ * be invoked when such an element starts (with the attributes of the element), when the text of such an element has
+ * been read, and when such an element ends. So parsers can create issues while the document is still being parsed:
+ * neither the document nor an intermediate object model needs to be kept in memory.
+ *
+ * <p>
+ * Use {@link ReaderFactory#parse(org.xml.sax.helpers.DefaultHandler)} to parse a document with this handler, so that
+ * the document will be parsed with the secure parser of the {@link SecureXmlParserFactory}.
+ * </p>
+ *
+ * <pre>{@code
+ * Report report = new Report();
+ * IssueBuilder builder = new IssueBuilder();
+ * readerFactory.parse(new XmlPathHandler()
+ *         .onStart("report/file", attributes -> builder.setFileName(attributes.getValue("name")))
+ *         .onText("report/file/error", text -> report.add(builder.setMessage(text).build())));
+ * }</pre>
+ *
+ * <p>
+ * The callbacks are invoked by the thread that parses the document. A handler must not be used to parse several
+ * documents at the same time.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class XmlPathHandler extends DefaultHandler {
+    private static final char SEPARATOR = '/';
+
+    private final PathNode root = new PathNode();
+
+    private final Deque<PathNode> parents = new ArrayDeque<>();
+    private PathNode current = root;
+    private int unmatchedDepth;
+    private boolean hasMatchedRoot;
+
+    private final StringBuilder text = new StringBuilder();
+    private int[] textOffsets = new int[8];
+    private int textDepth;
+
+    /**
+     * Registers a callback that will be invoked when an element with the specified path starts. The attributes that
+     * are passed to the callback are valid only during the invocation of the callback.
+     *
+     * @param path
+     *         the path of the element, e.g. {@code report/file}
+     * @param callback
+     *         the callback that receives the attributes of the element
+     *
+     * @return this handler
+     */
+    public XmlPathHandler onStart(final String path, final Consumer<Attributes> callback) {
+        PathNode node = getNode(path);
+        node.start = node.start == null ? callback : node.start.andThen(callback);
+
+        return this;
+    }
+
+    /**
+     * Registers a callback that will be invoked when an element with the specified path ends. The callback receives the
+     * text content of the element, i.e. the text of the element and all its children (like {@link
+     * org.w3c.dom.Node#getTextContent() Node.getTextContent()}). The text is not trimmed.
+     *
+     * @param path
+     *         the path of the element, e.g. {@code report/file/message}
+     * @param callback
+     *         the callback that receives the text content of the element
+     *
+     * @return this handler
+     */
+    public XmlPathHandler onText(final String path, final Consumer<String> callback) {
+        PathNode node = getNode(path);
+        node.text = node.text == null ? callback : node.text.andThen(callback);
+
+        return this;
+    }
+
+    /**
+     * Registers a callback that will be invoked when an element with the specified path ends. Callbacks that have been
+     * registered with {@link #onText(String, Consumer)} for the same path are invoked before this callback.
+     *
+     * @param path
+     *         the path of the element, e.g. {@code report/file}
+     * @param callback
+     *         the callback to invoke
+     *
+     * @return this handler
+     */
+    public XmlPathHandler onEnd(final String path, final Runnable callback) {
+        PathNode node = getNode(path);
+        Runnable previous = node.end;
+        if (previous == null) {
+            node.end = callback;
+        }
+        else {
+            node.end = () -> {
+                previous.run();
+                callback.run();
+            };
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns whether the root element of the parsed document is the first element of one of the registered paths.
+     * This method can be used to detect documents of the wrong type.
+     *
+     * @return {@code true} if the root element has been matched, {@code false} otherwise
+     */
+    public boolean hasMatchedRoot() {
+        return hasMatchedRoot;
+    }
+
+    private PathNode getNode(final String path) {
+        Ensure.that(path).isNotBlank("Element path must not be blank");
+
+        PathNode node = root;
+        for (String name : StringUtils.split(path, SEPARATOR)) {
+            node = node.children.computeIfAbsent(name, key -> new PathNode());
+        }
+        return node;
+    }
+
+    @Override
+    public void startDocument() {
+        parents.clear();
+        current = root;
+        unmatchedDepth = 0;
+        hasMatchedRoot = false;
+        text.setLength(0);
+        textDepth = 0;
+    }
+
+    @Override
+    public void startElement(final String uri, final String localName, final String qName,
+            final Attributes attributes) {
+        if (unmatchedDepth > 0) {
+            unmatchedDepth++;
+            return;
+        }
+
+        PathNode child = current.children.get(qName);
+        if (child == null) {
+            unmatchedDepth = 1;
+            return;
+        }
+
+        if (current == root) {
+            hasMatchedRoot = true;
+        }
+        parents.push(current);
+        current = child;
+
+        if (child.start != null) {
+            child.start.accept(attributes);
+        }
+        if (child.text != null) {
+            if (textDepth == textOffsets.length) {
+                textOffsets = Arrays.copyOf(textOffsets, textDepth * 2);
+            }
+            textOffsets[textDepth++] = text.length();
+        }
+    }
+
+    @Override
+    public void characters(final char[] ch, final int start, final int length) {
+        if (textDepth > 0) {
+            text.append(ch, start, length);
+        }
+    }
+
+    @Override
+    public void endElement(final String uri, final String localName, final String qName) {
+        if (unmatchedDepth > 0) {
+            unmatchedDepth--;
+            return;
+        }
+
+        PathNode node = current;
+        current = parents.pop();
+
+        if (node.text != null) {
+            int offset = textOffsets[--textDepth];
+            node.text.accept(text.substring(offset));
+            if (textDepth == 0) {
+                text.setLength(0);
+            }
+        }
+        if (node.end != null) {
+            node.end.run();
+        }
+    }
+
+    /**
+     * A node in the tree of registered paths.
+     */
+    private static class PathNode {
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        @Nullable
+        private Consumer<Attributes> start;
+        @Nullable
+        private Consumer<String> text;
+        @Nullable
+        private Runnable end;
+    }
+}
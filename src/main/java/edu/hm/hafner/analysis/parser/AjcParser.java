@@ -2,7 +2,6 @@ package edu.hm.hafner.analysis.parser;
 
 import java.io.UncheckedIOException;
 import java.util.Iterator;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import edu.hm.hafner.analysis.Categories;
@@ -11,6 +10,7 @@ import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.AnsiEscapeCodes;
 
 /**
  * A parser for AspectJ (ajc) compiler warnings.
@@ -20,7 +20,6 @@ import edu.hm.hafner.analysis.Report;
 public class AjcParser extends IssueParser {
     private static final long serialVersionUID = -9123765511497052454L;
 
-    private static final Pattern ESCAPE_CHARACTERS = Pattern.compile((char) 27 + "\\[.*" + (char) 27 + "\\[0m");
     private static final String WARNING_TAG = "[WARNING] ";
 
     static final String ADVICE = "Advice";
@@ -40,13 +39,13 @@ public class AjcParser extends IssueParser {
 
         States state = States.START;
 
-        IssueBuilder builder = new IssueBuilder();
+        IssueBuilder builder = createIssueBuilder();
 
         Iterator<String> lineIterator = lines.iterator();
         while (lineIterator.hasNext()) {
             String line = lineIterator.next();
             // clean up any ESC characters (e.g. terminal colors)
-            line = ESCAPE_CHARACTERS.matcher(line).replaceAll("");
+            line = AnsiEscapeCodes.strip(line);
 
             switch (state) {
                 case START:
@@ -1,25 +1,44 @@
 package edu.hm.hafner.analysis.parser;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
+import edu.hm.hafner.analysis.LiteralPrefilter;
 import edu.hm.hafner.analysis.ParsingCanceledException;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.util.CharSequenceLineReader;
 
 /**
  * A parser for {@code rustc} compiler messages in the JSON format emitted by {@code cargo check --message-format
  * json}.
  *
+ * <p>
+ * Lines that do not contain the reason of a compiler message (e.g. the {@code compiler-artifact} or {@code
+ * build-script-executed} events) are skipped without decoding them. Of the remaining lines, only the properties that
+ * are required to create an issue are decoded: large properties like the rendered message, the children of a message,
+ * or the source text of the spans are skipped. The compiler messages are decoded in chunks in parallel, the issues are
+ * reported in the order of the messages.
+ * </p>
+ *
  * @author Gary Tierney
  */
 public class CargoCheckParser extends IssueParser {
@@ -67,30 +86,82 @@ public class CargoCheckParser extends IssueParser {
     /** Key for {@code message.spans.column_end}, the column number where the associated code ends. */
     private static final String MESSAGE_SPAN_COLUMN_END = "column_end";
 
+    /** Number of compiler messages that are decoded together in a parallel task. */
+    private static final int CHUNK_SIZE = 256;
+
+    /** Accepts only lines that might contain a compiler message. */
+    private static final LiteralPrefilter COMPILER_MESSAGES = new LiteralPrefilter('"' + ANALYSIS_MESSAGE_REASON + '"');
+
+    /** The properties of a cargo event that are required to create an issue. */
+    private static final Selection EVENT = new Selection()
+            .with(REASON)
+            .with(MESSAGE, new Selection()
+                    .with(MESSAGE_CODE, new Selection().with(MESSAGE_CODE_CATEGORY))
+                    .with(MESSAGE_RENDERED)
+                    .with(MESSAGE_LEVEL)
+                    .with(MESSAGE_SPANS, new Selection()
+                            .with(MESSAGE_SPAN_IS_PRIMARY)
+                            .with(MESSAGE_SPAN_FILE_NAME)
+                            .with(MESSAGE_SPAN_LINE_START)
+                            .with(MESSAGE_SPAN_LINE_END)
+                            .with(MESSAGE_SPAN_COLUMN_START)
+                            .with(MESSAGE_SPAN_COLUMN_END)));
+
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
         Report report = new Report();
 
-        try (Stream<String> lines = readerFactory.readStream()) {
-            lines.map(line -> (JSONObject) new JSONTokener(line).nextValue())
-                    .map(this::extractIssue)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .forEach(report::add);
+        int maximumPendingChunks = 2 * ForkJoinPool.getCommonPoolParallelism();
+        Deque<ForkJoinTask<List<Issue>>> pendingChunks = new ArrayDeque<>();
+        try (CharSequenceLineReader lines = readerFactory.readCharSequences()) {
+            List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (lines.hasNext()) {
+                CharSequence line = lines.next();
+                if (COMPILER_MESSAGES.accepts(line)) {
+                    chunk.add(line.toString());
+                    if (chunk.size() == CHUNK_SIZE) {
+                        if (pendingChunks.size() >= maximumPendingChunks) {
+                            report.addAll(pendingChunks.removeFirst().join());
+                        }
+                        List<String> messages = chunk;
+                        pendingChunks.add(ForkJoinPool.commonPool().submit(() -> extractIssues(messages)));
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+            }
+            while (!pendingChunks.isEmpty()) {
+                report.addAll(pendingChunks.removeFirst().join());
+            }
+            report.addAll(extractIssues(chunk));
+        }
+        catch (UncheckedIOException exception) {
+            throw new ParsingException(exception);
         }
 
         return report;
     }
 
+    private List<Issue> extractIssues(final List<String> lines) {
+        IssueBuilder builder = createIssueBuilder();
+
+        List<Issue> issues = new ArrayList<>();
+        for (String line : lines) {
+            extractIssue((JSONObject) EVENT.read(line), builder).ifPresent(issues::add);
+        }
+        return issues;
+    }
+
     /**
      * Extract the compiler message from a cargo event if any is present.
      *
      * @param object
      *         A cargo event that may contain a compiler message.
+     * @param builder
+     *         the builder to create the issue
      *
      * @return a built {@link Issue} object if any was present.
      */
-    private Optional<Issue> extractIssue(final JSONObject object) {
+    private Optional<Issue> extractIssue(final JSONObject object, final IssueBuilder builder) {
         String reason = object.getString(REASON);
 
         if (!ANALYSIS_MESSAGE_REASON.equals(reason)) {
@@ -104,7 +175,7 @@ public class CargoCheckParser extends IssueParser {
         Severity severity = Severity.guessFromString(message.getString(MESSAGE_LEVEL));
 
         return parseDetails(message)
-                .map(details -> new IssueBuilder()
+                .map(details -> builder
                         .setFileName(details.fileName)
                         .setLineStart(details.lineStart)
                         .setLineEnd(details.lineEnd)
@@ -155,4 +226,202 @@ public class CargoCheckParser extends IssueParser {
             this.columnEnd = columnEnd;
         }
     }
+
+    /**
+     * The properties of a JSON object that should be decoded. All other properties are skipped without creating JSON
+     * objects or strings for their values. The selection of an array applies to each of its elements.
+     */
+    private static final class Selection {
+        /** Decodes the whole value. */
+        private static final Selection ALL = new Selection();
+
+        private final Map<String, Selection> properties = new HashMap<>();
+
+        Selection with(final String key) {
+            return with(key, ALL);
+        }
+
+        Selection with(final String key, final Selection selection) {
+            properties.put(key, selection);
+
+            return this;
+        }
+
+        /**
+         * Decodes the selected properties of the specified JSON value.
+         *
+         * @param json
+         *         the JSON value
+         *
+         * @return the decoded value, objects contain only the selected properties
+         * @throws JSONException
+         *         if the JSON value is malformed
+         */
+        Object read(final String json) {
+            return new SelectiveReader(json).read(this);
+        }
+    }
+
+    /**
+     * Reads the selected properties of a JSON value. Selected primitive values are decoded with a {@link JSONTokener},
+     * all other values are skipped by scanning the characters of the JSON value.
+     */
+    private static final class SelectiveReader {
+        private final String json;
+        private int position;
+
+        SelectiveReader(final String json) {
+            this.json = json;
+        }
+
+        Object read(final Selection selection) {
+            char next = nextClean();
+            if (selection != Selection.ALL) {
+                if (next == '{') {
+                    return readObject(selection);
+                }
+                if (next == '[') {
+                    return readArray(selection);
+                }
+            }
+            position--;
+            int start = position;
+            skipValue();
+            return new JSONTokener(json.substring(start, position)).nextValue();
+        }
+
+        private JSONObject readObject(final Selection selection) {
+            JSONObject object = new JSONObject();
+            if (nextClean() == '}') {
+                return object;
+            }
+            position--;
+            while (true) {
+                char quote = nextClean();
+                if (quote != '"' && quote != '\'') {
+                    throw syntaxError("A JSONObject key must be a string");
+                }
+                String key = readString(quote);
+                if (nextClean() != ':') {
+                    throw syntaxError("Expected a ':' after a key");
+                }
+                Selection property = selection.properties.get(key);
+                if (property == null) {
+                    skipValue();
+                }
+                else {
+                    object.putOnce(key, read(property));
+                }
+                char separator = nextClean();
+                if (separator == '}') {
+                    return object;
+                }
+                if (separator != ',') {
+                    throw syntaxError("Expected a ',' or '}'");
+                }
+            }
+        }
+
+        private JSONArray readArray(final Selection selection) {
+            JSONArray array = new JSONArray();
+            if (nextClean() == ']') {
+                return array;
+            }
+            position--;
+            while (true) {
+                array.put(read(selection));
+                char separator = nextClean();
+                if (separator == ']') {
+                    return array;
+                }
+                if (separator != ',') {
+                    throw syntaxError("Expected a ',' or ']'");
+                }
+            }
+        }
+
+        private String readString(final char quote) {
+            int start = position;
+            skipString(quote);
+            String value = json.substring(start, position - 1);
+            if (value.indexOf('\\') < 0) {
+                return value;
+            }
+            return new JSONTokener(json.substring(start - 1, position)).nextString(quote);
+        }
+
+        private void skipValue() {
+            char next = nextClean();
+            if (next == '"' || next == '\'') {
+                skipString(next);
+            }
+            else if (next == '{' || next == '[') {
+                skipNested();
+            }
+            else if (next == 0 || ",:]}".indexOf(next) >= 0) {
+                throw syntaxError("Missing value");
+            }
+            else {
+                while (position < json.length() && ",:]}/\\\"[{;=#".indexOf(json.charAt(position)) < 0
+                        && json.charAt(position) > ' ') {
+                    position++;
+                }
+            }
+        }
+
+        private void skipString(final char quote) {
+            while (true) {
+                char next = next();
+                if (next == 0 || next == '\n' || next == '\r') {
+                    throw syntaxError("Unterminated string");
+                }
+                if (next == '\\') {
+                    next();
+                }
+                else if (next == quote) {
+                    return;
+                }
+            }
+        }
+
+        private void skipNested() {
+            int depth = 1;
+            while (depth > 0) {
+                char next = next();
+                if (next == 0) {
+                    throw syntaxError("Unterminated JSON value");
+                }
+                else if (next == '"' || next == '\'') {
+                    skipString(next);
+                }
+                else if (next == '{' || next == '[') {
+                    depth++;
+                }
+                else if (next == '}' || next == ']') {
+                    depth--;
+                }
+            }
+        }
+
+        private char next() {
+            if (position < json.length()) {
+                return json.charAt(position++);
+            }
+            position++;
+            return 0;
+        }
+
+        private char nextClean() {
+            while (true) {
+                char next = next();
+                if (next == 0 || next > ' ') {
+                    return next;
+                }
+            }
+        }
+
+        private JSONException syntaxError(final String message) {
+            return new JSONException(message + " at " + position);
+        }
+    }
 }
@@ -1,27 +1,22 @@
 package edu.hm.hafner.analysis.parser;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.util.XmlElementUtil;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import edu.hm.hafner.analysis.SecureXmlParserFactory;
 
 /**
- * A parser for the clang-analyzer static analysis warnings.
+ * A parser for the clang-analyzer static analysis warnings. The plist file is read in a single pass with a {@link
+ * PlistReader}. The parser has no state, so several files can be parsed in parallel with the same parser instance.
  *
  * @author Andrey Danin
  */
@@ -29,6 +24,11 @@ public class ClangAnalyzerPlistParser extends IssueParser {
     private static final long serialVersionUID = 1L;
     static final String ID = "ClangAnalyzer Plist Parser";
 
+    private static final String DICT = "dict";
+    private static final String ARRAY = "array";
+    private static final String STRING = "string";
+    private static final String INTEGER = "integer";
+
     @Override
     public boolean accepts(final ReaderFactory readerFactory) {
         return isXmlFile(readerFactory);
@@ -36,99 +36,134 @@ public class ClangAnalyzerPlistParser extends IssueParser {
 
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException {
-        try {
-            Document doc = readerFactory.readDocument();
-
-            XPathFactory xPathFactory = XPathFactory.newInstance();
-            XPath xPath = xPathFactory.newXPath();
-
-            XPathExpression filesPath = xPath.compile(
-                    "/plist/dict/key[text()='files']/following-sibling::array/string");
-            XPathExpression diagnosticsPath = xPath.compile(
-                    "/plist/dict/key[text()='diagnostics']/following-sibling::array/dict");
-            XPathExpression diagDescriptionPath = compileDiagStrPath(xPath, "description");
-            XPathExpression diagCategoryPath = compileDiagStrPath(xPath, "category");
-            XPathExpression diagTypePath = compileDiagStrPath(xPath, "type");
-            XPathExpression diagLocationLinePath = compileDiagLocationPath(xPath, "line");
-            XPathExpression diagLocationColPath = compileDiagLocationPath(xPath, "col");
-            XPathExpression diagLocationFilePath = compileDiagLocationPath(xPath, "file");
-
-            IssueBuilder issueBuilder = new IssueBuilder();
-            Report report = new Report();
-
-            List<String> files = getFilesList(doc, filesPath);
-
-            NodeList diagnostics = (NodeList) diagnosticsPath.evaluate(doc, XPathConstants.NODESET);
-            for (Element diag : XmlElementUtil.nodeListToList(diagnostics)) {
-                issueBuilder
-                        .setFileName(getFileName(files, diag, diagLocationFilePath))
-                        .guessSeverity("Warning")
-                        .setMessage(extractField(diag, diagDescriptionPath))
-                        .setLineStart(extractIntField(diag, diagLocationLinePath))
-                        .setColumnStart(extractIntField(diag, diagLocationColPath))
-                        .setCategory(extractField(diag, diagCategoryPath))
-                        .setType(extractField(diag, diagTypePath));
-
-                report.add(issueBuilder.build());
+        List<String> files = new ArrayList<>();
+        List<Diagnostic> diagnostics = new ArrayList<>();
+
+        try (Reader reader = readerFactory.create()) {
+            XMLStreamReader xml = new SecureXmlParserFactory().createXmlStreamReader(reader);
+            try {
+                PlistReader plist = new PlistReader(xml);
+                if (plist.moveTo("plist")) {
+                    plist.readArray(root -> readRoot(root, files, diagnostics));
+                }
+            }
+            finally {
+                xml.close();
             }
-
-            return report;
         }
-        catch (XPathExpressionException e) {
-            throw new ParsingException(e);
+        catch (IOException | XMLStreamException exception) {
+            throw new ParsingException(exception);
         }
-    }
 
-    private static List<String> getFilesList(final Document doc, final XPathExpression filesPath)
-            throws XPathExpressionException {
-        List<String> files = new ArrayList<>();
-
-        NodeList nodes = (NodeList) filesPath.evaluate(doc, XPathConstants.NODESET);
-        for (Element filePathStr : XmlElementUtil.nodeListToList(nodes)) {
-            files.add(filePathStr.getTextContent());
+        IssueBuilder issueBuilder = createIssueBuilder();
+        Report report = new Report();
+        for (Diagnostic diagnostic : diagnostics) {
+            issueBuilder
+                    .setFileName(diagnostic.getFileName(files))
+                    .guessSeverity("Warning")
+                    .setMessage(diagnostic.description)
+                    .setLineStart(diagnostic.line)
+                    .setColumnStart(diagnostic.column)
+                    .setCategory(diagnostic.category)
+                    .setType(diagnostic.type);
+
+            report.add(issueBuilder.build());
         }
-
-        return files;
+        return report;
     }
 
-    private static String getFileName(final List<String> files, final Element diag,
-            final XPathExpression diagLocationFilePath) throws XPathExpressionException {
-        int idx = extractIntField(diag, diagLocationFilePath);
-        if (idx >= files.size()) {
-            return "-";
+    private void readRoot(final PlistReader root, final List<String> files, final List<Diagnostic> diagnostics)
+            throws XMLStreamException {
+        if (!DICT.equals(root.getElementName())) {
+            root.skipElement();
+            return;
         }
 
-        return files.get(idx);
+        root.readDict((key, value) -> {
+            if ("files".equals(key) && ARRAY.equals(value.getElementName())) {
+                value.readArray(file -> {
+                    if (STRING.equals(file.getElementName())) {
+                        files.add(file.readText());
+                    }
+                    else {
+                        file.skipElement();
+                    }
+                });
+            }
+            else if ("diagnostics".equals(key) && ARRAY.equals(value.getElementName())) {
+                value.readArray(diagnostic -> {
+                    if (DICT.equals(diagnostic.getElementName())) {
+                        diagnostics.add(readDiagnostic(diagnostic));
+                    }
+                    else {
+                        diagnostic.skipElement();
+                    }
+                });
+            }
+            else {
+                value.skipElement();
+            }
+        });
     }
 
-    @SuppressFBWarnings(value = "XPATH_INJECTION", justification = "parameter is a constant")
-    private static XPathExpression compileDiagStrPath(final XPath xPath, final String field)
-            throws XPathExpressionException {
-        String search = "./key[text()='" + field + "']/following-sibling::string";
-        return xPath.compile(search);
+    private Diagnostic readDiagnostic(final PlistReader reader) throws XMLStreamException {
+        Diagnostic diagnostic = new Diagnostic();
+        reader.readDict((key, value) -> {
+            String element = value.getElementName();
+            if ("description".equals(key) && STRING.equals(element)) {
+                diagnostic.description = value.readText();
+            }
+            else if ("category".equals(key) && STRING.equals(element)) {
+                diagnostic.category = value.readText();
+            }
+            else if ("type".equals(key) && STRING.equals(element)) {
+                diagnostic.type = value.readText();
+            }
+            else if ("location".equals(key) && DICT.equals(element)) {
+                readLocation(value, diagnostic);
+            }
+            else {
+                value.skipElement();
+            }
+        });
+        return diagnostic;
     }
 
-    @SuppressFBWarnings(value = "XPATH_INJECTION", justification = "parameter is a constant")
-    private static XPathExpression compileDiagLocationPath(final XPath xPath, final String field)
-            throws XPathExpressionException {
-        String search = "./key[text()='location']/following-sibling::dict/key[text()='" + field
-                + "']/following-sibling::integer";
-        return xPath.compile(search);
+    private void readLocation(final PlistReader reader, final Diagnostic diagnostic) throws XMLStreamException {
+        reader.readDict((key, value) -> {
+            boolean isInteger = INTEGER.equals(value.getElementName());
+            if ("line".equals(key) && isInteger) {
+                diagnostic.line = value.readInteger();
+            }
+            else if ("col".equals(key) && isInteger) {
+                diagnostic.column = value.readInteger();
+            }
+            else if ("file".equals(key) && isInteger) {
+                diagnostic.file = value.readInteger();
+            }
+            else {
+                value.skipElement();
+            }
+        });
     }
 
-    private static String extractField(final Element diag, final XPathExpression expr) throws XPathExpressionException {
-        NodeList keys = (NodeList) expr.evaluate(diag, XPathConstants.NODESET);
-
-        List<Element> elements = XmlElementUtil.nodeListToList(keys);
-        if (elements.isEmpty()) {
-            return "";
+    /**
+     * The properties of a diagnostic. The file name is resolved after the whole plist has been read, since the list of
+     * files might follow the diagnostics.
+     */
+    private static class Diagnostic {
+        private String description = "";
+        private String category = "";
+        private String type = "";
+        private int line;
+        private int column;
+        private int file = -1;
+
+        String getFileName(final List<String> files) {
+            if (file < 0 || file >= files.size()) {
+                return "-";
+            }
+            return files.get(file);
         }
-
-        return elements.get(0).getTextContent();
-    }
-
-    private static int extractIntField(final Element diag, final XPathExpression expr) throws XPathExpressionException {
-        String val = extractField(diag, expr);
-        return Integer.parseInt(val);
     }
 }
@@ -0,0 +1,345 @@
+package edu.hm.hafner.analysis.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.ParsingException;
+import edu.hm.hafner.analysis.ReaderFactory;
+import edu.hm.hafner.util.AnsiEscapeCodes;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * The features of the beginning of a report file. The first characters of the file are read only once, afterwards all
+ * features are computed from these characters: the format of the file, the root element of an XML file, the top level
+ * keys of a JSON file, and the complete lines of the prefix.
+ *
+ * @author Ullrich Hafner
+ */
+public final class ContentSniff {
+    /** Default number of characters that are read from the beginning of a file. */
+    public static final int DEFAULT_SIZE = 16 * 1024;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * The format of a report file.
+     */
+    public enum Format {
+        /** An XML document. */
+        XML,
+        /** A JSON object or array. */
+        JSON,
+        /** A sequence of lines, each line is a JSON object. */
+        JSON_LINES,
+        /** Plain text. */
+        TEXT
+    }
+
+    private final String fileName;
+    private final String prefix;
+    private final boolean isComplete;
+    private final List<String> lines;
+    private final Format format;
+    @Nullable
+    private final String xmlRootElement;
+    private final Set<String> jsonKeys;
+
+    /**
+     * Reads the first {@link #DEFAULT_SIZE} characters of the specified file and computes the features.
+     *
+     * @param readerFactory
+     *         the file to read
+     *
+     * @return the features of the file
+     * @throws ParsingException
+     *         if the file could not be read
+     */
+    public static ContentSniff of(final ReaderFactory readerFactory) {
+        return of(readerFactory, DEFAULT_SIZE);
+    }
+
+    /**
+     * Reads the specified number of characters from the beginning of the specified file and computes the features.
+     *
+     * @param readerFactory
+     *         the file to read
+     * @param size
+     *         the number of characters to read
+     *
+     * @return the features of the file
+     * @throws ParsingException
+     *         if the file could not be read
+     */
+    public static ContentSniff of(final ReaderFactory readerFactory, final int size) {
+        try (Reader reader = readerFactory.create()) {
+            char[] buffer = new char[size + 1];
+            int length = IOUtils.read(reader, buffer);
+
+            return new ContentSniff(readerFactory.getFileName(),
+                    new String(buffer, 0, Math.min(length, size)), length <= size);
+        }
+        catch (IOException exception) {
+            throw new ParsingException(exception, "Can't read file '%s'", readerFactory.getFileName());
+        }
+    }
+
+    /**
+     * Computes the features of the specified prefix of a file.
+     *
+     * @param fileName
+     *         the name of the file
+     * @param prefix
+     *         the first characters of the file
+     * @param isComplete
+     *         determines whether the prefix contains the whole file
+     */
+    ContentSniff(final String fileName, final String prefix, final boolean isComplete) {
+        this.fileName = fileName;
+        this.prefix = StringUtils.removeStart(prefix, String.valueOf(BYTE_ORDER_MARK));
+        this.isComplete = isComplete;
+
+        lines = splitLines(this.prefix, isComplete);
+        String content = this.prefix.trim();
+        if (content.startsWith("<")) {
+            format = Format.XML;
+            xmlRootElement = findRootElement(content);
+            jsonKeys = Collections.emptySet();
+        }
+        else if (isJsonLines()) {
+            format = Format.JSON_LINES;
+            xmlRootElement = null;
+            Set<String> keys = new LinkedHashSet<>();
+            for (String line : lines) {
+                keys.addAll(findTopLevelKeys(line.trim()));
+            }
+            jsonKeys = Collections.unmodifiableSet(keys);
+        }
+        else if (content.startsWith("{") || content.startsWith("[")) {
+            format = Format.JSON;
+            xmlRootElement = null;
+            jsonKeys = Collections.unmodifiableSet(findTopLevelKeys(content));
+        }
+        else {
+            format = Format.TEXT;
+            xmlRootElement = null;
+            jsonKeys = Collections.emptySet();
+        }
+    }
+
+    private static List<String> splitLines(final String prefix, final boolean isComplete) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            char current = prefix.charAt(i);
+            if (current == '\n' || current == '\r') {
+                lines.add(AnsiEscapeCodes.strip(prefix.substring(start, i)));
+                if (current == '\r' && i + 1 < prefix.length() && prefix.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        if (isComplete && start < prefix.length()) {
+            lines.add(AnsiEscapeCodes.strip(prefix.substring(start)));
+        }
+        return Collections.unmodifiableList(lines);
+    }
+
+    /**
+     * Returns whether the complete lines of the prefix are JSON objects. At least two objects are required: a single
+     * line that contains a complete object is a (minified) JSON document.
+     *
+     * @return {@code true} if the prefix contains a sequence of JSON objects, {@code false} otherwise
+     */
+    private boolean isJsonLines() {
+        int objects = 0;
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+                    return false;
+                }
+                objects++;
+            }
+        }
+        return objects > 1;
+    }
+
+    @Nullable
+    private static String findRootElement(final String content) {
+        int position = 0;
+        while (position < content.length()) {
+            position = skipWhitespace(content, position);
+            if (content.startsWith("<?", position)) {
+                position = skipAfter(content, position, "?>");
+            }
+            else if (content.startsWith("<!--", position)) {
+                position = skipAfter(content, position, "-->");
+            }
+            else if (content.startsWith("<!", position)) {
+                position = skipAfter(content, position, ">");
+            }
+            else if (content.startsWith("<", position)) {
+                int start = position + 1;
+                int end = start;
+                while (end < content.length() && isNameCharacter(content.charAt(end))) {
+                    end++;
+                }
+                return end > start ? content.substring(start, end) : null;
+            }
+            else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNameCharacter(final char character) {
+        return Character.isLetterOrDigit(character) || character == '-' || character == '_' || character == '.'
+                || character == ':';
+    }
+
+    private static int skipWhitespace(final String content, final int start) {
+        int position = start;
+        while (position < content.length() && Character.isWhitespace(content.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipAfter(final String content, final int start, final String end) {
+        int position = content.indexOf(end, start);
+        if (position < 0) {
+            return content.length();
+        }
+        return position + end.length();
+    }
+
+    /**
+     * Finds the keys of the top level object of the specified JSON content. The content might be truncated.
+     *
+     * @param content
+     *         the JSON content
+     *
+     * @return the keys of the top level object
+     */
+    private static Set<String> findTopLevelKeys(final String content) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (!content.startsWith("{")) {
+            return keys;
+        }
+
+        int depth = 0;
+        int position = 0;
+        while (position < content.length()) {
+            char current = content.charAt(position);
+            if (current == '"') {
+                int end = findEndOfString(content, position + 1);
+                if (end < 0) {
+                    break;
+                }
+                if (depth == 1 && skipWhitespace(content, end + 1) < content.length()
+                        && content.charAt(skipWhitespace(content, end + 1)) == ':') {
+                    keys.add(content.substring(position + 1, end));
+                }
+                position = end + 1;
+            }
+            else {
+                if (current == '{' || current == '[') {
+                    depth++;
+                }
+                else if (current == '}' || current == ']') {
+                    depth--;
+                }
+                position++;
+            }
+        }
+        return keys;
+    }
+
+    private static int findEndOfString(final String content, final int start) {
+        for (int position = start; position < content.length(); position++) {
+            char current = content.charAt(position);
+            if (current == '\\') {
+                position++;
+            }
+            else if (current == '"') {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the name of the file.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Returns the characters that have been read from the beginning of the file.
+     *
+     * @return the prefix of the file
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns whether the prefix contains the whole file.
+     *
+     * @return {@code true} if the whole file has been read, {@code false} otherwise
+     */
+    public boolean isComplete() {
+        return isComplete;
+    }
+
+    /**
+     * Returns the complete lines of the prefix. ANSI color codes have been removed from these lines.
+     *
+     * @return the lines
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the name of the root element, if the file is an XML file.
+     *
+     * @return the name of the root element
+     */
+    public Optional<String> getXmlRootElement() {
+        return Optional.ofNullable(xmlRootElement);
+    }
+
+    /**
+     * Returns the keys of the top level JSON object. For JSON lines, the keys of the objects of all lines are
+     * returned.
+     *
+     * @return the top level keys
+     */
+    public Set<String> getJsonKeys() {
+        return jsonKeys;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s %s %s", fileName, format, getXmlRootElement().orElse("-"), jsonKeys);
+    }
+}
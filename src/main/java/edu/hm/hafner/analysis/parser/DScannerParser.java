@@ -21,7 +21,7 @@ public class DScannerParser extends JsonParser {
 
     @Override
     Optional<Issue> convertToIssue(final JSONObject jsonIssue) {
-        IssueBuilder builder = new IssueBuilder();
+        IssueBuilder builder = createIssueBuilder();
         if (jsonIssue.has(KEY)) {
             String key = jsonIssue.getString(KEY);
             builder.setCategory(key);
@@ -37,12 +37,7 @@ public class EclipseMavenParser extends LookaheadParser {
      * Creates a new instance of {@link EclipseMavenParser}.
      */
     public EclipseMavenParser() {
-        super(ECLIPSE_FIRST_LINE_REGEXP);
-    }
-
-    @Override
-    protected boolean isLineInteresting(final String line) {
-        return line.contains(WARNING) || line.contains(ERROR) || line.contains(INFO);
+        super(ECLIPSE_FIRST_LINE_REGEXP, WARNING, ERROR, INFO);
     }
 
     @Override
@@ -42,12 +42,7 @@ public class EclipseParser extends LookaheadParser {
      * Creates a new instance of {@link EclipseParser}.
      */
     public EclipseParser() {
-        super(ECLIPSE_FIRST_LINE_REGEXP);
-    }
-
-    @Override
-    protected boolean isLineInteresting(final String line) {
-        return line.contains(WARNING) || line.contains(ERROR) || line.contains(INFO);
+        super(ECLIPSE_FIRST_LINE_REGEXP, WARNING, ERROR, INFO);
     }
 
     @Override
@@ -61,7 +61,7 @@ public class EclipseXMLParser extends IssueParser {
             XPathExpression fileNamePath = xPath.compile("./@path");
             XPathExpression problemsPath = xPath.compile("problems/problem");
 
-            IssueBuilder issueBuilder = new IssueBuilder();
+            IssueBuilder issueBuilder = createIssueBuilder();
             Report report = new Report();
 
             NodeList sources = (NodeList)sourcePath.evaluate(doc, XPathConstants.NODESET);
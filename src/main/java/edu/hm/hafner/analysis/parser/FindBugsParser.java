@@ -1,13 +1,23 @@
 package edu.hm.hafner.analysis.parser; // NOPMD
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.commons.digester3.Digester;
 import org.apache.commons.lang3.StringUtils;
@@ -30,7 +40,6 @@ import edu.umd.cs.findbugs.Project;
 import edu.umd.cs.findbugs.SortedBugCollection;
 import edu.umd.cs.findbugs.SourceLineAnnotation;
 import edu.umd.cs.findbugs.annotations.Nullable;
-import edu.umd.cs.findbugs.ba.SourceFile;
 import edu.umd.cs.findbugs.ba.SourceFinder;
 
 import static edu.hm.hafner.analysis.parser.FindBugsParser.PriorityProperty.*;
@@ -66,6 +75,8 @@ public class FindBugsParser extends IssueParser {
 
     /** Determines whether to use the rank when evaluation the priority. */
     private final PriorityProperty priorityProperty;
+    /** Determines whether to index the source folders before resolving the source files. */
+    private final boolean isIndexingSources;
 
     /**
      * Creates a new instance of {@link FindBugsParser}.
@@ -74,9 +85,24 @@ public class FindBugsParser extends IssueParser {
      *         determines whether to use the rank or confidence when evaluation the {@link Severity}
      */
     public FindBugsParser(final PriorityProperty priorityProperty) {
+        this(priorityProperty, false);
+    }
+
+    /**
+     * Creates a new instance of {@link FindBugsParser}.
+     *
+     * @param priorityProperty
+     *         determines whether to use the rank or confidence when evaluation the {@link Severity}
+     * @param isIndexingSources
+     *         determines whether to index the files of the source folders with a single walk of the folders before
+     *         the source files of the bugs are resolved. Otherwise, the source folders are probed for each source file
+     *         of the report. Note that the index is case-sensitive, even if the file system is not.
+     */
+    public FindBugsParser(final PriorityProperty priorityProperty, final boolean isIndexingSources) {
         super();
 
         this.priorityProperty = priorityProperty;
+        this.isIndexingSources = isIndexingSources;
     }
 
     @Override
@@ -86,7 +112,7 @@ public class FindBugsParser extends IssueParser {
         sources.add(moduleRoot + "/src/main/java");
         sources.add(moduleRoot + "/src/test/java");
         sources.add(moduleRoot + "/src");
-        return parse(readerFactory, sources, new IssueBuilder());
+        return parse(readerFactory, sources, createIssueBuilder());
     }
 
     @VisibleForTesting
@@ -146,6 +172,7 @@ public class FindBugsParser extends IssueParser {
         project.addSourceDirs(sources);
 
         try (SourceFinder sourceFinder = new SourceFinder(project)) {
+            SourceFileResolver resolver = new SourceFileResolver(sourceFinder, project, isIndexingSources);
             if (StringUtils.isNotBlank(project.getProjectName())) {
                 builder.setModuleName(project.getProjectName());
             }
@@ -168,7 +195,7 @@ public class FindBugsParser extends IssueParser {
                         .setType(type)
                         .setLineStart(sourceLine.getStartLine())
                         .setLineEnd(sourceLine.getEndLine())
-                        .setFileName(findSourceFile(sourceFinder, sourceLine))
+                        .setFileName(resolver.findSourceFile(sourceLine))
                         .setPackageName(warning.getPrimaryClass().getPackageName())
                         .setFingerprint(warning.getInstanceHash());
                 setAffectedLines(warning, builder,
@@ -257,16 +284,6 @@ public class FindBugsParser extends IssueParser {
         builder.setLineRanges(lineRanges);
     }
 
-    private String findSourceFile(final SourceFinder sourceFinder, final SourceLineAnnotation sourceLine) {
-        try {
-            SourceFile sourceFile = sourceFinder.findSourceFile(sourceLine);
-            return sourceFile.getFullFileName();
-        }
-        catch (IOException ignored) {
-            return sourceLine.getPackageName().replace(DOT, SLASH) + SLASH + sourceLine.getSourceFile();
-        }
-    }
-
     /**
      * Maps the FindBugs library rank to plug-in priority enumeration.
      *
@@ -357,4 +374,101 @@ public class FindBugsParser extends IssueParser {
             this.category = category;
         }
     }
+
+    /**
+     * Resolves the source files of the bugs of a report. Since the bugs of a report typically are concentrated in a
+     * small number of classes, the results of the {@link SourceFinder} are cached for the whole report: this includes
+     * the source files that are not found, each of those misses would probe all source folders again. Optionally, the
+     * files of the source folders are indexed before the first source file is resolved. Then source files are resolved
+     * without accessing the file system.
+     */
+    private static class SourceFileResolver {
+        private final SourceFinder sourceFinder;
+        private final Map<String, Optional<String>> fileNames = new HashMap<>();
+        @Nullable
+        private final Map<String, String> index;
+
+        SourceFileResolver(final SourceFinder sourceFinder, final Project project, final boolean isIndexingSources) {
+            this.sourceFinder = sourceFinder;
+
+            index = isIndexingSources ? createIndex(project.getResolvedSourcePaths()) : null;
+        }
+
+        /**
+         * Creates an index of all files in the specified source folders. Each file is mapped to the same file name
+         * that the {@link SourceFinder} would return. If a file is part of several folders, then the file of the first
+         * folder is used (as in the {@link SourceFinder}).
+         *
+         * @param sourceFolders
+         *         the source folders
+         *
+         * @return the index, or {@code null} if the folders could not be indexed
+         */
+        @Nullable
+        private static Map<String, String> createIndex(final Iterable<String> sourceFolders) {
+            Map<String, String> files = new HashMap<>();
+            for (String sourceFolder : sourceFolders) {
+                if (isArchiveOrUrl(sourceFolder)) {
+                    return null; // only the SourceFinder can resolve files in archives
+                }
+                File folder = new File(sourceFolder);
+                if (folder.canRead() && folder.isDirectory()) {
+                    try {
+                        indexFolder(sourceFolder, files);
+                    }
+                    catch (IOException ignored) {
+                        return null;
+                    }
+                }
+            }
+            return files;
+        }
+
+        private static boolean isArchiveOrUrl(final String sourceFolder) {
+            return sourceFolder.endsWith(".zip") || sourceFolder.endsWith(".jar") || sourceFolder.endsWith(".z0p.gz")
+                    || sourceFolder.startsWith("http:") || sourceFolder.startsWith("https:")
+                    || sourceFolder.startsWith("file:");
+        }
+
+        private static void indexFolder(final String sourceFolder, final Map<String, String> files)
+                throws IOException {
+            Path root = Paths.get(sourceFolder);
+            Files.walkFileTree(root, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attributes) {
+                            String relativePath = root.relativize(file).toString();
+                            files.putIfAbsent(relativePath.replace(File.separatorChar, '/'),
+                                    sourceFolder + File.separator + relativePath);
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(final Path file, final IOException exception) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        }
+
+        String findSourceFile(final SourceLineAnnotation sourceLine) {
+            String packageName = sourceLine.getPackageName();
+            String canonicalName = SourceFinder.getCanonicalName(packageName,
+                    SourceFinder.getOrGuessSourceFile(sourceLine));
+
+            return fileNames.computeIfAbsent(canonicalName, key -> resolve(key, sourceLine))
+                    .orElseGet(() -> packageName.replace(DOT, SLASH) + SLASH + sourceLine.getSourceFile());
+        }
+
+        private Optional<String> resolve(final String canonicalName, final SourceLineAnnotation sourceLine) {
+            if (index != null) {
+                return Optional.ofNullable(index.get(canonicalName));
+            }
+            try {
+                return Optional.of(sourceFinder.findSourceFile(sourceLine).getFullFileName());
+            }
+            catch (IOException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
 }
@@ -27,12 +27,7 @@ public class Gcc4CompilerParser extends LookaheadParser {
      * Creates a new instance of {@link Gcc4CompilerParser}.
      */
     public Gcc4CompilerParser() {
-        super(GCC_WARNING_PATTERN);
-    }
-
-    @Override
-    protected boolean isLineInteresting(final String line) {
-        return line.contains("arning") || line.contains("rror");
+        super(GCC_WARNING_PATTERN, "arning", "rror");
     }
 
     @Override
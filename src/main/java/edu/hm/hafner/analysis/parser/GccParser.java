@@ -29,7 +29,12 @@ public class GccParser extends RegexpLineParser {
      * Creates a new instance of {@link GccParser}.
      */
     public GccParser() {
-        super(GCC_WARNING_PATTERN);
+        super(GCC_WARNING_PATTERN, ":");
+    }
+
+    @Override
+    protected boolean isReadingCharSequences() {
+        return true;
     }
 
     @Override
@@ -33,7 +33,7 @@ public class GhsMultiParser extends LookaheadParser {
      * Creates a new instance of {@link GhsMultiParser}.
      */
     public GhsMultiParser() {
-        super(GHS_MULTI_WARNING_PATTERN);
+        super(GHS_MULTI_WARNING_PATTERN, "warning", "error");
     }
 
     @Override
@@ -71,10 +71,5 @@ public class GhsMultiParser extends LookaheadParser {
 
         return messageBuilder.toString();
     }
-
-    @Override
-    protected boolean isLineInteresting(final String line) {
-        return line.contains("warning") || line.contains("error");
-    }
 }
 
@@ -41,7 +41,7 @@ public class IdeaInspectionParser extends IssueParser {
             Optional<Element> problemClass = XmlElementUtil.getFirstChildElementByName(element, "problem_class");
             if (problemClass.isPresent()) {
                 Element problem = problemClass.get();
-                IssueBuilder builder = new IssueBuilder().setFileName(stripPathPrefix(file))
+                IssueBuilder builder = createIssueBuilder().setFileName(stripPathPrefix(file))
                         .setLineStart(Integer.parseInt(getChildValue(element, "line")))
                         .setCategory(StringEscapeUtils.unescapeXml(getValue(problem)))
                         .setMessage(StringEscapeUtils.unescapeXml(getChildValue(element, "description")))
@@ -15,6 +15,7 @@ public class JSLintXmlSaxParser extends DefaultHandler {
     private static final String ISSUE = "issue";
     private static final String ERROR = "error";
     private final Report report;
+    private final IssueBuilder builder;
     private String fileName = StringUtils.EMPTY;
 
     /** Categories. */
@@ -29,9 +30,22 @@ public class JSLintXmlSaxParser extends DefaultHandler {
      *         the issues
      */
     public JSLintXmlSaxParser(final Report report) {
+        this(report, new IssueBuilder());
+    }
+
+    /**
+     * Creates a new instance of {@link JSLintXmlSaxParser}.
+     *
+     * @param report
+     *         the issues
+     * @param builder
+     *         the builder to create the issues with
+     */
+    public JSLintXmlSaxParser(final Report report, final IssueBuilder builder) {
         super();
 
         this.report = report;
+        this.builder = builder;
     }
 
     @Override
@@ -76,7 +90,7 @@ public class JSLintXmlSaxParser extends DefaultHandler {
             category = CATEGORY_FORMATTING;
         }
 
-        IssueBuilder builder = new IssueBuilder().setFileName(fileName)
+        builder.setFileName(fileName)
                 .setLineStart(attributes.getValue("line"))
                 .setColumnStart(extractFrom(attributes, "column", "char"))
                 .setCategory(category)
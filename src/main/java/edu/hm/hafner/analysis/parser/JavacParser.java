@@ -39,12 +39,7 @@ public class JavacParser extends LookaheadParser {
      * Creates a new instance of {@link JavacParser}.
      */
     public JavacParser() {
-        super(JAVAC_WARNING_PATTERN);
-    }
-
-    @Override
-    protected boolean isLineInteresting(final String line) {
-        return line.contains("[") || line.contains("w:");
+        super(JAVAC_WARNING_PATTERN, "[", "w:");
     }
 
     @Override
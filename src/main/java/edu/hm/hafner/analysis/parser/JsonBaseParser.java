@@ -30,7 +30,7 @@ abstract class JsonBaseParser extends IssuePropertiesParser {
      */
     @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
     Optional<Issue> convertToIssue(final JSONObject jsonIssue) {
-        IssueBuilder builder = new IssueBuilder();
+        IssueBuilder builder = createIssueBuilder();
         if (jsonIssue.has(ADDITIONAL_PROPERTIES)) {
             builder.setAdditionalProperties(jsonIssue.getString(ADDITIONAL_PROPERTIES));
         }
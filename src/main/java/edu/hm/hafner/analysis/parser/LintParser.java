@@ -16,7 +16,7 @@ public class LintParser extends IssueParser {
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException {
         Report report = new Report();
-        readerFactory.parse(new JSLintXmlSaxParser(report));
+        readerFactory.parse(new JSLintXmlSaxParser(report, createIssueBuilder()));
         return report;
     }
 }
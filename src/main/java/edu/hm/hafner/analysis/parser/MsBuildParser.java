@@ -30,7 +30,12 @@ public class MsBuildParser extends RegexpLineParser {
      * Creates a new instance of {@link MsBuildParser}.
      */
     public MsBuildParser() {
-        super(MS_BUILD_WARNING_PATTERN);
+        super(MS_BUILD_WARNING_PATTERN, "arning", "rror", "ote", "nfo");
+    }
+
+    @Override
+    protected boolean isReadingCharSequences() {
+        return true;
     }
 
     @Override
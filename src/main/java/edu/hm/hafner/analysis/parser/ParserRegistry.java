@@ -0,0 +1,385 @@
+package edu.hm.hafner.analysis.parser;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.google.errorprone.annotations.MustBeClosed;
+
+import edu.hm.hafner.analysis.IssueParser;
+import edu.hm.hafner.analysis.LookaheadParser;
+import edu.hm.hafner.analysis.ReaderFactory;
+import edu.hm.hafner.analysis.parser.ContentSniff.Format;
+import edu.hm.hafner.analysis.parser.FindBugsParser.PriorityProperty;
+import edu.hm.hafner.analysis.parser.ccm.CcmParser;
+import edu.hm.hafner.analysis.parser.checkstyle.CheckStyleParser;
+import edu.hm.hafner.analysis.parser.dry.cpd.CpdParser;
+import edu.hm.hafner.analysis.parser.dry.dupfinder.DupFinderParser;
+import edu.hm.hafner.analysis.parser.dry.simian.SimianParser;
+import edu.hm.hafner.analysis.parser.fxcop.FxCopParser;
+import edu.hm.hafner.analysis.parser.gendarme.GendarmeParser;
+import edu.hm.hafner.analysis.parser.jcreport.JcReportParser;
+import edu.hm.hafner.analysis.parser.pmd.PmdParser;
+import edu.hm.hafner.analysis.parser.pvsstudio.PVSStudioParser;
+import edu.hm.hafner.analysis.parser.violations.AndroidLintParserAdapter;
+import edu.hm.hafner.analysis.parser.violations.CodeNarcAdapter;
+import edu.hm.hafner.analysis.parser.violations.CppCheckAdapter;
+import edu.hm.hafner.analysis.parser.violations.DocFxAdapter;
+import edu.hm.hafner.analysis.parser.violations.Flake8Adapter;
+import edu.hm.hafner.analysis.parser.violations.JUnitAdapter;
+import edu.hm.hafner.analysis.parser.violations.JsHintAdapter;
+import edu.hm.hafner.analysis.parser.violations.KlocWorkAdapter;
+import edu.hm.hafner.analysis.parser.violations.MyPyAdapter;
+import edu.hm.hafner.analysis.parser.violations.PitAdapter;
+import edu.hm.hafner.analysis.parser.violations.PyDocStyleAdapter;
+import edu.hm.hafner.analysis.parser.violations.ResharperInspectCodeAdapter;
+import edu.hm.hafner.analysis.parser.violations.XmlLintAdapter;
+import edu.hm.hafner.analysis.parser.violations.YamlLintAdapter;
+import edu.hm.hafner.analysis.parser.violations.ZptLintAdapter;
+
+/**
+ * Detects the parsers that are capable of parsing a report file of an unknown tool. The beginning of the file is read
+ * only once into a {@link ContentSniff}. Then, the registered parsers are ranked using the features of the sniff
+ * without any further I/O:
+ * <ul>
+ *     <li>XML parsers match the name of the root element.</li>
+ *     <li>JSON parsers match the top level keys of the JSON object.</li>
+ *     <li>Line based parsers match the lines of the sniff: a {@link LookaheadParser} counts the lines that match its
+ *     regular expression, all other line based parsers are weak candidates for each text file.</li>
+ * </ul>
+ * Optionally, the ranked candidates can be verified in parallel: each candidate parses the lines of the sniff (or the
+ * whole file if the sniff contains the whole file). Candidates that find no issues are moved to the end.
+ *
+ * @author Ullrich Hafner
+ */
+public class ParserRegistry {
+    private static final int STRUCTURE_SCORE = 100;
+    private static final int WEAK_SCORE = 1;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Creates a new registry that contains all built-in parsers.
+     */
+    @SuppressWarnings({"checkstyle:ExecutableStatementCount", "PMD.ExcessiveMethodLength"})
+    public ParserRegistry() {
+        xml(CheckStyleParser::new, "checkstyle");
+        xml(LintParser::new, "jslint", "csslint", "checkstyle");
+        xml(JsHintAdapter::new, "jslint");
+        xml(PmdParser::new, "pmd");
+        xml(CpdParser::new, "pmd-cpd");
+        xml(() -> new FindBugsParser(PriorityProperty.RANK), "BugCollection");
+        xml(FxCopParser::new, "FxCopReport");
+        xml(GendarmeParser::new, "gendarme-output");
+        xml(StyleCopParser::new, "StyleCopViolations", "SourceAnalysisViolations");
+        xml(PVSStudioParser::new, "NewDataSet");
+        xml(CcmParser::new, "ccm");
+        xml(TaglistParser::new, "report");
+        xml(JcReportParser::new, "report");
+        xml(SimianParser::new, "simian");
+        xml(DupFinderParser::new, "DuplicatesReport");
+        xml(EclipseXMLParser::new, "compiler");
+        xml(IdeaInspectionParser::new, "problems");
+        xml(ClangAnalyzerPlistParser::new, "plist");
+        xml(XmlParser::new, "issue", "issues");
+        entries.add(new Entry(PreFastParser::new, true, rootElement("DEFECTS"))); // each defect is parsed as a line
+        xml(AndroidLintParserAdapter::new, "issues");
+        xml(CodeNarcAdapter::new, "CodeNarc");
+        xml(CppCheckAdapter::new, "results");
+        xml(JUnitAdapter::new, "testsuite", "testsuites");
+        xml(KlocWorkAdapter::new, "errorList");
+        xml(PitAdapter::new, "mutations");
+        xml(ResharperInspectCodeAdapter::new, "Report");
+
+        json(SonarQubeIssuesParser::new, "issues", "total");
+        json(SonarQubeDiffParser::new, "issues", "components");
+        json(JsonParser::new, "issues");
+        json(DScannerParser::new, "issues");
+        entries.add(new Entry(DocFxAdapter::new, false,
+                sniff -> sniff.getFormat() == Format.JSON && sniff.getPrefix().trim().startsWith("[")
+                        ? STRUCTURE_SCORE : 0));
+        entries.add(new Entry(CargoCheckParser::new, true,
+                sniff -> sniff.getFormat() == Format.JSON_LINES && sniff.getJsonKeys().contains("reason")
+                        ? STRUCTURE_SCORE : 0));
+        entries.add(new Entry(JsonLogParser::new, true,
+                sniff -> sniff.getFormat() == Format.JSON_LINES ? STRUCTURE_SCORE : 0));
+
+        lines(AcuCobolParser::new, AnsibleLintParser::new, AntJavacParser::new, Armcc5CompilerParser::new,
+                ArmccCompilerParser::new, BuckminsterParser::new, CadenceIncisiveParser::new, ClangParser::new,
+                ClangTidyParser::new, CodeAnalysisParser::new, CoolfluxChessccParser::new, CppLintParser::new,
+                DiabCParser::new, ErlcParser::new, FlexSdkParser::new, Gcc4LinkerParser::new, GccParser::new,
+                GnatParser::new, GoLintParser::new, GoVetParser::new, IarCstatParser::new, IarParser::new,
+                IntelParser::new, InvalidsParser::new, JavaDocParser::new, MetrowerksCwCompilerParser::new,
+                MetrowerksCwLinkerParser::new, MsBuildParser::new, P4Parser::new, Pep8Parser::new,
+                PerlCriticParser::new, PhpParser::new, ProtoLintParser::new,
+                PuppetLintParser::new, PyLintParser::new, QacSourceCodeAnalyserParser::new, RobocopyParser::new,
+                RuboCopParser::new, SbtScalacParser::new, ScalacParser::new, SphinxBuildParser::new,
+                SunCParser::new, TaskingVxCompilerParser::new, TiCcsParser::new, TnsdlParser::new,
+                XlcCompilerParser::new, XlcLinkerParser::new, CMakeParser::new, DrMemoryParser::new,
+                EclipseMavenParser::new, EclipseParser::new, ErrorProneParser::new, Gcc4CompilerParser::new,
+                GhsMultiParser::new, GnuFortranParser::new, GradleErrorProneParser::new, JavacParser::new,
+                MavenConsoleParser::new, MentorParser::new, NagFortranParser::new, YuiCompressorParser::new);
+        weakLines(AjcParser::new, RfLintParser::new, Flake8Adapter::new, MyPyAdapter::new, PyDocStyleAdapter::new,
+                XmlLintAdapter::new, YamlLintAdapter::new, ZptLintAdapter::new);
+    }
+
+    private void xml(final Supplier<IssueParser> parser, final String... rootElements) {
+        entries.add(new Entry(parser, false, rootElement(rootElements)));
+    }
+
+    private static Signature rootElement(final String... rootElements) {
+        Set<String> names = new HashSet<>(Arrays.asList(rootElements));
+        return sniff -> sniff.getFormat() == Format.XML && sniff.getXmlRootElement().filter(names::contains)
+                .isPresent() ? STRUCTURE_SCORE : 0;
+    }
+
+    private void json(final Supplier<IssueParser> parser, final String... keys) {
+        List<String> required = Arrays.asList(keys);
+        entries.add(new Entry(parser, false,
+                sniff -> sniff.getFormat() == Format.JSON && sniff.getJsonKeys().containsAll(required)
+                        ? STRUCTURE_SCORE + required.size() : 0));
+    }
+
+    @SafeVarargs
+    private final void lines(final Supplier<LookaheadParser>... parsers) {
+        for (Supplier<LookaheadParser> parser : parsers) {
+            LookaheadParser matcher = parser.get(); // matching is stateless, so the pattern is compiled only once
+            entries.add(new Entry(parser::get, true, sniff -> countMatchingLines(matcher, sniff)));
+        }
+    }
+
+    private static int countMatchingLines(final LookaheadParser parser, final ContentSniff sniff) {
+        if (sniff.getFormat() != Format.TEXT) {
+            return 0;
+        }
+        return (int) sniff.getLines().stream().filter(parser::matches).count();
+    }
+
+    @SafeVarargs
+    private final void weakLines(final Supplier<IssueParser>... parsers) {
+        for (Supplier<IssueParser> parser : parsers) {
+            entries.add(new Entry(parser, true,
+                    sniff -> sniff.getFormat() == Format.TEXT && !sniff.getLines().isEmpty() ? WEAK_SCORE : 0));
+        }
+    }
+
+    /**
+     * Returns the IDs of all registered parsers.
+     *
+     * @return the IDs of the parsers
+     */
+    public List<String> getIds() {
+        return entries.stream().map(Entry::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Detects the parsers for the specified file: the beginning of the file is read once, then the parsers are
+     * {@link #rank(ContentSniff) ranked} and {@link #verify(List, ContentSniff) verified}.
+     *
+     * @param readerFactory
+     *         the file to inspect
+     *
+     * @return the candidates, the best candidate comes first
+     */
+    public List<Candidate> detect(final ReaderFactory readerFactory) {
+        ContentSniff sniff = ContentSniff.of(readerFactory);
+
+        return verify(rank(sniff), sniff);
+    }
+
+    /**
+     * Ranks the registered parsers using the features of the specified sniff. This method does not read the file
+     * again.
+     *
+     * @param sniff
+     *         the features of the file
+     *
+     * @return the candidates that match the features, the best candidate comes first
+     */
+    public List<Candidate> rank(final ContentSniff sniff) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (Entry entry : entries) {
+            int score = entry.signature.score(sniff);
+            if (score > 0) {
+                candidates.add(new Candidate(entry, score, Candidate.NOT_VERIFIED));
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::getScore).reversed());
+        return candidates;
+    }
+
+    /**
+     * Verifies the specified candidates in parallel: each candidate parses the lines of the sniff, or the whole
+     * content of the sniff if it contains the whole file. Candidates of parsers that are not line based are verified
+     * only if the sniff contains the whole file. Candidates that found issues come first, then the candidates are
+     * ordered by their score and the number of found issues.
+     *
+     * @param candidates
+     *         the candidates to verify
+     * @param sniff
+     *         the features of the file
+     *
+     * @return the verified candidates, the best candidate comes first
+     */
+    public List<Candidate> verify(final List<Candidate> candidates, final ContentSniff sniff) {
+        String sample = sniff.isComplete() ? sniff.getPrefix() : String.join("\n", sniff.getLines());
+
+        List<Candidate> verified = candidates.parallelStream()
+                .map(candidate -> candidate.entry.isLineBased || sniff.isComplete()
+                        ? candidate.verify(sniff.getFileName(), sample) : candidate)
+                .collect(Collectors.toList());
+        verified.sort(Comparator.comparing((Candidate candidate) -> candidate.getIssues() > 0)
+                .thenComparingInt(Candidate::getScore)
+                .thenComparingInt(Candidate::getIssues)
+                .reversed());
+        return verified;
+    }
+
+    /**
+     * Computes the score of a parser for the features of a file.
+     */
+    @FunctionalInterface
+    private interface Signature {
+        int score(ContentSniff sniff);
+    }
+
+    /**
+     * A registered parser.
+     */
+    private static class Entry {
+        private final Supplier<? extends IssueParser> parser;
+        private final boolean isLineBased;
+        private final Signature signature;
+        private final String id;
+
+        Entry(final Supplier<? extends IssueParser> parser, final boolean isLineBased, final Signature signature) {
+            this.parser = parser;
+            this.isLineBased = isLineBased;
+            this.signature = signature;
+            id = parser.get().getClass().getSimpleName();
+        }
+
+        String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * A parser that is capable of parsing a given file.
+     */
+    public static final class Candidate {
+        private static final int NOT_VERIFIED = -1;
+
+        private final Entry entry;
+        private final int score;
+        private final int issues;
+
+        private Candidate(final Entry entry, final int score, final int issues) {
+            this.entry = entry;
+            this.score = score;
+            this.issues = issues;
+        }
+
+        /**
+         * Returns the ID of the parser, i.e. the simple name of the parser class.
+         *
+         * @return the ID of the parser
+         */
+        public String getId() {
+            return entry.getId();
+        }
+
+        /**
+         * Creates a new instance of the parser.
+         *
+         * @return the parser
+         */
+        public IssueParser createParser() {
+            return entry.parser.get();
+        }
+
+        /**
+         * Returns the score of the features of the file.
+         *
+         * @return the score
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Returns whether this candidate has been verified.
+         *
+         * @return {@code true} if this candidate has been verified, {@code false} otherwise
+         */
+        public boolean isVerified() {
+            return issues != NOT_VERIFIED;
+        }
+
+        /**
+         * Returns the number of issues that the parser has found in the sample of the file during verification.
+         *
+         * @return the number of issues, or 0 if this candidate has not been verified
+         */
+        public int getIssues() {
+            return Math.max(issues, 0);
+        }
+
+        private Candidate verify(final String fileName, final String sample) {
+            SampleReaderFactory sampleFactory = new SampleReaderFactory(fileName, sample);
+            int found;
+            try {
+                IssueParser issueParser = createParser();
+                found = issueParser.accepts(sampleFactory) ? issueParser.parse(sampleFactory).size() : 0;
+            }
+            catch (RuntimeException exception) {
+                found = 0; // the sample cannot be parsed
+            }
+            return new Candidate(entry, score, found);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (score: %d, issues: %s)", getId(), score,
+                    isVerified() ? String.valueOf(issues) : "-");
+        }
+    }
+
+    /**
+     * Provides the sample of a file.
+     */
+    private static class SampleReaderFactory extends ReaderFactory {
+        private final String fileName;
+        private final String sample;
+
+        SampleReaderFactory(final String fileName, final String sample) {
+            super(StandardCharsets.UTF_8);
+
+            this.fileName = fileName;
+            this.sample = sample;
+        }
+
+        @Override
+        public String getFileName() {
+            return fileName;
+        }
+
+        @Override @MustBeClosed
+        public Reader create() {
+            return new StringReader(sample);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getIds().toString();
+    }
+}
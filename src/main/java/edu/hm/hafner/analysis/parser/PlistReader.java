@@ -0,0 +1,175 @@
+package edu.hm.hafner.analysis.parser;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import edu.hm.hafner.analysis.ParsingException;
+import edu.hm.hafner.util.XmlStreamUtil;
+
+/**
+ * Reads the elements of an Apple property list (plist) in a single pass using a StAX {@link XMLStreamReader}. The
+ * entries of a {@code dict} element are provided as key/value pairs: the handler of a {@code dict} is invoked for each
+ * value element together with the text of the preceding {@code key} element. Each handler needs to consume the current
+ * value element completely, e.g., by calling one of the {@code read} methods or {@link #skipElement()}.
+ *
+ * @author Ullrich Hafner
+ */
+class PlistReader {
+    private static final String KEY = "key";
+
+    private final XMLStreamReader xml;
+
+    /**
+     * Creates a new {@link PlistReader}.
+     *
+     * @param xml
+     *         the StAX reader to read the elements from
+     */
+    PlistReader(final XMLStreamReader xml) {
+        this.xml = xml;
+    }
+
+    /**
+     * Moves the reader to the next start element with the specified name.
+     *
+     * @param name
+     *         the name of the element
+     *
+     * @return {@code true} if the element has been found, {@code false} if the end of the document has been reached
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    boolean moveTo(final String name) throws XMLStreamException {
+        return XmlStreamUtil.moveTo(xml, name);
+    }
+
+    /**
+     * Returns the name of the current element.
+     *
+     * @return the element name
+     */
+    String getElementName() {
+        return xml.getLocalName();
+    }
+
+    /**
+     * Reads the entries of the current {@code dict} element. The reader must be positioned at the start of the {@code
+     * dict} element. Afterwards, the reader is positioned at the end of the {@code dict} element.
+     *
+     * @param handler
+     *         the handler for each value of the dictionary
+     *
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    void readDict(final EntryHandler handler) throws XMLStreamException {
+        String key = null;
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (KEY.equals(xml.getLocalName())) {
+                key = readText();
+            }
+            else if (key == null) {
+                skipElement();
+            }
+            else {
+                handler.handle(key, this);
+            }
+        }
+    }
+
+    /**
+     * Reads the elements of the current {@code array} element. The reader must be positioned at the start of the
+     * {@code array} element. Afterwards, the reader is positioned at the end of the {@code array} element.
+     *
+     * @param handler
+     *         the handler for each element of the array
+     *
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    void readArray(final ElementHandler handler) throws XMLStreamException {
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            handler.handle(this);
+        }
+    }
+
+    /**
+     * Reads the text content of the current element and all its children. Afterwards, the reader is positioned at the
+     * end of the current element.
+     *
+     * @return the text content
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    String readText() throws XMLStreamException {
+        return XmlStreamUtil.readText(xml);
+    }
+
+    /**
+     * Reads the content of the current {@code integer} element.
+     *
+     * @return the integer value
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     * @throws ParsingException
+     *         if the content is not an integer value
+     */
+    int readInteger() throws XMLStreamException {
+        String text = readText();
+        try {
+            return Integer.parseInt(text);
+        }
+        catch (NumberFormatException exception) {
+            throw new ParsingException(exception, "Invalid integer value '%s' at line %d", text,
+                    xml.getLocation().getLineNumber());
+        }
+    }
+
+    /**
+     * Skips the current element and all its children. Afterwards, the reader is positioned at the end of the current
+     * element.
+     *
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    void skipElement() throws XMLStreamException {
+        XmlStreamUtil.skipElement(xml);
+    }
+
+    /**
+     * Handles a value of a {@code dict} element.
+     */
+    @FunctionalInterface
+    interface EntryHandler {
+        /**
+         * Handles the current value element of a {@code dict} element. The handler must consume the value element.
+         *
+         * @param key
+         *         the key of the value
+         * @param reader
+         *         the reader, positioned at the start of the value element
+         *
+         * @throws XMLStreamException
+         *         if the document is not well-formed
+         */
+        void handle(String key, PlistReader reader) throws XMLStreamException;
+    }
+
+    /**
+     * Handles an element of an {@code array} element.
+     */
+    @FunctionalInterface
+    interface ElementHandler {
+        /**
+         * Handles the current element of an {@code array} element. The handler must consume the element.
+         *
+         * @param reader
+         *         the reader, positioned at the start of the element
+         *
+         * @throws XMLStreamException
+         *         if the document is not well-formed
+         */
+        void handle(PlistReader reader) throws XMLStreamException;
+    }
+}
@@ -164,7 +164,7 @@ public class RfLintParser extends IssueParser {
                 }
                 Matcher matcher = WARNING_PATTERN.matcher(line);
                 if (matcher.find()) {
-                    warnings.add(createIssue(matcher, new IssueBuilder()));
+                    warnings.add(createIssue(matcher, createIssueBuilder()));
                 }
                 if (Thread.interrupted()) {
                     throw new ParsingCanceledException();
@@ -2,13 +2,14 @@ package edu.hm.hafner.analysis.parser;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
 import edu.hm.hafner.analysis.Issue;
-import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
@@ -59,9 +60,12 @@ public abstract class SonarQubeParser extends IssueParser {
     /** Fixed category: SonarQube. */
     private static final String CATEGORY_SONAR_QUBE = "SonarQube";
 
-    /** The components array. */
+    /** The components of the report, indexed by their keys. */
+    @Nullable
+    private transient Map<String, JSONObject> componentsByKey = new HashMap<>();
+    /** The paths of the modules (including the trailing slash), indexed by the keys of the modules. */
     @Nullable
-    private transient JSONArray components = new JSONArray();
+    private transient Map<String, String> modulePathsByKey = new HashMap<>();
 
     @Override
     public boolean accepts(final ReaderFactory readerFactory) {
@@ -115,14 +119,23 @@ public abstract class SonarQubeParser extends IssueParser {
 
     /**
      * Get the components part to get the file paths on each issue (the component objects contain the most concise
-     * path).
+     * path). The components are indexed by their keys so that each issue requires a single lookup only.
      *
      * @param jsonReport
      *         the report to get the components from
      */
     private void extractComponents(final JSONObject jsonReport) {
-        if (jsonReport.has(COMPONENTS)) {
-            components = jsonReport.optJSONArray(COMPONENTS);
+        componentsByKey = new HashMap<>();
+        modulePathsByKey = new HashMap<>();
+
+        JSONArray components = jsonReport.optJSONArray(COMPONENTS);
+        if (components != null) {
+            for (Object component : components) {
+                if (component instanceof JSONObject) {
+                    JSONObject jsonComponent = (JSONObject) component;
+                    componentsByKey.putIfAbsent(jsonComponent.optString(COMPONENT_KEY), jsonComponent);
+                }
+            }
         }
     }
 
@@ -139,7 +152,7 @@ public abstract class SonarQubeParser extends IssueParser {
     }
 
     private Issue createIssueFromJsonObject(final JSONObject issue) {
-        return new IssueBuilder()
+        return createIssueBuilder()
                 .setFileName(parseFilename(issue))
                 .setLineStart(parseStart(issue))
                 .setLineEnd(parseEnd(issue))
@@ -259,15 +272,22 @@ public abstract class SonarQubeParser extends IssueParser {
      * @return the module path.
      */
     String parseModulePath(final JSONObject moduleKeyObject, final String componentKey) {
-        String modulePath = "";
         if (moduleKeyObject.has(componentKey)) {
             String moduleKey = moduleKeyObject.getString(componentKey);
-            JSONObject moduleComponent = findComponentByKey(moduleKey);
-            if (moduleComponent != null && moduleComponent.has(COMPONENT_PATH)) {
-                modulePath = moduleComponent.getString(COMPONENT_PATH) + "/";
+            if (modulePathsByKey == null) {
+                return findModulePath(moduleKey);
             }
+            return modulePathsByKey.computeIfAbsent(moduleKey, this::findModulePath);
         }
-        return modulePath;
+        return "";
+    }
+
+    private String findModulePath(final String moduleKey) {
+        JSONObject moduleComponent = findComponentByKey(moduleKey);
+        if (moduleComponent != null && moduleComponent.has(COMPONENT_PATH)) {
+            return moduleComponent.getString(COMPONENT_PATH) + "/";
+        }
+        return "";
     }
 
     /**
@@ -279,16 +299,9 @@ public abstract class SonarQubeParser extends IssueParser {
      * @return the desired JSONObject component, or null if it hasn't been found.
      */
     @Nullable
-    private JSONObject findComponentByKey(final String key) {
-        if (components != null && key != null) {
-            for (Object component : components) {
-                if (component instanceof JSONObject) {
-                    JSONObject jsonComponent = (JSONObject) component;
-                    if (key.equals(jsonComponent.optString(COMPONENT_KEY))) {
-                        return (JSONObject) component;
-                    }
-                }
-            }
+    private JSONObject findComponentByKey(@Nullable final String key) {
+        if (componentsByKey != null && key != null) {
+            return componentsByKey.get(key);
         }
 
         return null;
@@ -1,11 +1,9 @@
 package edu.hm.hafner.analysis.parser;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.StringUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
 
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
@@ -13,61 +11,55 @@ import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
-import edu.hm.hafner.util.XmlElementUtil;
-import static java.lang.Integer.*;
+import edu.hm.hafner.analysis.XmlPathHandler;
 
 /**
- * Parses a StyleCop (http://code.msdn.microsoft.com/sourceanalysis/) xml report file.
+ * Parses a StyleCop (http://code.msdn.microsoft.com/sourceanalysis/) xml report file. The file is parsed with an
+ * {@link XmlPathHandler}, each {@code Violation} element is converted into an issue as soon as it has been read.
  *
  * @author Sebastian Seidl
  */
 public class StyleCopParser extends IssueParser {
     private static final long serialVersionUID = 7846052338159003458L;
 
+    /** Pre v4.3 uses SourceAnalysisViolations as the parent node name. */
+    private static final String LEGACY_VIOLATION = "SourceAnalysisViolations/Violation";
+    /** v4.3 uses StyleCopViolations as the parent node name. */
+    private static final String VIOLATION = "StyleCopViolations/Violation";
+
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException {
-        Document document = readerFactory.readDocument();
+        Report report = new Report();
+        IssueBuilder builder = createIssueBuilder();
 
-        // Pre v4.3 uses SourceAnalysisViolations as the parent node name
-        NodeList mainNode = document.getElementsByTagName("SourceAnalysisViolations");
-        if (mainNode.getLength() == 0) {
-            // v4.3 uses StyleCopViolations as the parent node name
-            mainNode = document.getElementsByTagName("StyleCopViolations");
-        }
+        Consumer<Attributes> start = attributes -> builder.setFileName(getString(attributes, "Source"))
+                .setLineStart(attributes.getValue("LineNumber"))
+                .setCategory(getCategory(attributes))
+                .setType(getString(attributes, "Rule"))
+                .setSeverity(Severity.WARNING_NORMAL);
+        Consumer<String> text = message -> report.add(builder.setMessage(message).build());
 
-        Element rootElement = (Element) mainNode.item(0);
-        return parseViolations(XmlElementUtil.getChildElementsByName(rootElement, "Violation"));
-    }
+        readerFactory.parse(new XmlPathHandler()
+                .onStart(LEGACY_VIOLATION, start).onText(LEGACY_VIOLATION, text)
+                .onStart(VIOLATION, start).onText(VIOLATION, text));
 
-    private Report parseViolations(final List<Element> elements) {
-        Report report = new Report();
-        for (Element element : elements) {
-            IssueBuilder builder = new IssueBuilder().setFileName(getString(element, "Source"))
-                    .setLineStart(getLineNumber(element))
-                    .setCategory(getCategory(element))
-                    .setType(getString(element, "Rule"))
-                    .setMessage(element.getTextContent())
-                    .setSeverity(Severity.WARNING_NORMAL);
-
-            report.add(builder.build());
-        }
         return report;
     }
 
     /**
      * Returns the Category of a StyleCop Violation.
      *
-     * @param element
-     *         The Element which represents the violation
+     * @param attributes
+     *         the attributes of the element which represents the violation
      *
      * @return Category of violation
      */
-    private String getCategory(final Element element) {
-        String ruleNameSpace = getString(element, "RuleNamespace");
+    private String getCategory(final Attributes attributes) {
+        String ruleNameSpace = getString(attributes, "RuleNamespace");
 
         int i = ruleNameSpace.lastIndexOf('.');
         if (i == -1) {
-            return getString(element, "RuleId");
+            return getString(attributes, "RuleId");
         }
         else {
             return ruleNameSpace.substring(i + 1);
@@ -77,35 +69,13 @@ public class StyleCopParser extends IssueParser {
     /***
      * Returns the value for the named attribute if it exists.
      *
-     * @param element
-     *            the element to check for an attribute
+     * @param attributes
+     *            the attributes of the element
      * @param name
      *            the name of the attribute
      * @return the value of the attribute; "" if there is no such attribute.
      */
-    private String getString(final Element element, final String name) {
-        if (element.hasAttribute(name)) {
-            return element.getAttribute(name);
-        }
-        else {
-            return StringUtils.EMPTY;
-        }
-    }
-
-    /***
-     * Returns the LineNumber for the given violation.
-     *
-     * @param violation
-     *            the xml Element "violation" to get the Linenumber from.
-     * @return the lineNumber of the violation. 0 if there is no LineNumber or the LineNumber cant't be parsed into an
-     *         Integer.
-     */
-    private int getLineNumber(final Element violation) {
-        if (violation.hasAttribute("LineNumber")) {
-            return parseInt(violation.getAttribute("LineNumber"));
-        }
-        else {
-            return 0;
-        }
+    private String getString(final Attributes attributes, final String name) {
+        return StringUtils.defaultString(attributes.getValue(name));
     }
 }
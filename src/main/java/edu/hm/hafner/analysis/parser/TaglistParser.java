@@ -1,9 +1,7 @@
 package edu.hm.hafner.analysis.parser;
 
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -14,6 +12,7 @@ import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.XPathCache;
 import edu.hm.hafner.util.XmlElementUtil;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
@@ -30,31 +29,25 @@ public class TaglistParser extends IssueParser {
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException {
         try {
-            XPathFactory xPathFactory = XPathFactory.newInstance();
-            XPath xPath = xPathFactory.newXPath();
-
-            IssueBuilder issueBuilder = new IssueBuilder();
+            IssueBuilder issueBuilder = createIssueBuilder();
             Report report = new Report();
 
             Document document = readerFactory.readDocument();
-            NodeList tags = (NodeList)xPath.evaluate("/report/tags/tag", document, XPathConstants.NODESET);
+            NodeList tags = (NodeList) XPathCache.compile("/report/tags/tag")
+                    .evaluate(document, XPathConstants.NODESET);
             for (Element tag : XmlElementUtil.nodeListToList(tags)) {
-                String category = xPath.evaluate("@name", tag);
+                String category = tag.getAttribute("name");
                 issueBuilder.setCategory(category);
 
-                NodeList files = (NodeList)xPath.evaluate("files/file", tag, XPathConstants.NODESET);
-                for (Element file : XmlElementUtil.nodeListToList(files)) {
-                    String clazz = xPath.evaluate("@name", file);
-                    if (clazz != null) {
-                        issueBuilder.setFileName(class2file(clazz));
-                        issueBuilder.setPackageName(class2package(clazz));
-                        issueBuilder.setAdditionalProperties(clazz);
-                    }
+                for (Element file : XmlElementUtil.getGrandChildElementsByName(tag, "files", "file")) {
+                    String clazz = file.getAttribute("name");
+                    issueBuilder.setFileName(class2file(clazz));
+                    issueBuilder.setPackageName(class2package(clazz));
+                    issueBuilder.setAdditionalProperties(clazz);
 
-                    NodeList comments = (NodeList)xPath.evaluate("comments/comment", file, XPathConstants.NODESET);
-                    for (Element comment : XmlElementUtil.nodeListToList(comments)) {
-                        issueBuilder.setLineStart(xPath.evaluate("lineNumber", comment));
-                        issueBuilder.setMessage(xPath.evaluate("comment", comment));
+                    for (Element comment : XmlElementUtil.getGrandChildElementsByName(file, "comments", "comment")) {
+                        issueBuilder.setLineStart(XmlElementUtil.getFirstChildElementText(comment, "lineNumber"));
+                        issueBuilder.setMessage(XmlElementUtil.getFirstChildElementText(comment, "comment"));
 
                         report.add(issueBuilder.build());
                     }
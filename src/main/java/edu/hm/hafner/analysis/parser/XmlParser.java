@@ -1,10 +1,9 @@
 package edu.hm.hafner.analysis.parser;
 
+import java.util.List;
 import java.util.UUID;
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -17,6 +16,7 @@ import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.util.XPathCache;
 import edu.hm.hafner.util.XmlElementUtil;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -28,7 +28,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 public class XmlParser extends IssuePropertiesParser {
     private static final long serialVersionUID = -8099458358775144575L;
 
-    private static final String LINE_RANGES_PATH = "lineRanges/lineRange";
+    private static final String LINE_RANGE = "lineRange";
 
     /**
      * Path to the issues within the XML-File.
@@ -72,35 +72,33 @@ public class XmlParser extends IssuePropertiesParser {
     public Report parse(final ReaderFactory readerFactory) {
         try {
             Document doc = readerFactory.readDocument();
-            XPathFactory xPathFactory = XPathFactory.newInstance();
-            XPath path = xPathFactory.newXPath();
             @SuppressFBWarnings("XPATH_INJECTION")
-            NodeList issues = (NodeList) path.evaluate(getXmlIssueRoot(), doc, XPathConstants.NODESET);
+            NodeList issues = (NodeList) XPathCache.compile(getXmlIssueRoot()).evaluate(doc, XPathConstants.NODESET);
 
-            IssueBuilder issueBuilder = new IssueBuilder();
+            IssueBuilder issueBuilder = createIssueBuilder();
             Report report = new Report();
 
             for (Element issue : XmlElementUtil.nodeListToList(issues)) {
                 issueBuilder
-                        .setId(uuidTryParse(path.evaluate(ID, issue)))
-                        .setFileName(path.evaluate(FILE_NAME, issue))
-                        .setLineStart(path.evaluate(LINE_START, issue))
-                        .setLineEnd(path.evaluate(LINE_END, issue))
-                        .setColumnStart(path.evaluate(COLUMN_START, issue))
-                        .setColumnEnd(path.evaluate(COLUMN_END, issue))
-                        .setLineRanges(readLineRanges(path,
-                                (NodeList) path.evaluate(LINE_RANGES_PATH, issue, XPathConstants.NODESET)))
-                        .setCategory(path.evaluate(CATEGORY, issue))
-                        .setType(path.evaluate(TYPE, issue))
-                        .setSeverity(Severity.valueOf(path.evaluate(SEVERITY, issue), Severity.WARNING_NORMAL))
-                        .setMessage(path.evaluate(MESSAGE, issue))
-                        .setDescription(path.evaluate(DESCRIPTION, issue))
-                        .setPackageName(path.evaluate(PACKAGE_NAME, issue))
-                        .setModuleName(path.evaluate(MODULE_NAME, issue))
-                        .setOrigin(path.evaluate(ORIGIN, issue))
-                        .setReference(path.evaluate(REFERENCE, issue))
-                        .setFingerprint(path.evaluate(FINGERPRINT, issue))
-                        .setAdditionalProperties(path.evaluate(ADDITIONAL_PROPERTIES, issue));
+                        .setId(uuidTryParse(getValue(issue, ID)))
+                        .setFileName(getValue(issue, FILE_NAME))
+                        .setLineStart(getValue(issue, LINE_START))
+                        .setLineEnd(getValue(issue, LINE_END))
+                        .setColumnStart(getValue(issue, COLUMN_START))
+                        .setColumnEnd(getValue(issue, COLUMN_END))
+                        .setLineRanges(readLineRanges(
+                                XmlElementUtil.getGrandChildElementsByName(issue, LINE_RANGES, LINE_RANGE)))
+                        .setCategory(getValue(issue, CATEGORY))
+                        .setType(getValue(issue, TYPE))
+                        .setSeverity(Severity.valueOf(getValue(issue, SEVERITY), Severity.WARNING_NORMAL))
+                        .setMessage(getValue(issue, MESSAGE))
+                        .setDescription(getValue(issue, DESCRIPTION))
+                        .setPackageName(getValue(issue, PACKAGE_NAME))
+                        .setModuleName(getValue(issue, MODULE_NAME))
+                        .setOrigin(getValue(issue, ORIGIN))
+                        .setReference(getValue(issue, REFERENCE))
+                        .setFingerprint(getValue(issue, FINGERPRINT))
+                        .setAdditionalProperties(getValue(issue, ADDITIONAL_PROPERTIES));
 
                 report.add(issueBuilder.build());
             }
@@ -111,37 +109,34 @@ public class XmlParser extends IssuePropertiesParser {
         }
     }
 
+    private String getValue(final Element issue, final String property) {
+        return XmlElementUtil.getFirstChildElementText(issue, property);
+    }
+
     /**
-     * Reads line ranges from XPath.
+     * Reads line ranges from the specified elements.
      *
-     * @param path
-     *         path of current xml file.
      * @param lineRanges
-     *         list of lineRange nodes.
+     *         list of lineRange elements.
      *
      * @return all valid line ranges from xml file.
-     * @throws XPathExpressionException
-     *         for xml reading errors.
      */
-    private LineRangeList readLineRanges(final XPath path, final NodeList lineRanges) throws XPathExpressionException {
+    private LineRangeList readLineRanges(final List<Element> lineRanges) {
         LineRangeList ranges = new LineRangeList();
-        for (Element lineRangeNode : XmlElementUtil.nodeListToList(lineRanges)) {
-            if (lineRangeNode != null) {
-                Element startNode = (Element) path.evaluate(LINE_RANGE_START, lineRangeNode, XPathConstants.NODE);
-                Element endNode = (Element) path.evaluate(LINE_RANGE_END, lineRangeNode, XPathConstants.NODE);
-                if (startNode != null && startNode.getFirstChild() != null
-                        && endNode != null && endNode.getFirstChild() != null) {
-                    String startValue = startNode.getFirstChild().getNodeValue().trim();
-                    String endValue = endNode.getFirstChild().getNodeValue().trim();
-                    try {
-                        int start = Integer.parseInt(startValue);
-                        int end = Integer.parseInt(endValue);
-                        ranges.add(new LineRange(start, end));
-                    }
-                    catch (NumberFormatException e) {
-                        // Invalid value in xml.
-                    }
-
+        for (Element lineRangeNode : lineRanges) {
+            Element startNode = XmlElementUtil.getFirstChildElementByName(lineRangeNode, LINE_RANGE_START).orElse(null);
+            Element endNode = XmlElementUtil.getFirstChildElementByName(lineRangeNode, LINE_RANGE_END).orElse(null);
+            if (startNode != null && startNode.getFirstChild() != null
+                    && endNode != null && endNode.getFirstChild() != null) {
+                String startValue = startNode.getFirstChild().getNodeValue().trim();
+                String endValue = endNode.getFirstChild().getNodeValue().trim();
+                try {
+                    int start = Integer.parseInt(startValue);
+                    int end = Integer.parseInt(endValue);
+                    ranges.add(new LineRange(start, end));
+                }
+                catch (NumberFormatException e) {
+                    // Invalid value in xml.
                 }
             }
         }
@@ -31,7 +31,9 @@ import java.util.List;
  *
  * @author Bruno P. Kinoshita - http://www.kinoshita.eti.br
  * @since 1.0
+ * @deprecated not used anymore, {@link CcmParser} converts the XML elements directly into issues
  */
+@Deprecated
 @SuppressWarnings("all")
 public class Ccm {
     /**
@@ -23,85 +23,47 @@
  */
 package edu.hm.hafner.analysis.parser.ccm;
 
-import java.io.IOException;
-import java.io.Reader;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.lang3.StringUtils;
-import org.xml.sax.SAXException;
 
+import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.analysis.SecureDigester;
 import edu.hm.hafner.analysis.Severity;
+import edu.hm.hafner.analysis.XmlPathHandler;
+
+import static edu.hm.hafner.util.IntegerParser.*;
 
 /**
- * A parser for CCM XML files.
+ * A parser for CCM XML files. The file is parsed with an {@link XmlPathHandler}, each {@code metric} element is
+ * converted into an issue as soon as it has been read.
  *
  * @author Bruno P. Kinoshita - http://www.kinoshita.eti.br
  */
 public class CcmParser extends IssueParser {
     private static final long serialVersionUID = -5172155190810975806L;
 
+    private static final String METRIC = "ccm/metric";
+
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException {
-        Ccm report = parseCCMXmlFile(readerFactory);
-
-        return convert(report);
+        return new MetricReader(createIssueBuilder()).read(readerFactory);
     }
 
-    private Ccm parseCCMXmlFile(final ReaderFactory ccmXmlFile) {
-        SecureDigester digester = new SecureDigester(CcmParser.class);
-
-        String rootXPath = "ccm";
-        digester.addObjectCreate(rootXPath, Ccm.class);
-        digester.addSetProperties(rootXPath);
-
-        String fileMetric = "ccm/metric";
-        digester.addObjectCreate(fileMetric, Metric.class);
-        digester.addSetProperties(fileMetric);
-        digester.addBeanPropertySetter("ccm/metric/complexity");
-        digester.addBeanPropertySetter("ccm/metric/unit");
-        digester.addBeanPropertySetter("ccm/metric/classification");
-        digester.addBeanPropertySetter("ccm/metric/file");
-        digester.addBeanPropertySetter("ccm/metric/startLineNumber");
-        digester.addBeanPropertySetter("ccm/metric/endLineNumber");
-        digester.addSetNext(fileMetric, "addMetric", Metric.class.getName());
-
-        try (Reader reader = ccmXmlFile.create()) {
-            Ccm report = digester.parse(reader);
-            if (report == null) {
-                throw new ParsingException("Input stream is not a CCM file.");
-            }
+    private Issue createIssue(final Metric metric, final IssueBuilder builder) {
+        String complexity = String.format("%s has a complexity of %d", metric.getUnit(), metric.getComplexity());
 
-            return report;
-        }
-        catch (IOException | SAXException exception) {
-            throw new ParsingException(exception);
-        }
-    }
-
-    private Report convert(final Ccm collection) {
-        Report report = new Report();
-
-        for (Metric metric : collection.getMetrics()) {
-            Severity priority = calculateMetricPriority(metric);
-
-            String complexity = String.format("%s has a complexity of %d", metric.getUnit(), metric.getComplexity());
-
-            IssueBuilder builder = new IssueBuilder();
-            builder.setSeverity(priority)
-                    .setMessage(complexity)
-                    .setCategory(metric.getClassification())
-                    .setLineStart(metric.getStartLineNumber())
-                    .setLineEnd(metric.getEndLineNumber())
-                    .setFileName(metric.getFile());
-            report.add(builder.build());
-        }
-
-        return report;
+        return builder.setSeverity(calculateMetricPriority(metric))
+                .setMessage(complexity)
+                .setCategory(metric.getClassification())
+                .setLineStart(metric.getStartLineNumber())
+                .setLineEnd(metric.getEndLineNumber())
+                .setFileName(metric.getFile())
+                .build();
     }
 
     private Severity calculateMetricPriority(final Metric metric) {
@@ -132,4 +94,41 @@ public class CcmParser extends IssueParser {
         }
         return "B".equals(metricClassification);
     }
+
+    /**
+     * Reads the metrics of a CCM file. The properties of a metric are stored in a {@link Metric} instance that will be
+     * discarded as soon as the issue for the metric has been created.
+     */
+    private class MetricReader {
+        private final IssueBuilder builder;
+        private final Report report = new Report();
+        private Metric metric = new Metric();
+
+        MetricReader(final IssueBuilder builder) {
+            this.builder = builder;
+        }
+
+        Report read(final ReaderFactory readerFactory) {
+            XmlPathHandler handler = new XmlPathHandler()
+                    .onStart(METRIC, attributes -> metric = new Metric())
+                    .onEnd(METRIC, () -> report.add(createIssue(metric, builder)));
+            bind(handler, "complexity", (target, text) -> target.setComplexity(parseInt(text)));
+            bind(handler, "unit", Metric::setUnit);
+            bind(handler, "classification", Metric::setClassification);
+            bind(handler, "file", Metric::setFile);
+            bind(handler, "startLineNumber", (target, text) -> target.setStartLineNumber(parseInt(text)));
+            bind(handler, "endLineNumber", (target, text) -> target.setEndLineNumber(parseInt(text)));
+
+            readerFactory.parse(handler);
+            if (!handler.hasMatchedRoot()) {
+                throw new ParsingException("Input stream is not a CCM file.");
+            }
+            return report;
+        }
+
+        private void bind(final XmlPathHandler handler, final String property,
+                final BiConsumer<Metric, String> setter) {
+            handler.onText(METRIC + "/" + property, text -> setter.accept(metric, text.trim()));
+        }
+    }
 }
@@ -9,7 +9,9 @@ import java.util.List;
  * Java Bean class for a errors collection of the Checkstyle format.
  *
  * @author Ullrich Hafner
+ * @deprecated not used anymore, {@link CheckStyleParser} converts the XML elements directly into issues
  */
+@Deprecated
 public class CheckStyle {
     /** All files of this violations collection. */
     private final List<File> files = new ArrayList<>();
@@ -1,22 +1,22 @@
 package edu.hm.hafner.analysis.parser.checkstyle;
 
-import java.io.IOException;
-import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
 
-import org.apache.commons.digester3.Digester;
 import org.apache.commons.lang3.StringUtils;
-import org.xml.sax.SAXException;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
 
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.analysis.SecureDigester;
 import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
- * A parser for Checkstyle XML files.
+ * A parser for Checkstyle XML files. The file is parsed with a SAX parser, each {@code error} element is converted
+ * into an issue as soon as it has been read.
  *
  * @author Ullrich Hafner
  */
@@ -25,71 +25,20 @@ public class CheckStyleParser extends IssueParser {
 
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException {
-        Digester digester = new SecureDigester(CheckStyleParser.class);
-
-        String rootXPath = "checkstyle";
-        digester.addObjectCreate(rootXPath, CheckStyle.class);
-        digester.addSetProperties(rootXPath);
-
-        String fileXPath = "checkstyle/file";
-        digester.addObjectCreate(fileXPath, File.class);
-        digester.addSetProperties(fileXPath);
-        digester.addSetNext(fileXPath, "addFile", File.class.getName());
-
-        String bugXPath = "checkstyle/file/error";
-        digester.addObjectCreate(bugXPath, Error.class);
-        digester.addSetProperties(bugXPath);
-        digester.addSetNext(bugXPath, "addError", Error.class.getName());
-
-        try (Reader reader = readerFactory.create()) {
-            CheckStyle checkStyle = digester.parse(reader);
-            if (checkStyle == null) {
-                throw new ParsingException("Input stream is not a Checkstyle file.");
-            }
-
-            return convert(checkStyle);
-        }
-        catch (IOException | SAXException exception) {
-            throw new ParsingException(exception);
-        }
-    }
-
-    /**
-     * Converts the internal structure to the annotations API.
-     *
-     * @param collection
-     *         the internal maven module
-     *
-     * @return a maven module of the annotations API
-     */
-    private Report convert(final CheckStyle collection) {
         Report report = new Report();
-
-        for (File file : collection.getFiles()) {
-            if (isValidWarning(file)) {
-                for (Error error : file.getErrors()) {
-                    IssueBuilder builder = new IssueBuilder();
-
-                    builder.guessSeverity(error.getSeverity());
-                    String source = error.getSource();
-                    builder.setType(getType(source));
-                    builder.setCategory(getCategory(source));
-                    builder.setMessage(error.getMessage());
-                    builder.setLineStart(error.getLine());
-                    builder.setFileName(file.getName());
-                    builder.setColumnStart(error.getColumn());
-                    report.add(builder.build());
-                }
-            }
+        CheckStyleHandler handler = new CheckStyleHandler(report);
+        readerFactory.parse(handler);
+        if (!handler.isCheckStyleFile()) {
+            throw new ParsingException("Input stream is not a Checkstyle file.");
         }
         return report;
     }
 
-    private String getCategory(@Nullable final String source) {
+    private static String getCategory(@Nullable final String source) {
         return StringUtils.capitalize(getType(StringUtils.substringBeforeLast(source, ".")));
     }
 
-    private String getType(@Nullable final String source) {
+    private static String getType(@Nullable final String source) {
         return StringUtils.substringAfterLast(source, ".");
     }
 
@@ -97,13 +46,87 @@ public class CheckStyleParser extends IssueParser {
      * Returns {@code true} if this warning is valid or {@code false} if the warning can't be processed by the
      * checkstyle plug-in.
      *
-     * @param file
-     *         the file to check
+     * @param fileName
+     *         the name of the file to check
      *
      * @return {@code true} if this warning is valid
      */
-    private boolean isValidWarning(final File file) {
-        return !StringUtils.endsWith(file.getName(), "package.html");
+    private static boolean isValidWarning(@Nullable final String fileName) {
+        return !StringUtils.endsWith(fileName, "package.html");
     }
-}
 
+    /**
+     * Converts the {@code error} elements of the {@code file} elements into issues. A single {@link IssueBuilder} is
+     * used for all errors of a file so that the file name is set only once per file.
+     */
+    private class CheckStyleHandler extends DefaultHandler {
+        private static final String CHECKSTYLE = "checkstyle";
+        private static final String FILE = "file";
+        private static final String ERROR = "error";
+
+        private final Report report;
+        private final Map<String, Source> sources = new HashMap<>();
+
+        private int depth;
+        private boolean isCheckStyleFile;
+        @Nullable
+        private IssueBuilder builder;
+
+        CheckStyleHandler(final Report report) {
+            super();
+
+            this.report = report;
+        }
+
+        boolean isCheckStyleFile() {
+            return isCheckStyleFile;
+        }
+
+        @Override
+        public void startElement(final String uri, final String localName, final String qName,
+                final Attributes attributes) {
+            depth++;
+            if (depth == 1) {
+                isCheckStyleFile = CHECKSTYLE.equals(qName);
+            }
+            else if (depth == 2 && isCheckStyleFile && FILE.equals(qName)) {
+                String fileName = attributes.getValue("name");
+                if (isValidWarning(fileName)) {
+                    builder = createIssueBuilder().setFileName(fileName);
+                }
+            }
+            else if (depth == 3 && builder != null && ERROR.equals(qName)) {
+                String source = attributes.getValue("source");
+                Source types = sources.computeIfAbsent(source, Source::new);
+                builder.guessSeverity(attributes.getValue("severity"))
+                        .setType(types.type)
+                        .setCategory(types.category)
+                        .setMessage(attributes.getValue("message"))
+                        .setLineStart(attributes.getValue("line"))
+                        .setColumnStart(attributes.getValue("column"));
+                report.add(builder.build());
+            }
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            if (depth == 2) {
+                builder = null;
+            }
+            depth--;
+        }
+    }
+
+    /**
+     * The type and category of a Checkstyle source, i.e., the fully qualified class name of a check.
+     */
+    private static class Source {
+        private final String type;
+        private final String category;
+
+        Source(@Nullable final String source) {
+            type = getType(source);
+            category = getCategory(source);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  * Java Bean class for a violation of the Checkstyle format.
  *
  * @author Ullrich Hafner
+ * @deprecated not used anymore, {@link CheckStyleParser} converts the XML elements directly into issues
  */
+@Deprecated
 @SuppressWarnings({"all", "JavaLangClash"})
 public class Error {
     @Nullable
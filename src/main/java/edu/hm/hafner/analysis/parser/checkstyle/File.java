@@ -11,7 +11,9 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  * Java Bean class for a file of the Checkstyle format.
  *
  * @author Ullrich Hafner
+ * @deprecated not used anymore, {@link CheckStyleParser} converts the XML elements directly into issues
  */
+@Deprecated
 public class File {
     /** Name of the file. */
     @Nullable
@@ -8,6 +8,7 @@ import java.util.List;
 import org.apache.commons.digester3.Digester;
 import org.xml.sax.SAXException;
 
+import edu.hm.hafner.analysis.CodeFragmentPool;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingCanceledException;
@@ -16,6 +17,7 @@ import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.SecureDigester;
 import edu.hm.hafner.analysis.Severity;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * A duplication parser template for Digester based parsers.
@@ -32,6 +34,9 @@ public abstract class AbstractDryParser<T> extends IssueParser {
     /** Minimum number of duplicate lines for normal priority warnings. */
     private final int normalThreshold;
 
+    @Nullable
+    private transient CodeFragmentPool codeFragmentPool;
+
     /**
      * Creates a new instance of {@link AbstractDryParser}.
      *
@@ -47,6 +52,18 @@ public abstract class AbstractDryParser<T> extends IssueParser {
         this.normalThreshold = normalThreshold;
     }
 
+    /**
+     * Sets the {@link CodeFragmentPool} that will be used to store the code fragments of the duplications. Parsers that
+     * share the same pool store equal code fragments only once. If no pool has been set, then each parsing run uses its
+     * own pool.
+     *
+     * @param codeFragmentPool
+     *         the pool to use
+     */
+    public void setCodeFragmentPool(final CodeFragmentPool codeFragmentPool) {
+        this.codeFragmentPool = codeFragmentPool;
+    }
+
     /**
      * Returns the priority of the warning.
      *
@@ -80,7 +97,9 @@ public abstract class AbstractDryParser<T> extends IssueParser {
                 throw new ParsingException("Input stream is not a valid duplications file.");
             }
 
-            return convertDuplicationsToIssues(duplications, new IssueBuilder().setMessage("Found duplicated code."));
+            CodeFragmentPool pool = codeFragmentPool == null ? new CodeFragmentPool() : codeFragmentPool;
+            return convertDuplicationsToIssues(duplications,
+                    createIssueBuilder().setMessage("Found duplicated code."), pool);
         }
         catch (IOException | SAXException exception) {
             throw new ParsingException(exception);
@@ -106,4 +125,23 @@ public abstract class AbstractDryParser<T> extends IssueParser {
      * @return the converted warnings
      */
     protected abstract Report convertDuplicationsToIssues(List<T> duplications, IssueBuilder issueBuilder);
+
+    /**
+     * Converts the parsed duplications from the original format to an {@link Report} instance. The code fragments of
+     * the duplications should be obtained from the specified pool. This default implementation ignores the pool and
+     * delegates to {@link #convertDuplicationsToIssues(List, IssueBuilder)}.
+     *
+     * @param duplications
+     *         the parsed warnings
+     * @param issueBuilder
+     *         the issue builder to use
+     * @param pool
+     *         the pool that stores the code fragments
+     *
+     * @return the converted warnings
+     */
+    protected Report convertDuplicationsToIssues(final List<T> duplications, final IssueBuilder issueBuilder,
+            final CodeFragmentPool pool) {
+        return convertDuplicationsToIssues(duplications, issueBuilder);
+    }
 }
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.apache.commons.digester3.Digester;
 
+import edu.hm.hafner.analysis.CodeFragmentPool;
 import edu.hm.hafner.analysis.DuplicationGroup;
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
@@ -55,10 +56,16 @@ public class CpdParser extends AbstractDryParser<Duplication> {
 
     @Override
     protected Report convertDuplicationsToIssues(final List<Duplication> duplications, final IssueBuilder issueBuilder) {
+        return convertDuplicationsToIssues(duplications, issueBuilder, new CodeFragmentPool());
+    }
+
+    @Override
+    protected Report convertDuplicationsToIssues(final List<Duplication> duplications, final IssueBuilder issueBuilder,
+            final CodeFragmentPool pool) {
         Report report = new Report();
 
         for (Duplication duplication : duplications) {
-            DuplicationGroup group = new DuplicationGroup(duplication.getCodeFragment());
+            DuplicationGroup group = new DuplicationGroup(pool.add(duplication.getCodeFragment()));
             for (SourceFile file : duplication.getFiles()) {
                 IssueBuilder builder = issueBuilder.setSeverity(getPriority(duplication.getLines()))
                         .setLineStart(file.getLine())
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.apache.commons.digester3.Digester;
 
+import edu.hm.hafner.analysis.CodeFragmentPool;
 import edu.hm.hafner.analysis.DuplicationGroup;
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
@@ -67,12 +68,20 @@ public class DupFinderParser extends AbstractDryParser<Duplicate> {
 
     @Override
     protected Report convertDuplicationsToIssues(final List<Duplicate> duplications, final IssueBuilder issueBuilder) {
+        return convertDuplicationsToIssues(duplications, issueBuilder, new CodeFragmentPool());
+    }
+
+    @Override
+    protected Report convertDuplicationsToIssues(final List<Duplicate> duplications, final IssueBuilder issueBuilder,
+            final CodeFragmentPool pool) {
         Report report = new Report();
 
         for (Duplicate duplication : duplications) {
             DuplicationGroup group = new DuplicationGroup();
             for (Fragment fragment : duplication.getFragments()) {
-                group.setCodeFragment(fragment.getText());
+                if (!group.hasCodeFragment()) {
+                    group.setCodeFragment(pool.add(fragment.getText()));
+                }
                 Range lineRange = fragment.getLineRange();
                 int count = lineRange.getEnd() - lineRange.getStart() + 1;
                 IssueBuilder builder = issueBuilder.setSeverity(getPriority(count))
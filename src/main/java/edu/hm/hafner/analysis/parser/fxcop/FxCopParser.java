@@ -1,197 +1,337 @@
 package edu.hm.hafner.analysis.parser.fxcop;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-
+import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingCanceledException;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.util.XmlElementUtil;
+import edu.hm.hafner.analysis.SecureXmlParserFactory;
+import edu.hm.hafner.util.XmlStreamUtil;
 
 /**
  * Parses a fxcop xml report file.
  *
- * <p> Note that instances of this parser are not thread safe. </p>
+ * <p>
+ * The report is read with a StAX parser: the parser keeps a small stack of the currently open elements (target,
+ * module, namespace, type, member, etc.) and creates the issues of a message as soon as the corresponding elements have
+ * been read. Creating an issue requires the rules of the report. So if the rules follow the messages in the report,
+ * then the messages are read in a second pass. Only the rules are kept in memory while reading the messages.
+ * </p>
+ *
+ * <p>
+ * The parser has no state, so several reports can be parsed in parallel with the same parser instance.
+ * </p>
  */
-@SuppressWarnings("unused")
 public class FxCopParser extends IssueParser {
     private static final long serialVersionUID = -7208558002331355408L;
 
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
-        return new XmlParser().parse(readerFactory);
+        return new FxCopReader(readerFactory, createIssueBuilder()).read();
     }
 
     /**
-     * Handles parsing of the XML file.
+     * The elements of a FxCop report that contain messages. Each element defines the child elements that will be
+     * visited. Elements that represent a list visit all matching child elements, all other elements only visit the
+     * first matching child element of each name.
      */
-    private static class XmlParser {
-        private final Report warnings = new Report();
-        private final FxCopRuleSet ruleSet = new FxCopRuleSet();
-
-        public Report parse(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
-            Document doc = readerFactory.readDocument();
+    private enum Node {
+        TARGETS("Targets", true, "Target"),
+        TARGET("Target", false, "Messages", "Modules", "Resources"),
+        MODULES("Modules", true, "Module"),
+        MODULE("Module", false, "Messages", "Namespaces"),
+        RESOURCES("Resources", true, "Resource"),
+        RESOURCE("Resource", false, "Messages"),
+        NAMESPACES("Namespaces", true, "Namespace"),
+        NAMESPACE("Namespace", false, "Messages", "Types"),
+        TYPES("Types", true, "Type"),
+        TYPE("Type", false, "Messages", "Members"),
+        MEMBERS("Members", true, "Member"),
+        MEMBER("Member", false, "Messages", "Accessors"),
+        ACCESSORS("Accessors", true, "Accessor"),
+        ACCESSOR("Accessor", false, "Messages", "Accessors"),
+        MESSAGES("Messages", true, "Message"),
+        MESSAGE("Message", true, "Issue"),
+        ISSUE("Issue", false);
 
-            NodeList mainNode = doc.getElementsByTagName("FxCopReport");
+        private static final Map<String, Node> NODES_BY_NAME = new HashMap<>();
 
-            Element rootElement = (Element) mainNode.item(0);
-            parseRules(rootElement);
-            parseNamespaces(rootElement);
-            parseTargets(rootElement);
+        static {
+            for (Node node : values()) {
+                NODES_BY_NAME.put(node.elementName, node);
+            }
+        }
 
-            return warnings;
+        private final String elementName;
+        private final boolean isList;
+        private final Set<String> children = new HashSet<>();
 
+        Node(final String elementName, final boolean isList, final String... children) {
+            this.elementName = elementName;
+            this.isList = isList;
+            this.children.addAll(Arrays.asList(children));
         }
 
-        private void parseRules(final Element rootElement) {
-            Optional<Element> rulesElement = XmlElementUtil.getFirstChildElementByName(rootElement, "Rules");
-            if (rulesElement.isPresent()) {
-                for (Element rule : XmlElementUtil.getChildElementsByName(rulesElement.get(), "Rule")) {
-                    ruleSet.addRule(rule);
-                }
+        Optional<Node> getChild(final String name) {
+            if (children.contains(name)) {
+                return Optional.of(NODES_BY_NAME.get(name));
             }
+            return Optional.empty();
         }
 
-        private void parseTargets(final Element rootElement) {
-            Optional<Element> targetsElement = XmlElementUtil.getFirstChildElementByName(rootElement, "Targets");
-            if (targetsElement.isPresent()) {
-                for (Element target : XmlElementUtil.getChildElementsByName(targetsElement.get(), "Target")) {
-                    String name = getString(target, "Name");
-                    parseMessages(target, name);
-                    parseModules(target, name);
-                    parseResources(target, name);
-                }
-            }
+        static Optional<Node> fromName(final String name) {
+            return Optional.ofNullable(NODES_BY_NAME.get(name));
         }
+    }
 
-        private void parseResources(final Element target, final String parentName) {
-            Optional<Element> resources = XmlElementUtil.getFirstChildElementByName(target, "Resources");
-            if (resources.isPresent()) {
-                for (Element resource : XmlElementUtil.getChildElementsByName(resources.get(), "Resource")) {
-                    String name = getString(resource, "Name");
-                    parseMessages(resource, name);
-                }
-            }
+    /**
+     * An open element of the report, i.e. an element on the context stack.
+     */
+    private static class Context {
+        private final Node node;
+        private final Set<Node> visitedChildren = EnumSet.noneOf(Node.class);
+
+        Context(final Node node) {
+            this.node = node;
         }
 
-        private void parseModules(final Element target, final String parentName) {
-            Optional<Element> modulesElement = XmlElementUtil.getFirstChildElementByName(target, "Modules");
-            if (modulesElement.isPresent()) {
-                for (Element module : XmlElementUtil.getChildElementsByName(modulesElement.get(), "Module")) {
-                    String name = getString(module, "Name");
-                    parseMessages(module, name);
-                    parseNamespaces(module);
-                }
+        /**
+         * Returns the child node that should be visited for the specified element.
+         *
+         * @param name
+         *         the name of the child element
+         *
+         * @return the child node, or an empty optional if the element should be skipped
+         */
+        Optional<Node> visit(final String name) {
+            Optional<Node> child = node.getChild(name);
+            if (child.isPresent() && !node.isList && !visitedChildren.add(child.get())) {
+                return Optional.empty();
             }
+            return child;
         }
+    }
 
-        private void parseNamespaces(final Element rootElement) {
-            Optional<Element> namespacesElement = XmlElementUtil.getFirstChildElementByName(rootElement, "Namespaces");
-            if (namespacesElement.isPresent()) {
-                for (Element namespace : XmlElementUtil.getChildElementsByName(namespacesElement.get(), "Namespace")) {
-                    String name = getString(namespace, "Name");
+    /**
+     * The properties of a message that are shared by all issues of the message.
+     */
+    private static class Message {
+        private final String category;
+        private final String prefix;
+        private final String description;
 
-                    parseMessages(namespace, name);
-                    parseTypes(namespace, name);
-                }
-            }
+        Message(final String category, final String prefix, final String description) {
+            this.category = category;
+            this.prefix = prefix;
+            this.description = description;
         }
+    }
 
-        private void parseTypes(final Element typesElement, final String parentName) {
-            Optional<Element> types = XmlElementUtil.getFirstChildElementByName(typesElement, "Types");
-            if (types.isPresent()) {
-                for (Element type : XmlElementUtil.getChildElementsByName(types.get(), "Type")) {
-                    String name = parentName + "." + getString(type, "Name");
+    /**
+     * Reads the issues of a report. The issues of the namespaces of the report are reported before the issues of the
+     * targets, independent of the order of these elements in the report.
+     */
+    private static class FxCopReader {
+        private static final String REPORT = "FxCopReport";
+        private static final String RULES = "Rules";
+        private static final String RULE = "Rule";
+
+        private final ReaderFactory readerFactory;
+        private final IssueBuilder issueBuilder;
+        private final FxCopRuleSet ruleSet = new FxCopRuleSet();
+        private final Map<Node, List<Issue>> issuesBySection = new EnumMap<>(Node.class);
+        private boolean hasRules;
+
+        FxCopReader(final ReaderFactory readerFactory, final IssueBuilder issueBuilder) {
+            this.readerFactory = readerFactory;
+            this.issueBuilder = issueBuilder;
+
+            issuesBySection.put(Node.NAMESPACES, new ArrayList<>());
+            issuesBySection.put(Node.TARGETS, new ArrayList<>());
+        }
+
+        Report read() {
+            Set<Node> deferred = readSections(EnumSet.of(Node.NAMESPACES, Node.TARGETS));
+            if (!deferred.isEmpty()) {
+                hasRules = true;
+                readSections(deferred);
+            }
 
-                    parseMessages(type, name);
-                    parseMembers(type, name);
+            Report report = new Report();
+            report.addAll(issuesBySection.get(Node.NAMESPACES));
+            report.addAll(issuesBySection.get(Node.TARGETS));
+            return report;
+        }
+
+        /**
+         * Reads the specified sections of the report.
+         *
+         * @return the sections that have been skipped, since the rules have not been read yet
+         */
+        private Set<Node> readSections(final Set<Node> sections) {
+            try (Reader reader = readerFactory.create()) {
+                XMLStreamReader xml = new SecureXmlParserFactory().createXmlStreamReader(reader);
+                try {
+                    if (XmlStreamUtil.moveTo(xml, REPORT)) {
+                        return readReport(xml, sections);
+                    }
+                    return EnumSet.noneOf(Node.class);
+                }
+                finally {
+                    xml.close();
                 }
             }
+            catch (IOException | XMLStreamException exception) {
+                throw new ParsingException(exception);
+            }
         }
 
-        private void parseMembers(final Element members, final String parentName) {
-            Optional<Element> membersElement = XmlElementUtil.getFirstChildElementByName(members, "Members");
-            if (membersElement.isPresent()) {
-                for (Element member : XmlElementUtil.getChildElementsByName(membersElement.get(), "Member")) {
-                    parseMember(member, parentName);
+        private Set<Node> readReport(final XMLStreamReader xml, final Set<Node> sections) throws XMLStreamException {
+            Set<Node> deferred = EnumSet.noneOf(Node.class);
+            Set<String> visited = new HashSet<>();
+            while (xml.next() != XMLStreamConstants.END_ELEMENT) {
+                if (xml.isStartElement()) {
+                    String name = xml.getLocalName();
+                    Optional<Node> section = Node.fromName(name).filter(sections::contains);
+                    if (!visited.add(name)) {
+                        XmlStreamUtil.skipElement(xml);
+                    }
+                    else if (RULES.equals(name) && !hasRules) {
+                        readRules(xml);
+                        hasRules = true;
+                    }
+                    else if (section.isPresent() && hasRules) {
+                        readSection(xml, section.get(), issuesBySection.get(section.get()));
+                    }
+                    else {
+                        section.ifPresent(deferred::add);
+                        XmlStreamUtil.skipElement(xml);
+                    }
                 }
             }
+            return deferred;
         }
 
-        private void parseAccessors(final Element accessorsElement, final String parentName) {
-            Optional<Element> accessors = XmlElementUtil.getFirstChildElementByName(accessorsElement, "Accessors");
-            if (accessors.isPresent()) {
-                for (Element member : XmlElementUtil.getChildElementsByName(accessors.get(), "Accessor")) {
-                    parseMember(member, parentName);
+        private void readRules(final XMLStreamReader xml) throws XMLStreamException {
+            while (xml.next() != XMLStreamConstants.END_ELEMENT) {
+                if (xml.isStartElement()) {
+                    if (RULE.equals(xml.getLocalName())) {
+                        ruleSet.addRule(readRule(xml));
+                    }
+                    else {
+                        XmlStreamUtil.skipElement(xml);
+                    }
                 }
             }
         }
 
-        private void parseMember(final Element member, final String parentName) {
-            parseMessages(member, parentName);
-            parseAccessors(member, parentName);
+        private FxCopRule readRule(final XMLStreamReader xml) throws XMLStreamException {
+            FxCopRule rule = new FxCopRule(XmlStreamUtil.getAttribute(xml, "TypeName"),
+                    XmlStreamUtil.getAttribute(xml, "Category"), XmlStreamUtil.getAttribute(xml, "CheckId"));
+            rule.setUrl("");
+            rule.setDescription("");
+            rule.setName("");
+
+            Set<String> visited = new HashSet<>();
+            while (xml.next() != XMLStreamConstants.END_ELEMENT) {
+                if (xml.isStartElement()) {
+                    String name = xml.getLocalName();
+                    if (!visited.add(name)) {
+                        XmlStreamUtil.skipElement(xml);
+                    }
+                    else if ("Url".equals(name)) {
+                        rule.setUrl(XmlStreamUtil.readText(xml));
+                    }
+                    else if ("Description".equals(name)) {
+                        rule.setDescription(XmlStreamUtil.readText(xml));
+                    }
+                    else if ("Name".equals(name)) {
+                        rule.setName(XmlStreamUtil.readText(xml));
+                    }
+                    else {
+                        XmlStreamUtil.skipElement(xml);
+                    }
+                }
+            }
+            return rule;
         }
 
-        private void parseMessages(final Element messages, final String parentName) {
-            Optional<Element> messagesElement = XmlElementUtil.getFirstChildElementByName(messages, "Messages");
-            if (messagesElement.isPresent()) {
-                for (Element message : XmlElementUtil.getChildElementsByName(messagesElement.get(), "Message")) {
-                    for (Element issue : XmlElementUtil.getChildElementsByName(message, "Issue")) {
-                        parseIssue(issue, message, parentName);
+        private void readSection(final XMLStreamReader xml, final Node section, final List<Issue> issues)
+                throws XMLStreamException {
+            Deque<Context> stack = new ArrayDeque<>();
+            stack.push(new Context(section));
+
+            Message message = null;
+            while (!stack.isEmpty()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    Optional<Node> child = stack.peek().visit(xml.getLocalName());
+                    if (!child.isPresent()) {
+                        XmlStreamUtil.skipElement(xml);
+                    }
+                    else if (child.get() == Node.ISSUE && message != null) {
+                        issues.add(readIssue(xml, message));
                     }
+                    else {
+                        if (child.get() == Node.MESSAGE) {
+                            message = createMessage(xml);
+                        }
+                        stack.push(new Context(child.get()));
+                    }
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT) {
+                    stack.pop();
                 }
             }
         }
 
-        private void parseIssue(final Element issue, final Element parent, final String parentName) {
-            String typeName = getString(parent, "TypeName");
-            String category = getString(parent, "Category");
-            String checkId = getString(parent, "CheckId");
-            String issueLevel = getString(issue, "Level");
+        private Message createMessage(final XMLStreamReader xml) {
+            String typeName = XmlStreamUtil.getAttribute(xml, "TypeName");
+            String category = XmlStreamUtil.getAttribute(xml, "Category");
+            String checkId = XmlStreamUtil.getAttribute(xml, "CheckId");
 
-            StringBuilder msgBuilder = new StringBuilder();
             FxCopRule rule = ruleSet.getRule(category, checkId);
             if (rule == null) {
-                msgBuilder.append(typeName);
+                return new Message(category, typeName, "");
             }
-            else {
-                msgBuilder.append("<a href=\"");
-                msgBuilder.append(rule.getUrl());
-                msgBuilder.append("\">");
-                msgBuilder.append(typeName);
-                msgBuilder.append("</a>");
-            }
-            msgBuilder.append(" - ");
-            msgBuilder.append(issue.getTextContent());
+            return new Message(category, "<a href=\"" + rule.getUrl() + "\">" + typeName + "</a>",
+                    rule.getDescription());
+        }
 
-            String filePath = getString(issue, "Path");
-            String fileName = getString(issue, "File");
-            String fileLine = getString(issue, "Line");
+        private Issue readIssue(final XMLStreamReader xml, final Message message) throws XMLStreamException {
+            String level = XmlStreamUtil.getAttribute(xml, "Level");
+            String filePath = XmlStreamUtil.getAttribute(xml, "Path");
+            String fileName = XmlStreamUtil.getAttribute(xml, "File");
+            String fileLine = XmlStreamUtil.getAttribute(xml, "Line");
+            String text = XmlStreamUtil.readText(xml);
 
-            IssueBuilder builder = new IssueBuilder().setFileName(filePath + "/" + fileName)
+            return issueBuilder.setFileName(filePath + "/" + fileName)
                     .setLineStart(fileLine)
-                    .setCategory(category)
-                    .setMessage(msgBuilder.toString())
-                    .guessSeverity(issueLevel);
-            if (rule != null) {
-                builder.setDescription(rule.getDescription());
-            }
-            warnings.add(builder.build());
-        }
-
-        private String getString(final Element element, final String name) {
-            if (element.hasAttribute(name)) {
-                return element.getAttribute(name);
-            }
-            else {
-                return "";
-            }
+                    .setCategory(message.category)
+                    .setMessage(message.prefix + " - " + text)
+                    .setDescription(message.description)
+                    .guessSeverity(level)
+                    .build();
         }
     }
 }
@@ -30,9 +30,30 @@ public class FxCopRuleSet {
         rule.setDescription(getNamedTagText(element, "Description"));
         rule.setName(getNamedTagText(element, "Name"));
 
+        addRule(rule);
+    }
+
+    /**
+     * Inserts the specified rule into the rule set. An existing rule with the same category and id will be replaced.
+     * The rule set only stores one rule per category and id, so its size is bounded by the number of distinct rules
+     * of a report - and not by the number of messages that reference these rules.
+     *
+     * @param rule
+     *         the rule to add
+     */
+    public void addRule(final FxCopRule rule) {
         rules.put(getRuleKey(rule.getCategory(), rule.getCheckId()), rule);
     }
 
+    /**
+     * Returns the number of rules in this rule set.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return rules.size();
+    }
+
     /**
      * Returns the text value of the named child element if it exists
      *
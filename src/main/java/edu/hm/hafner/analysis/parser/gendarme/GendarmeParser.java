@@ -1,30 +1,37 @@
 package edu.hm.hafner.analysis.parser.gendarme;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.lang3.StringUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.SecureXmlParserFactory;
 import edu.hm.hafner.analysis.Severity;
-import edu.hm.hafner.util.XmlElementUtil;
+import edu.hm.hafner.util.XmlStreamUtil;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 import static edu.hm.hafner.util.IntegerParser.*;
 
 /**
- * Parses Gendarme violations.
+ * Parses Gendarme violations. The report is read with a StAX parser: the rules are read first, then the issues of
+ * each violated rule are created while reading the results. If the rules follow the results in the report, then the
+ * results are read in a second pass.
  *
  * @author mathias.kluba@gmail.com
  */
@@ -33,51 +40,138 @@ public class GendarmeParser extends IssueParser {
 
     private static final Pattern FILE_PATTERN = Pattern.compile("^(.*)\\(.(\\d+)\\).*$");
 
+    private static final String RULES = "rules";
+    private static final String RESULTS = "results";
+    private static final String RULE = "rule";
+    private static final String PROBLEM = "problem";
+    private static final String TARGET = "target";
+    private static final String DEFECT = "defect";
+
     @Override
     public Report parse(final ReaderFactory factory) throws ParsingException {
-        Document document = factory.readDocument();
+        Map<String, GendarmeRule> rules = new HashMap<>();
+        Report warnings = new Report();
+        IssueBuilder builder = createIssueBuilder();
 
-        NodeList mainNode = document.getElementsByTagName("gendarme-output");
+        boolean isSecondPassRequired = read(factory, xml -> {
+            boolean isResultsSkipped = false;
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT) {
+                    if (RULES.equals(xml.getLocalName())) {
+                        rules.putAll(parseRules(xml));
+                        if (isResultsSkipped) {
+                            return true;
+                        }
+                        if (XmlStreamUtil.moveTo(xml, RESULTS)) {
+                            parseViolations(xml, rules, builder, warnings);
+                        }
+                        return false;
+                    }
+                    if (RESULTS.equals(xml.getLocalName()) && !isResultsSkipped) {
+                        XmlStreamUtil.skipElement(xml);
+                        isResultsSkipped = true;
+                    }
+                }
+            }
+            return false;
+        });
+        if (isSecondPassRequired) {
+            read(factory, xml -> {
+                if (XmlStreamUtil.moveTo(xml, RESULTS)) {
+                    parseViolations(xml, rules, builder, warnings);
+                }
+                return false;
+            });
+        }
+        return warnings;
+    }
 
-        Element rootElement = (Element) mainNode.item(0);
-        Element resultsElement = (Element) rootElement.getElementsByTagName("results").item(0);
-        Element rulesElement = (Element) rootElement.getElementsByTagName("rules").item(0);
+    private boolean read(final ReaderFactory factory, final StreamHandler handler) {
+        try (Reader reader = factory.create()) {
+            XMLStreamReader xml = new SecureXmlParserFactory().createXmlStreamReader(reader);
+            try {
+                return handler.handle(xml);
+            }
+            finally {
+                xml.close();
+            }
+        }
+        catch (IOException | XMLStreamException exception) {
+            throw new ParsingException(exception);
+        }
+    }
 
-        Map<String, GendarmeRule> rules = parseRules(XmlElementUtil.getChildElementsByName(rulesElement, "rule"));
-        return parseViolations(XmlElementUtil.getChildElementsByName(resultsElement, "rule"), rules);
+    private void parseViolations(final XMLStreamReader xml, final Map<String, GendarmeRule> rules,
+            final IssueBuilder builder, final Report warnings) throws XMLStreamException {
+        while (xml.next() != XMLStreamConstants.END_ELEMENT) {
+            if (xml.isStartElement()) {
+                GendarmeRule rule = rules.get(XmlStreamUtil.getAttribute(xml, "Name"));
+                if (RULE.equals(xml.getLocalName()) && rule != null) {
+                    parseViolation(xml, rule, builder, warnings);
+                }
+                else {
+                    XmlStreamUtil.skipElement(xml);
+                }
+            }
+        }
     }
 
-    private Report parseViolations(final List<Element> ruleElements, final Map<String, GendarmeRule> rules) {
-        Report warnings = new Report();
-        for (Element ruleElement : ruleElements) {
-            String ruleName = ruleElement.getAttribute("Name");
-            String problem = ruleElement.getElementsByTagName("problem").item(0).getTextContent();
-            List<Element> targetElements = XmlElementUtil.getChildElementsByName(ruleElement, "target");
-
-            GendarmeRule rule = rules.get(ruleName);
-            if (rule != null) {
-                for (Element targetElement : targetElements) {
-                    Element defectElement = (Element) targetElement.getElementsByTagName("defect").item(0);
-                    String source = defectElement.getAttribute("Source");
-
-                    String fileName = extractFileNameMatch(rule, source, 1);
-                    Severity priority = extractPriority(defectElement);
-                    int line = parseInt(extractFileNameMatch(rule, source, 2));
-
-                    IssueBuilder builder = new IssueBuilder().setFileName(fileName)
-                            .setLineStart(line)
-                            .setCategory(rule.getName())
-                            .setMessage(problem)
-                            .setSeverity(priority);
-                    warnings.add(builder.build());
+    private void parseViolation(final XMLStreamReader xml, final GendarmeRule rule,
+            final IssueBuilder builder, final Report warnings) throws XMLStreamException {
+        Violation violation = new Violation(rule, builder, warnings);
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if (PROBLEM.equals(name)) {
+                    violation.setProblem(XmlStreamUtil.readText(xml));
+                }
+                else if (TARGET.equals(name) && depth == 1) {
+                    parseTarget(xml, violation);
+                }
+                else {
+                    depth++;
                 }
             }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        violation.setProblem(StringUtils.EMPTY);
+    }
+
+    private void parseTarget(final XMLStreamReader xml, final Violation violation) throws XMLStreamException {
+        Defect defect = null;
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if (PROBLEM.equals(name)) {
+                    violation.setProblem(XmlStreamUtil.readText(xml));
+                }
+                else {
+                    if (DEFECT.equals(name) && defect == null) {
+                        defect = new Defect(XmlStreamUtil.getAttribute(xml, "Source"),
+                                XmlStreamUtil.getAttribute(xml, "Severity"));
+                    }
+                    depth++;
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        if (defect != null) {
+            violation.add(defect);
         }
-        return warnings;
     }
 
-    private Severity extractPriority(final Element defectElement) {
-        switch (defectElement.getAttribute("Severity")) {
+    private static Severity extractPriority(final String severity) {
+        switch (severity) {
             case "Low":
                 return Severity.WARNING_LOW;
             case "High":
@@ -87,7 +181,7 @@ public class GendarmeParser extends IssueParser {
         }
     }
 
-    private String extractFileNameMatch(final GendarmeRule rule, final String source, final int group) {
+    private static String extractFileNameMatch(final GendarmeRule rule, final String source, final int group) {
         String fileName = StringUtils.EMPTY;
         if (rule.getType() == GendarmeRuleType.Method) {
             Matcher matcher = FILE_PATTERN.matcher(source);
@@ -98,35 +192,124 @@ public class GendarmeParser extends IssueParser {
         return fileName;
     }
 
-    private Map<String, GendarmeRule> parseRules(final List<Element> ruleElements) {
+    private Map<String, GendarmeRule> parseRules(final XMLStreamReader xml) throws XMLStreamException {
         Map<String, GendarmeRule> rules = new HashMap<>();
 
-        for (Element ruleElement : ruleElements) {
-            GendarmeRule rule = new GendarmeRule();
-            rule.setName(ruleElement.getAttribute("Name"));
-            rule.setTypeName(ruleElement.getTextContent());
-
-            String typeString = ruleElement.getAttribute("Type");
-            if ("Type".equals(typeString)) {
-                rule.setType(GendarmeRuleType.Type);
-            }
-            else if ("Method".equals(typeString)) {
-                rule.setType(GendarmeRuleType.Method);
+        while (xml.next() != XMLStreamConstants.END_ELEMENT) {
+            if (xml.isStartElement()) {
+                if (RULE.equals(xml.getLocalName())) {
+                    GendarmeRule rule = parseRule(xml);
+                    rules.put(rule.getName(), rule);
+                }
+                else {
+                    XmlStreamUtil.skipElement(xml);
+                }
             }
-            else if ("Assembly".equals(typeString)) {
-                rule.setType(GendarmeRuleType.Assembly);
+        }
+
+        return rules;
+    }
+
+    private GendarmeRule parseRule(final XMLStreamReader xml) throws XMLStreamException {
+        GendarmeRule rule = new GendarmeRule();
+        rule.setName(XmlStreamUtil.getAttribute(xml, "Name"));
+
+        String typeString = XmlStreamUtil.getAttribute(xml, "Type");
+        if ("Type".equals(typeString)) {
+            rule.setType(GendarmeRuleType.Type);
+        }
+        else if ("Method".equals(typeString)) {
+            rule.setType(GendarmeRuleType.Method);
+        }
+        else if ("Assembly".equals(typeString)) {
+            rule.setType(GendarmeRuleType.Assembly);
+        }
+        try {
+            rule.setUrl(new URL(XmlStreamUtil.getAttribute(xml, "Uri")));
+        }
+        catch (MalformedURLException ignored) {
+            rule.setUrl(null);
+        }
+        rule.setTypeName(XmlStreamUtil.readText(xml));
+
+        return rule;
+    }
+
+    /**
+     * The properties of the first defect of a target.
+     */
+    private static class Defect {
+        private final String source;
+        private final String severity;
+
+        Defect(final String source, final String severity) {
+            this.source = source;
+            this.severity = severity;
+        }
+    }
+
+    /**
+     * Creates the issues of a violated rule. The message of these issues is the text of the first problem element of
+     * the rule. Since the problem might follow the targets of the rule, the defects of these targets are buffered until
+     * the problem has been read.
+     */
+    private static class Violation {
+        private final GendarmeRule rule;
+        private final IssueBuilder builder;
+        private final Report warnings;
+        private final List<Defect> pending = new ArrayList<>();
+        @Nullable
+        private String problem;
+
+        Violation(final GendarmeRule rule, final IssueBuilder builder, final Report warnings) {
+            this.rule = rule;
+            this.builder = builder;
+            this.warnings = warnings;
+        }
+
+        void setProblem(final String text) {
+            if (problem == null) {
+                problem = text;
+
+                pending.forEach(defect -> report(defect, text));
+                pending.clear();
             }
-            try {
-                rule.setUrl(new URL(ruleElement.getAttribute("Uri")));
+        }
+
+        void add(final Defect defect) {
+            if (problem == null) {
+                pending.add(defect);
             }
-            catch (MalformedURLException ignored) {
-                rule.setUrl(null);
+            else {
+                report(defect, problem);
             }
+        }
 
-            // add the rule to the cache
-            rules.put(rule.getName(), rule);
+        private void report(final Defect defect, final String message) {
+            builder.setFileName(extractFileNameMatch(rule, defect.source, 1))
+                    .setLineStart(parseInt(extractFileNameMatch(rule, defect.source, 2)))
+                    .setCategory(rule.getName())
+                    .setMessage(message)
+                    .setSeverity(extractPriority(defect.severity));
+            warnings.add(builder.build());
         }
+    }
 
-        return rules;
+    /**
+     * Handles the events of a StAX parser.
+     */
+    @FunctionalInterface
+    private interface StreamHandler {
+        /**
+         * Reads the events of the specified StAX parser.
+         *
+         * @param xml
+         *         the StAX parser, positioned at the start of the document
+         *
+         * @return {@code true} if the results need to be read in a second pass, {@code false} otherwise
+         * @throws XMLStreamException
+         *         if the document is not well-formed
+         */
+        boolean handle(XMLStreamReader xml) throws XMLStreamException;
     }
 }
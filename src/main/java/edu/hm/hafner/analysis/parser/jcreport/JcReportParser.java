@@ -1,46 +1,46 @@
 package edu.hm.hafner.analysis.parser.jcreport;
 
-import java.io.IOException;
-import java.io.Reader;
+import java.util.List;
 
-import org.xml.sax.SAXException;
+import org.xml.sax.Attributes;
 
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
-import edu.hm.hafner.analysis.SecureDigester;
+import edu.hm.hafner.analysis.XmlPathHandler;
 
 /**
- * JcReportParser-Class. This class parses from the jcReport.xml and creates warnings from its content.
+ * JcReportParser-Class. This class parses from the jcReport.xml and creates warnings from its content. The file is
+ * parsed with an {@link XmlPathHandler}, each {@code item} element is converted into a warning as soon as it has been
+ * read.
  *
  * @author Johann Vierthaler, johann.vierthaler@web.de
  */
 public class JcReportParser extends IssueParser {
     private static final long serialVersionUID = -1302787609831475403L;
 
+    private static final String FILE = "report/file";
+    private static final String ITEM = "report/file/item";
+
     @Override
     public Report parse(final ReaderFactory reader) {
-        edu.hm.hafner.analysis.parser.jcreport.Report report = createReport(reader);
         Report warnings = new Report();
-        for (int i = 0; i < report.getFiles().size(); i++) {
-            File file = report.getFiles().get(i);
+        IssueBuilder builder = createIssueBuilder();
 
-            for (int j = 0; j < file.getItems().size(); j++) {
-                Item item = file.getItems().get(j);
-                IssueBuilder builder = new IssueBuilder().setFileName(file.getName())
-                        .setLineStart(item.getLine())
-                        .setColumnStart(item.getColumn())
-                        .setColumnEnd(item.getEndcolumn())
-                        .setCategory(item.getFindingtype())
-                        .setPackageName(file.getPackageName())
-                        .setMessage(item.getMessage())
-                        .guessSeverity(item.getSeverity());
+        XmlPathHandler handler = new XmlPathHandler()
+                .onStart(FILE, attributes -> builder.setFileName(attributes.getValue("name"))
+                        .setPackageName(attributes.getValue("package")))
+                .onStart(ITEM, attributes -> warnings.add(builder.setLineStart(attributes.getValue("line"))
+                        .setColumnStart(attributes.getValue("column"))
+                        .setColumnEnd(attributes.getValue("end-column"))
+                        .setCategory(attributes.getValue("finding-type"))
+                        .setMessage(attributes.getValue("message"))
+                        .guessSeverity(attributes.getValue("severity"))
+                        .build()));
+        parse(reader, handler);
 
-                warnings.add(builder.build());
-            }
-        }
         return warnings;
     }
 
@@ -52,36 +52,51 @@ public class JcReportParser extends IssueParser {
      *
      * @return the finished Report-Object that creates the Warnings.
      * @throws ParsingException
-     *         due to digester.parse(new InputSource(source))
+     *         if the file could not be parsed
      */
     public edu.hm.hafner.analysis.parser.jcreport.Report createReport(final ReaderFactory readerFactory)
             throws ParsingException {
-        SecureDigester digester = new SecureDigester(JcReportParser.class);
-
-        String report = "report";
-        digester.addObjectCreate(report, edu.hm.hafner.analysis.parser.jcreport.Report.class);
-        digester.addSetProperties(report);
+        edu.hm.hafner.analysis.parser.jcreport.Report report = new edu.hm.hafner.analysis.parser.jcreport.Report();
 
-        String file = "report/file";
-        digester.addObjectCreate(file, File.class);
-        digester.addSetProperties(file, "package", "packageName");
-        digester.addSetProperties(file, "src-dir", "srcdir");
-        digester.addSetProperties(file);
-        digester.addSetNext(file, "addFile", File.class.getName());
+        XmlPathHandler handler = new XmlPathHandler()
+                .onStart(FILE, attributes -> report.addFile(createFile(attributes)))
+                .onStart(ITEM, attributes -> {
+                    List<File> files = report.getFiles();
+                    files.get(files.size() - 1).addItem(createItem(attributes));
+                });
+        parse(readerFactory, handler);
 
-        String item = "report/file/item";
-        digester.addObjectCreate(item, Item.class);
-        digester.addSetProperties(item);
-        digester.addSetProperties(item, "finding-type", "findingtype");
-        digester.addSetProperties(item, "end-line", "endline");
-        digester.addSetProperties(item, "end-column", "endcolumn");
-        digester.addSetNext(item, "addItem", Item.class.getName());
+        return report;
+    }
 
-        try (Reader reader = readerFactory.create()) {
-            return digester.parse(reader);
-        }
-        catch (IOException | SAXException e) {
-            throw new ParsingException(e);
+    private void parse(final ReaderFactory readerFactory, final XmlPathHandler handler) {
+        readerFactory.parse(handler);
+        if (!handler.hasMatchedRoot()) {
+            throw new ParsingException("Input stream is not a jcReport file.");
         }
     }
+
+    private File createFile(final Attributes attributes) {
+        File file = new File();
+        file.setClassname(attributes.getValue("classname"));
+        file.setLevel(attributes.getValue("level"));
+        file.setLoc(attributes.getValue("loc"));
+        file.setName(attributes.getValue("name"));
+        file.setPackageName(attributes.getValue("package"));
+        file.setSrcdir(attributes.getValue("src-dir"));
+        return file;
+    }
+
+    private Item createItem(final Attributes attributes) {
+        Item item = new Item();
+        item.setColumn(attributes.getValue("column"));
+        item.setEndcolumn(attributes.getValue("end-column"));
+        item.setFindingtype(attributes.getValue("finding-type"));
+        item.setLine(attributes.getValue("line"));
+        item.setEndline(attributes.getValue("end-line"));
+        item.setMessage(attributes.getValue("message"));
+        item.setOrigin(attributes.getValue("origin"));
+        item.setSeverity(attributes.getValue("severity"));
+        return item;
+    }
 }
@@ -95,7 +95,7 @@ public class PmdParser extends IssueParser {
         Report report = new Report();
         for (File file : pmdIssues.getFiles()) {
             for (Violation warning : file.getViolations()) {
-                IssueBuilder builder = new IssueBuilder().setSeverity(mapPriority(warning))
+                IssueBuilder builder = createIssueBuilder().setSeverity(mapPriority(warning))
                         .setMessage(createMessage(warning))
                         .setCategory(warning.getRuleset())
                         .setType(warning.getRule())
@@ -114,7 +114,7 @@ public class PmdParser extends IssueParser {
     private Report convertErrors(final Pmd pmdIssues) {
         Report report = new Report();
         for (PmdError error : pmdIssues.getErrors()) {
-            IssueBuilder builder = new IssueBuilder().setSeverity(Severity.ERROR)
+            IssueBuilder builder = createIssueBuilder().setSeverity(Severity.ERROR)
                     .setMessage(error.getMsg())
                     .setDescription(error.getDescription())
                     .setFileName(error.getFilename());
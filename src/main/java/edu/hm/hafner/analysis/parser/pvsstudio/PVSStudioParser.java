@@ -1,10 +1,10 @@
 package edu.hm.hafner.analysis.parser.pvsstudio;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.IssueParser;
-
 import edu.hm.hafner.analysis.ParsingCanceledException;
 import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
@@ -36,26 +36,30 @@ public class PVSStudioParser extends IssueParser {
 
     @Override
     public Report parse(final ReaderFactory readerFactory) throws ParsingException, ParsingCanceledException {
-        List<PlogMessage> plogMessages = PlogMessage.getMessagesFromReport(readerFactory);
-
         Report report = new Report();
+        IssueBuilder builder = createIssueBuilder();
+        Map<String, String> typesByErrorCode = new HashMap<>();
 
-        for (PlogMessage plogMessage : plogMessages) {
-            IssueBuilder builder = new IssueBuilder();
-            builder.setFileName(plogMessage.getFilePath());
-
-            builder.setSeverity(getSeverity(plogMessage.getLevel()));
-            builder.setMessage(plogMessage.toString());
-            builder.setCategory(plogMessage.getType());
-
-            builder.setType(AnalyzerType.fromErrorCode(plogMessage.getType()).getMessage());
+        PlogReader plogReader = new PlogReader();
+        plogReader.read(readerFactory, plogMessage -> report.add(builder
+                .setFileName(plogMessage.getFilePath())
+                .setSeverity(getSeverity(plogMessage.getLevel()))
+                .setMessage(plogMessage.toString())
+                .setCategory(plogMessage.getType())
+                .setType(typesByErrorCode.computeIfAbsent(plogMessage.getType(),
+                        errorCode -> AnalyzerType.fromErrorCode(errorCode).getMessage()))
+                .setLineStart(plogMessage.getLine())
+                .build()));
 
-            builder.setLineStart(plogMessage.getLine());
-
-            report.add(builder.build());
+        if (plogReader.getFalseAlarmCount() > 0 || plogReader.getFailWarningsCount() > 0) {
+            report.logInfo("Skipped %d false alarms and %d invalid messages",
+                    plogReader.getFalseAlarmCount(), plogReader.getFailWarningsCount());
+        }
+        if (plogReader.getMessagesCount() + plogReader.getFalseAlarmCount() == 0
+                && plogReader.getFailWarningsCount() > 0) {
+            report.logError("No messages were parsed!");
         }
 
         return report;
     }
 }
-
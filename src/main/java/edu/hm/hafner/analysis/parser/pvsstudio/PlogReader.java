@@ -0,0 +1,176 @@
+package edu.hm.hafner.analysis.parser.pvsstudio;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+
+import edu.hm.hafner.analysis.ParsingException;
+import edu.hm.hafner.analysis.ReaderFactory;
+import edu.hm.hafner.analysis.SecureXmlParserFactory;
+import edu.hm.hafner.util.IntegerParser;
+import edu.hm.hafner.util.XmlStreamUtil;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Reads the messages of a PVS-Studio Plog/XML file with a streaming StAX parser. Each message is handed over to the
+ * consumer as soon as it has been read. The counters of skipped messages are part of this reader, so each parsing run
+ * needs to use a new instance.
+ *
+ * @author PVS-Studio Team
+ */
+class PlogReader {
+    private static final String ANALYSIS_LOG = "PVS-Studio_Analysis_Log";
+    private static final String FALSE_ALARM = "FalseAlarm";
+    private static final String FILE = "File";
+    private static final String ERROR_CODE = "ErrorCode";
+    private static final String MESSAGE = "Message";
+    private static final String LEVEL = "Level";
+    private static final String LINE = "Line";
+
+    private final Map<String, String> linksByErrorCode = new HashMap<>();
+
+    private int messagesCount;
+    private int falseAlarmCount;
+    private int failWarningsCount;
+
+    /**
+     * Reads all messages of the specified report.
+     *
+     * @param readerFactory
+     *         factory containing report file reader
+     * @param consumer
+     *         the consumer of the messages
+     *
+     * @throws ParsingException
+     *         if the report could not be read
+     */
+    void read(final ReaderFactory readerFactory, final Consumer<PlogMessage> consumer) {
+        try (Reader reader = readerFactory.create()) {
+            XMLStreamReader xml = new SecureXmlParserFactory().createXmlStreamReader(reader);
+            try {
+                while (XmlStreamUtil.moveTo(xml, ANALYSIS_LOG)) {
+                    readMessage(xml, consumer);
+                }
+            }
+            finally {
+                xml.close();
+            }
+        }
+        catch (IOException | XMLStreamException exception) {
+            throw new ParsingException(exception);
+        }
+    }
+
+    private void readMessage(final XMLStreamReader xml, final Consumer<PlogMessage> consumer)
+            throws XMLStreamException {
+        String falseAlarm = null;
+        String file = null;
+        String errorCode = null;
+        String message = null;
+        String level = null;
+        String line = null;
+
+        while (xml.next() != XMLStreamConstants.END_ELEMENT) {
+            if (xml.isStartElement()) {
+                switch (xml.getLocalName()) {
+                    case FALSE_ALARM:
+                        falseAlarm = first(falseAlarm, xml);
+                        break;
+                    case FILE:
+                        file = first(file, xml);
+                        break;
+                    case ERROR_CODE:
+                        errorCode = first(errorCode, xml);
+                        break;
+                    case MESSAGE:
+                        message = first(message, xml);
+                        break;
+                    case LEVEL:
+                        level = first(level, xml);
+                        break;
+                    case LINE:
+                        line = first(line, xml);
+                        break;
+                    default:
+                        XmlStreamUtil.skipElement(xml);
+                        break;
+                }
+            }
+        }
+
+        if ("true".equalsIgnoreCase(falseAlarm)) {
+            falseAlarmCount++;
+            return;
+        }
+        String filePath = StringUtils.trim(file);
+        String code = StringUtils.trim(errorCode);
+        int lineNumber = IntegerParser.parseInt(line);
+        if (StringUtils.isEmpty(filePath) || !isValid(code) || lineNumber <= 0) {
+            failWarningsCount++;
+            return;
+        }
+
+        messagesCount++;
+        consumer.accept(new PlogMessage(filePath, lineNumber, code,
+                getLink(code) + StringUtils.defaultString(message), StringUtils.defaultString(level)));
+    }
+
+    private static boolean isValid(@Nullable final String errorCode) {
+        return StringUtils.startsWith(errorCode, "V");
+    }
+
+    private String getLink(final String errorCode) {
+        return linksByErrorCode.computeIfAbsent(errorCode,
+                code -> "<a target=\"_blank\" href=\"https://www.viva64.com/en/w/"
+                        + code.toLowerCase(Locale.ENGLISH) + "/\">" + code + "</a> ");
+    }
+
+    /**
+     * Returns the text of the current element if no text has been read for this element yet. Otherwise, the current
+     * element is skipped and the text of the first occurrence is returned.
+     */
+    @Nullable
+    private static String first(@Nullable final String current, final XMLStreamReader xml)
+            throws XMLStreamException {
+        if (current == null) {
+            return XmlStreamUtil.readText(xml);
+        }
+        XmlStreamUtil.skipElement(xml);
+        return current;
+    }
+
+    /**
+     * Returns the number of messages that have been handed over to the consumer.
+     *
+     * @return the number of messages
+     */
+    int getMessagesCount() {
+        return messagesCount;
+    }
+
+    /**
+     * Returns the number of messages that have been skipped since they are marked as false alarm.
+     *
+     * @return the number of false alarms
+     */
+    int getFalseAlarmCount() {
+        return falseAlarmCount;
+    }
+
+    /**
+     * Returns the number of messages that have been skipped since the file, error code, or line number is invalid.
+     *
+     * @return the number of invalid messages
+     */
+    int getFailWarningsCount() {
+        return failWarningsCount;
+    }
+}
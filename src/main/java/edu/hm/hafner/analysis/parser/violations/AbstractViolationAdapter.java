@@ -100,7 +100,7 @@ public abstract class AbstractViolationAdapter extends IssueParser {
      * @return corresponding {@link IssueBuilder} instance
      */
     IssueBuilder createIssueBuilder(final Violation violation) {
-        IssueBuilder builder = new IssueBuilder();
+        IssueBuilder builder = createIssueBuilder();
         builder.setSeverity(convertSeverity(violation.getSeverity(), violation))
                 .setFileName(violation.getFile())
                 .setMessage(violation.getMessage())
@@ -0,0 +1,116 @@
+package edu.hm.hafner.util;
+
+/**
+ * Removes ANSI escape sequences (e.g., terminal colors) from strings. Only control sequences that start with the
+ * control sequence introducer {@code ESC [} are removed: such a sequence consists of an arbitrary number of parameter
+ * bytes (digits and semicolons), an arbitrary number of intermediate bytes (characters from space to slash), and a
+ * final byte (characters from {@code @} to tilde). Incomplete sequences are retained.
+ * <p>
+ * Strings are scanned only once. Strings without an {@code ESC} character are returned unchanged, i.e. no new
+ * instance will be created.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public final class AnsiEscapeCodes {
+    private static final char ESCAPE = '\u001B';
+
+    /**
+     * Removes all ANSI escape sequences from the specified string.
+     *
+     * @param line
+     *         the line to clean
+     *
+     * @return the line without escape sequences, or the same instance if the line contains no escape sequence
+     */
+    public static String strip(final String line) {
+        int escape = line.indexOf(ESCAPE);
+        if (escape < 0) {
+            return line;
+        }
+
+        StringBuilder stripped = new StringBuilder(line.length());
+        int copyFrom = 0;
+        while (escape >= 0) {
+            int end = findEndOfSequence(line, escape);
+            if (end > 0) {
+                stripped.append(line, copyFrom, escape);
+                copyFrom = end;
+                escape = line.indexOf(ESCAPE, end);
+            }
+            else {
+                escape = line.indexOf(ESCAPE, escape + 1);
+            }
+        }
+        if (copyFrom == 0) {
+            return line;
+        }
+        stripped.append(line, copyFrom, line.length());
+        return stripped.toString();
+    }
+
+    /**
+     * Returns whether the specified line contains an {@code ESC} character.
+     *
+     * @param line
+     *         the line to check
+     *
+     * @return {@code true} if the line contains an {@code ESC} character, {@code false} otherwise
+     */
+    public static boolean containsEscape(final CharSequence line) {
+        if (line instanceof String) {
+            return ((String) line).indexOf(ESCAPE) >= 0;
+        }
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ESCAPE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the end of the escape sequence that starts at the specified position.
+     *
+     * @param line
+     *         the line to scan
+     * @param start
+     *         the position of the {@code ESC} character
+     *
+     * @return the position after the last character of the sequence, or -1 if there is no valid sequence
+     */
+    private static int findEndOfSequence(final String line, final int start) {
+        int length = line.length();
+        int position = start + 1;
+        if (position >= length || line.charAt(position) != '[') {
+            return -1;
+        }
+        position++;
+        while (position < length && isParameter(line.charAt(position))) {
+            position++;
+        }
+        while (position < length && isIntermediate(line.charAt(position))) {
+            position++;
+        }
+        if (position < length && isFinal(line.charAt(position))) {
+            return position + 1;
+        }
+        return -1;
+    }
+
+    private static boolean isParameter(final char c) {
+        return c >= '0' && c <= '9' || c == ';';
+    }
+
+    private static boolean isIntermediate(final char c) {
+        return c >= ' ' && c <= '/';
+    }
+
+    private static boolean isFinal(final char c) {
+        return c >= '@' && c <= '~';
+    }
+
+    private AnsiEscapeCodes() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,222 @@
+package edu.hm.hafner.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reads the lines of a {@link Reader} without creating a new {@link String} for each line. The characters are decoded
+ * into a buffer, each line is handed out as a {@link CharSequence} view on this buffer. The view is reused: it is valid
+ * only until the next call of {@link #next()}. Call {@link CharSequence#toString()} to obtain a copy of a line that
+ * should be retained.
+ * <p>
+ * Lines are terminated by a line feed ('\n'), a carriage return ('\r'), or a carriage return followed immediately by a
+ * line feed, i.e. the lines are the same as the lines of {@link java.io.BufferedReader#readLine()}.
+ * </p>
+ * <p>
+ * Optionally, lines can be mapped: each line that matches a given predicate is converted into a {@link String} and
+ * mapped with a given function. All other lines are handed out as views.
+ * </p>
+ *
+ * @author Ullrich Hafner
+ */
+public class CharSequenceLineReader implements AutoCloseable {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final Predicate<CharSequence> requiresMapping;
+    private final Function<String, String> mapper;
+    private final Line line = new Line();
+
+    private char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+    private int limit = 0;
+    private boolean isEndOfInput = false;
+
+    private int lineStart = 0;
+    private int lineEnd = 0;
+    private int nextLineStart = 0;
+
+    /**
+     * Creates a new {@link CharSequenceLineReader} for the specified reader.
+     *
+     * @param reader
+     *         the reader to read the lines from
+     */
+    public CharSequenceLineReader(final Reader reader) {
+        this(reader, sequence -> false, Function.identity());
+    }
+
+    /**
+     * Creates a new {@link CharSequenceLineReader} for the specified reader that maps some of the lines.
+     *
+     * @param reader
+     *         the reader to read the lines from
+     * @param requiresMapping
+     *         determines the lines that should be mapped
+     * @param mapper
+     *         maps the lines that match the predicate {@code requiresMapping}
+     */
+    public CharSequenceLineReader(final Reader reader, final Predicate<CharSequence> requiresMapping,
+            final Function<String, String> mapper) {
+        this.reader = reader;
+        this.requiresMapping = requiresMapping;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Returns {@code true} if there are more lines. The line that has been returned by the last call of {@link #next()}
+     * remains valid.
+     *
+     * @return {@code true} if there are more lines
+     * @throws UncheckedIOException
+     *         if the reader could not be read
+     */
+    public boolean hasNext() {
+        return nextLineStart < limit || fill(lineStart) && nextLineStart < limit;
+    }
+
+    /**
+     * Returns the next line. The returned line is valid until the next invocation of this method.
+     *
+     * @return the next line
+     * @throws NoSuchElementException
+     *         if there are no more lines
+     * @throws UncheckedIOException
+     *         if the reader could not be read
+     */
+    public CharSequence next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more lines available");
+        }
+
+        lineStart = nextLineStart;
+        int position = lineStart;
+        while (true) {
+            if (position == limit) {
+                int offset = position - lineStart;
+                if (!fill(lineStart)) {
+                    lineEnd = limit;
+                    nextLineStart = limit;
+                    break;
+                }
+                position = lineStart + offset;
+            }
+            char current = buffer[position];
+            if (current == '\n' || current == '\r') {
+                lineEnd = position;
+                nextLineStart = skipCarriageReturnLineFeed(position, current);
+                break;
+            }
+            position++;
+        }
+
+        if (requiresMapping.test(line)) {
+            return mapper.apply(line.toString());
+        }
+        return line;
+    }
+
+    private int skipCarriageReturnLineFeed(final int position, final char terminator) {
+        int next = position + 1;
+        if (terminator == '\r') {
+            if (next == limit) {
+                int lineOffset = lineEnd - lineStart;
+                fill(lineStart);
+                lineEnd = lineStart + lineOffset;
+                next = lineEnd + 1;
+            }
+            if (next < limit && buffer[next] == '\n') {
+                return next + 1;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Reads more characters into the buffer. The characters starting at the specified position are retained but will
+     * be moved to the beginning of the buffer.
+     *
+     * @param retainFrom
+     *         the first position in the buffer that should be retained
+     *
+     * @return {@code true} if characters have been read, {@code false} if the end of the input has been reached
+     */
+    private boolean fill(final int retainFrom) {
+        if (isEndOfInput) {
+            return false;
+        }
+
+        int retained = limit - retainFrom;
+        if (retainFrom > 0) {
+            System.arraycopy(buffer, retainFrom, buffer, 0, retained);
+        }
+        else if (retained == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        lineStart -= retainFrom;
+        lineEnd = Math.max(lineEnd - retainFrom, 0);
+        nextLineStart -= retainFrom;
+        limit = retained;
+
+        try {
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            while (read == 0) {
+                read = reader.read(buffer, limit, buffer.length - limit);
+            }
+            if (read < 0) {
+                isEndOfInput = true;
+                return false;
+            }
+            limit += read;
+            return true;
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        }
+        catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * A view on the current line in the buffer.
+     */
+    private class Line implements CharSequence {
+        @Override
+        public int length() {
+            return lineEnd - lineStart;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length()) {
+                throw new StringIndexOutOfBoundsException(index);
+            }
+            return buffer[lineStart + index];
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new StringIndexOutOfBoundsException(String.format("[%d, %d) of %d", start, end, length()));
+            }
+            return new String(buffer, lineStart + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, lineStart, length());
+        }
+    }
+}
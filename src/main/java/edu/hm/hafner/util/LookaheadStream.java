@@ -7,6 +7,8 @@ import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
+
 /**
  * A stream of lines with a lookahead of one line. Useful to parse a stream of lines when it is required to check if the
  * next line matches a given regular expression.
@@ -14,8 +16,10 @@ import org.apache.commons.lang3.StringUtils;
  * @author Ullrich Hafner
  */
 public class LookaheadStream implements AutoCloseable {
-    private final Stream<String> stream;
+    private final Runnable closer;
     private final Iterator<String> lineIterator;
+    @Nullable
+    private final CharSequenceLineReader lineReader;
     private final String fileName;
 
     private boolean isLookaheadFilled = false;
@@ -41,8 +45,52 @@ public class LookaheadStream implements AutoCloseable {
      *         the file name of the stream
      */
     public LookaheadStream(final Stream<String> stream, final String fileName) {
-        this.stream = stream;
+        this(stream, fileName, 0);
+    }
+
+    /**
+     * Wraps the specified stream of lines into a {@link LookaheadStream}. The stream starts in the middle of a file,
+     * i.e., the specified number of lines of the file precede the first line of the stream. These lines are taken into
+     * account by {@link #getLine()}.
+     *
+     * @param stream
+     *         the lines to wrap
+     * @param fileName
+     *         the file name of the stream
+     * @param precedingLines
+     *         the number of lines of the file that precede the first line of the stream
+     */
+    public LookaheadStream(final Stream<String> stream, final String fileName, final int precedingLines) {
+        closer = stream::close;
         lineIterator = stream.iterator();
+        lineReader = null;
+        this.fileName = fileName;
+        line = precedingLines;
+    }
+
+    /**
+     * Wraps the specified line reader into a {@link LookaheadStream}. Lines that are obtained using {@link
+     * #nextCharSequence()} will not be copied into new {@link String} instances.
+     *
+     * @param lineReader
+     *         the lines to wrap
+     * @param fileName
+     *         the file name of the stream
+     */
+    public LookaheadStream(final CharSequenceLineReader lineReader, final String fileName) {
+        closer = lineReader::close;
+        lineIterator = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return lineReader.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return lineReader.next().toString();
+            }
+        };
+        this.lineReader = lineReader;
         this.fileName = fileName;
     }
 
@@ -52,7 +100,7 @@ public class LookaheadStream implements AutoCloseable {
 
     @Override
     public void close() {
-        stream.close();
+        closer.run();
     }
 
     /**
@@ -121,6 +169,25 @@ public class LookaheadStream implements AutoCloseable {
         return lineIterator.next();
     }
 
+    /**
+     * Returns the next element in the stream. If this stream wraps a {@link CharSequenceLineReader}, then the returned
+     * line is a view that is valid only until the next line is read (using one of the methods {@link #next()}, {@link
+     * #nextCharSequence()}, {@link #peekNext()}, or {@link #hasNext(String)}). Otherwise, the returned line is a {@link
+     * String}.
+     *
+     * @return the next element in the stream
+     * @throws NoSuchElementException
+     *         if the stream has no more elements
+     */
+    public CharSequence nextCharSequence() {
+        if (lineReader == null || isLookaheadFilled) {
+            return next();
+        }
+
+        line++;
+        return lineReader.next();
+    }
+
     /**
      * Returns the line number of the line that has been handed out using the {@link #next()} method.
      *
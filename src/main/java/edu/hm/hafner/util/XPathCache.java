@@ -0,0 +1,71 @@
+package edu.hm.hafner.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+/**
+ * A cache of compiled {@link XPathExpression XPath expressions}. Looking up the {@link XPathFactory} and compiling an
+ * expression is expensive compared to evaluating an already compiled expression. So parsers that evaluate the same
+ * expressions for each report should obtain the compiled expressions from this cache. Since neither {@link XPath}
+ * instances nor compiled expressions are thread-safe, each thread uses its own {@link XPath} instance and its own
+ * bounded set of compiled expressions. The compiled expressions must not be passed to other threads.
+ *
+ * @author Ullrich Hafner
+ */
+public final class XPathCache {
+    /** Maximum number of compiled expressions per thread. */
+    static final int CAPACITY = 64;
+
+    private static final ThreadLocal<XPathCache> CACHE = ThreadLocal.withInitial(XPathCache::new);
+
+    private final XPath xPath = XPathFactory.newInstance().newXPath();
+    private final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+        private static final long serialVersionUID = -2616738526960413637L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<String, XPathExpression> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    /**
+     * Returns the compiled form of the specified XPath expression. The expression is compiled only once per thread.
+     *
+     * @param expression
+     *         the XPath expression
+     *
+     * @return the compiled expression, this instance may be used by the calling thread only
+     * @throws XPathExpressionException
+     *         if the expression is invalid
+     */
+    public static XPathExpression compile(final String expression) throws XPathExpressionException {
+        return CACHE.get().get(expression);
+    }
+
+    /**
+     * Returns the number of compiled expressions in the cache of the calling thread.
+     *
+     * @return the number of compiled expressions
+     */
+    static int size() {
+        return CACHE.get().expressions.size();
+    }
+
+    private XPathExpression get(final String expression) throws XPathExpressionException {
+        XPathExpression compiled = expressions.get(expression);
+        if (compiled == null) {
+            compiled = xPath.compile(expression);
+            expressions.put(expression, compiled);
+        }
+        return compiled;
+    }
+
+    private XPathCache() {
+        // prevents instantiation
+    }
+}
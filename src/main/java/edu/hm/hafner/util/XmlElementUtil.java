@@ -53,7 +53,55 @@ public class XmlElementUtil {
      * @return the first element if there is a match, {@link Optional#empty()} otherwise
      */
     public static Optional<Element> getFirstChildElementByName(final Element parent, final String name) {
-        return getChildElementsByName(parent, name).stream().findFirst();
+        if (parent != null) {
+            Node child = parent.getFirstChild();
+            while (child != null) {
+                if (child.getNodeType() == Node.ELEMENT_NODE && child.getNodeName().equals(name)) {
+                    return Optional.of((Element) child);
+                }
+                child = child.getNextSibling();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the text content of the first element in the parent that matches the specified name. This is the same
+     * value as the result of the XPath expression {@code string(name)} when evaluated for the parent element, but
+     * without the overhead of the XPath evaluation.
+     *
+     * @param parent
+     *         the parent element
+     * @param name
+     *         the expected name of the child
+     *
+     * @return the text content of the first element if there is a match, an empty string otherwise
+     */
+    public static String getFirstChildElementText(final Element parent, final String name) {
+        return getFirstChildElementByName(parent, name).map(Node::getTextContent).orElse("");
+    }
+
+    /**
+     * Returns all grandchild elements of the parent that match the specified names. This is the same list of elements
+     * as the result of the XPath expression {@code childName/grandChildName} when evaluated for the parent element, but
+     * without the overhead of the XPath evaluation.
+     *
+     * @param parent
+     *         the parent element
+     * @param childName
+     *         the expected name of the children
+     * @param grandChildName
+     *         the expected name of the grandchildren
+     *
+     * @return the elements in document order, the list might be empty if there is no match
+     */
+    public static List<Element> getGrandChildElementsByName(final Element parent, final String childName,
+            final String grandChildName) {
+        List<Element> elements = new ArrayList<Element>();
+        for (Element child : getChildElementsByName(parent, childName)) {
+            elements.addAll(getChildElementsByName(child, grandChildName));
+        }
+        return elements;
     }
 
     /**
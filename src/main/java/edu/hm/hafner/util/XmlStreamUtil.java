@@ -0,0 +1,106 @@
+package edu.hm.hafner.util;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Provides some useful methods to process the events of a StAX {@link XMLStreamReader}.
+ *
+ * @author Ullrich Hafner
+ */
+public final class XmlStreamUtil {
+    /**
+     * Moves the reader to the next start element with the specified name.
+     *
+     * @param reader
+     *         the reader
+     * @param name
+     *         the local name of the element
+     *
+     * @return {@code true} if the element has been found, {@code false} if the end of the document has been reached
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    public static boolean moveTo(final XMLStreamReader reader, final String name) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT && name.equals(reader.getLocalName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the text content of the current element and all its children (like {@link org.w3c.dom.Node#getTextContent()
+     * Node.getTextContent()}). The reader must be positioned at the start of the element. Afterwards, the reader is
+     * positioned at the end of the element.
+     *
+     * @param reader
+     *         the reader
+     *
+     * @return the text content
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    public static String readText(final XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+            else if (event != XMLStreamConstants.COMMENT && reader.hasText()) {
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Skips the current element and all its children. The reader must be positioned at the start of the element.
+     * Afterwards, the reader is positioned at the end of the element.
+     *
+     * @param reader
+     *         the reader
+     *
+     * @throws XMLStreamException
+     *         if the document is not well-formed
+     */
+    public static void skipElement(final XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the specified attribute of the current element.
+     *
+     * @param reader
+     *         the reader, positioned at the start of an element
+     * @param name
+     *         the local name of the attribute
+     *
+     * @return the value of the attribute, or an empty string if the element has no such attribute (like {@link
+     *         org.w3c.dom.Element#getAttribute(String) Element.getAttribute})
+     */
+    public static String getAttribute(final XMLStreamReader reader, final String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null ? "" : value;
+    }
+
+    private XmlStreamUtil() {
+        // prevents instantiation
+    }
+}
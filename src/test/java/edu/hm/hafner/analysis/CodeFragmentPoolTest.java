@@ -0,0 +1,76 @@
+package edu.hm.hafner.analysis;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the classes {@link CodeFragmentPool} and {@link CodeFragment}.
+ *
+ * @author Ullrich Hafner
+ */
+class CodeFragmentPoolTest {
+    private static final String SMALL_FRAGMENT = "int i = 0;";
+    private static final String LARGE_FRAGMENT = StringUtils.repeat("for (int i = 0; i < 10; i++) { ö++; }\n", 100);
+
+    @Test
+    void shouldShareEqualFragments() {
+        CodeFragmentPool pool = new CodeFragmentPool();
+
+        CodeFragment first = pool.add(SMALL_FRAGMENT);
+        CodeFragment second = pool.add(new String(SMALL_FRAGMENT.toCharArray()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(pool.add(LARGE_FRAGMENT)).isNotEqualTo(first);
+        assertThat(pool.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCompressLargeFragments() {
+        CodeFragmentPool pool = new CodeFragmentPool();
+
+        CodeFragment small = pool.add(SMALL_FRAGMENT);
+        assertThat(small.isCompressed()).isFalse();
+        assertThat(small.getText()).isEqualTo(SMALL_FRAGMENT);
+
+        CodeFragment large = pool.add(LARGE_FRAGMENT);
+        assertThat(large.isCompressed()).isTrue();
+        assertThat(large.getStoredSize()).isLessThan(LARGE_FRAGMENT.length() / 10);
+        assertThat(large.getText()).isEqualTo(LARGE_FRAGMENT);
+        assertThat(pool.getStoredSize()).isEqualTo(small.getStoredSize() + large.getStoredSize());
+    }
+
+    @Test
+    void shouldNotCompressIfDisabled() {
+        CodeFragment large = new CodeFragmentPool(false).add(LARGE_FRAGMENT);
+
+        assertThat(large.isCompressed()).isFalse();
+        assertThat(large.getText()).isEqualTo(LARGE_FRAGMENT);
+    }
+
+    @Test
+    void shouldUseDigestAsIdentity() {
+        CodeFragment compressed = new CodeFragmentPool().add(LARGE_FRAGMENT);
+        CodeFragment plain = CodeFragment.of(LARGE_FRAGMENT);
+
+        assertThat(compressed).isEqualTo(plain);
+        assertThat(compressed).hasSameHashCodeAs(plain);
+        assertThat(compressed.getDigest()).isEqualTo(plain.getDigest());
+        assertThat(plain).isNotEqualTo(CodeFragment.of(SMALL_FRAGMENT));
+    }
+
+    @Test
+    void shouldHandleEmptyFragments() {
+        CodeFragmentPool pool = new CodeFragmentPool();
+
+        assertThat(pool.add(null)).isSameAs(CodeFragment.EMPTY);
+        assertThat(pool.add(StringUtils.EMPTY)).isSameAs(CodeFragment.EMPTY);
+        assertThat(pool.size()).isZero();
+
+        assertThat(CodeFragment.EMPTY.isBlank()).isTrue();
+        assertThat(CodeFragment.EMPTY.getText()).isEmpty();
+        assertThat(pool.add(" \n").isBlank()).isTrue();
+        assertThat(pool.add(SMALL_FRAGMENT).isBlank()).isFalse();
+    }
+}
@@ -0,0 +1,202 @@
+package edu.hm.hafner.analysis;
+
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.assertions.SoftAssertions;
+import edu.hm.hafner.util.NoSuchElementException;
+import edu.hm.hafner.util.PathUtil;
+import edu.hm.hafner.util.SerializableTest;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link ColumnarReport}.
+ *
+ * @author Ullrich Hafner
+ */
+class ColumnarReportTest extends SerializableTest<ColumnarReport> {
+    @Test
+    void shouldStoreIssuesLikeReport() {
+        Report expected = new Report();
+        ColumnarReport actual = new ColumnarReport();
+
+        fill(expected, 1000);
+        fill(actual, 1000);
+
+        try (SoftAssertions softly = new SoftAssertions()) {
+            softly.assertThat(actual).hasSize(expected.size());
+            softly.assertThat(actual.getDuplicatesSize()).isEqualTo(expected.getDuplicatesSize()).isEqualTo(100);
+            softly.assertThat(actual.stream()).containsExactlyElementsOf(expected);
+            softly.assertThat(actual.get(500)).isEqualTo(expected.get(500));
+            softly.assertThat(actual.getFiles()).isEqualTo(expected.getFiles());
+            softly.assertThat(actual.getPackages()).isEqualTo(expected.getPackages());
+            softly.assertThat(actual.getModules()).isEqualTo(expected.getModules());
+            softly.assertThat(actual.getCategories()).isEqualTo(expected.getCategories());
+            softly.assertThat(actual.getTypes()).isEqualTo(expected.getTypes());
+            softly.assertThat(actual.getTools()).isEqualTo(expected.getTools());
+            softly.assertThat(actual.getSeverities()).isEqualTo(expected.getSeverities());
+            for (Severity severity : Severity.getPredefinedValues()) {
+                softly.assertThat(actual.getSizeOf(severity)).isEqualTo(expected.getSizeOf(severity));
+            }
+            for (String property : new String[] {"fileName", "packageName", "category", "severity", "message"}) {
+                softly.assertThat(actual.getPropertyCount(property))
+                        .as(property)
+                        .isEqualTo(expected.getPropertyCount(property));
+            }
+        }
+    }
+
+    @Test
+    void shouldGroupAndFilterIntoColumnarReports() {
+        Report expected = new Report();
+        ColumnarReport actual = new ColumnarReport();
+        fill(expected, 100);
+        fill(actual, 100);
+
+        Map<String, Report> groups = actual.groupByProperty("packageName");
+        Map<String, Report> expectedGroups = expected.groupByProperty("packageName");
+        assertThat(groups).hasSameSizeAs(expectedGroups);
+        groups.forEach((key, group) -> {
+            assertThat(group).isInstanceOf(ColumnarReport.class);
+            assertThat(group.stream()).containsExactlyElementsOf(expectedGroups.get(key));
+        });
+
+        Report filtered = actual.filter(Issue.bySeverity(Severity.WARNING_HIGH));
+        assertThat(filtered).isInstanceOf(ColumnarReport.class);
+        assertThat(filtered.stream()).containsExactlyElementsOf(expected.filter(Issue.bySeverity(Severity.WARNING_HIGH)));
+
+        assertThat(actual.copy()).isInstanceOf(ColumnarReport.class).isEqualTo(actual);
+    }
+
+    @Test
+    void shouldRemoveAndFindIssues() {
+        ColumnarReport report = new ColumnarReport();
+        fill(report, 10);
+
+        Issue third = report.get(2);
+        assertThat(report.findById(third.getId())).isEqualTo(third);
+
+        assertThat(report.remove(third.getId())).isEqualTo(third);
+        assertThat(report).hasSize(9);
+        assertThat(report.stream()).doesNotContain(third);
+        assertThat(report.get(2)).isNotEqualTo(third);
+        assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(() -> report.findById(third.getId()));
+
+        report.add(third);
+        assertThat(report).hasSize(10);
+        assertThat(report.get(9)).isEqualTo(third);
+    }
+
+    @Test
+    void shouldRetainEmptyAndCustomValues() {
+        Issue changed = new IssueBuilder().setMessage("changed")
+                .setSeverity(new Severity("custom"))
+                .setLineRanges(new LineRangeList(new LineRange(5, 6)))
+                .setAdditionalProperties("additional")
+                .build();
+        changed.setModuleName("");
+        changed.setFingerprint("");
+
+        ColumnarReport report = new ColumnarReport();
+        report.add(changed);
+
+        Issue actual = report.get(0);
+        assertThat(actual).isEqualTo(changed);
+        assertThat(actual).hasModuleName("").hasFingerprint("");
+        assertThat(actual.getSeverity().getName()).isEqualTo("custom");
+        assertThat(actual.getLineRanges()).isEqualTo(changed.getLineRanges());
+        assertThat(actual.getAdditionalProperties()).isEqualTo("additional");
+    }
+
+    @Test
+    void shouldWriteChangesOfResolversBackToColumns() throws URISyntaxException {
+        ColumnarReport report = new ColumnarReport();
+        IssueBuilder builder = new IssueBuilder().setFileName("relative.txt").setLineStart(1);
+        report.add(builder.build());
+        report.add(builder.setFileName("not-found.txt").build());
+
+        Path folder = Paths.get(ColumnarReportTest.class.getResource("relative.txt").toURI()).getParent();
+        new FileNameResolver().run(report, folder.toString(), fileName -> false);
+
+        String path = new PathUtil().getAbsolutePath(folder);
+        assertThat(report.get(0)).hasFileName("relative.txt").hasPath(path);
+        assertThat(report.get(1)).hasFileName("not-found.txt").hasPath("-");
+        assertThat(report.stream().filter(issue -> issue.getPath().equals(path))).hasSize(1);
+
+        new FingerprintGenerator().run(new FullTextFingerprint(), report, StandardCharsets.UTF_8);
+
+        assertThat(report.get(0).getFingerprint()).isNotEqualTo("-").doesNotStartWith("FALLBACK");
+        assertThat(report.get(1).getFingerprint()).startsWith("FALLBACK");
+
+        report.get(0).setModuleName("module");
+        assertThat(report.getModules()).containsExactlyInAnyOrder("module", "-");
+        assertThat(report.getPropertyCount("moduleName")).containsEntry("module", 1);
+
+        report.add(new IssueBuilder().copy(report.get(0)).build());
+        assertThat(report).hasSize(2).hasDuplicatesSize(1);
+    }
+
+    @Test
+    void shouldWriteChangesOfViewsBackToTheirOwnReport() {
+        ColumnarReport report = new ColumnarReport();
+        fill(report, 10);
+        ColumnarReport other = new ColumnarReport();
+        Issue view = report.get(0);
+        other.add(view);
+
+        view.setReference("changed");
+        other.get(0).setReference("other");
+
+        assertThat(report.get(0)).hasReference("changed");
+        assertThat(other.get(0)).hasReference("other");
+        Issue copy = SerializationUtils.roundtrip(view);
+        assertThat(copy).isEqualTo(view).hasReference("changed");
+        assertThat(copy.getClass()).isEqualTo(Issue.class);
+    }
+
+    @Test
+    void shouldGetIssuesByIndexAfterRemovals() {
+        ColumnarReport report = new ColumnarReport();
+        fill(report, 100);
+        report.remove(report.get(0).getId());
+        report.remove(report.get(50).getId());
+
+        List<Issue> issues = report.stream().collect(Collectors.toList());
+        assertThat(issues).hasSize(98);
+        for (int i = 0; i < issues.size(); i++) {
+            assertThat(report.get(i)).isEqualTo(issues.get(i));
+        }
+    }
+
+    private void fill(final Report report, final int size) {
+        IssueBuilder builder = new IssueBuilder().setCategory("category").setOrigin("origin");
+        Severity[] severities = {Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+        for (int i = 0; i < size + size / 10; i++) {
+            int line = i % size;
+            report.add(builder.setFileName("path/to/file-" + line % 10 + ".txt")
+                    .setPackageName("package-" + line % 5)
+                    .setModuleName("module-" + line % 3)
+                    .setType("type-" + line % 7)
+                    .setSeverity(severities[line % 3])
+                    .setLineStart(line)
+                    .setMessage("message " + line % 50)
+                    .build());
+        }
+    }
+
+    @Override
+    protected ColumnarReport createSerializable() {
+        ColumnarReport report = new ColumnarReport();
+        fill(report, 20);
+        return report;
+    }
+}
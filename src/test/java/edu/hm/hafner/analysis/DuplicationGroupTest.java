@@ -1,8 +1,10 @@
 package edu.hm.hafner.analysis;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
 
-import org.junit.jupiter.api.Disabled;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.util.SerializableTest;
@@ -81,6 +83,51 @@ class DuplicationGroupTest extends SerializableTest<DuplicationGroup> {
         assertThat(groupWithFragment.getCodeFragment()).isEqualTo(CODE_FRAGMENT);
     }
 
+    @Test
+    void shouldCompareGroupsByFragmentDigest() {
+        CodeFragmentPool pool = new CodeFragmentPool();
+        String text = StringUtils.repeat(CODE_FRAGMENT + "\n", 1000);
+
+        DuplicationGroup pooled = new DuplicationGroup(pool.add(text));
+        DuplicationGroup plain = new DuplicationGroup(text);
+
+        assertThat(pooled.getFragment().isCompressed()).isTrue();
+        assertThat(pooled).isEqualTo(plain);
+        assertThat(pooled).hasSameHashCodeAs(plain);
+        assertThat(pooled.getCodeFragment()).isEqualTo(text);
+        assertThat(pooled).isNotEqualTo(new DuplicationGroup(CODE_FRAGMENT));
+    }
+
+    @Test
+    void shouldNotOverwritePooledFragment() {
+        CodeFragmentPool pool = new CodeFragmentPool();
+        DuplicationGroup group = new DuplicationGroup();
+
+        assertThat(group.hasCodeFragment()).isFalse();
+
+        group.setCodeFragment(pool.add(" "));
+        assertThat(group.hasCodeFragment()).isFalse();
+
+        group.setCodeFragment(pool.add(CODE_FRAGMENT));
+        assertThat(group.hasCodeFragment()).isTrue();
+        assertThat(group.getCodeFragment()).isEqualTo(CODE_FRAGMENT);
+
+        group.setCodeFragment(pool.add("other"));
+        assertThat(group.getCodeFragment()).isEqualTo(CODE_FRAGMENT);
+    }
+
+    @Test
+    void shouldRestoreFragmentOfOldSerialization() throws IOException, ClassNotFoundException {
+        DuplicationGroup restored;
+        try (ObjectInputStream stream = new ObjectInputStream(
+                new ByteArrayInputStream(readAllBytes(SERIALIZATION_NAME)))) {
+            restored = (DuplicationGroup) stream.readObject();
+        }
+
+        assertThat(restored.getFragment()).isEqualTo(CodeFragment.of(restored.getCodeFragment()));
+        assertThat(restored.getDuplications()).hasSize(2);
+    }
+
     @Test
     void shouldReferenceAllDuplications() {
         DuplicationGroup group = new DuplicationGroup(CODE_FRAGMENT);
@@ -1,13 +1,21 @@
 package edu.hm.hafner.analysis;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.w3c.dom.Document;
 
 import com.google.errorprone.annotations.MustBeClosed;
@@ -85,6 +93,121 @@ class FileReaderFactoryTest extends ResourceTest {
         assertThat(factory.getCharset()).isEqualTo(UTF_8);
     }
 
+    @Test
+    void shouldDetectEncodingOfGzipCompressedXmlFile(@TempDir final Path temp) throws IOException {
+        Path compressed = temp.resolve("encoded-with-ISO8859-1.xml.gz");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            output.write(readAllBytes("encoded-with-ISO8859-1.xml"));
+        }
+
+        assertEncoding(new FileReaderFactory(compressed), StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void shouldReadFirstFileOfZipArchive(@TempDir final Path temp) throws IOException {
+        Path compressed = temp.resolve("encoded-with-UTF8.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(compressed))) {
+            output.putNextEntry(new ZipEntry("folder/"));
+            output.closeEntry();
+            output.putNextEntry(new ZipEntry("folder/encoded-with-UTF8.xml"));
+            output.write(readAllBytes("encoded-with-UTF8.xml"));
+            output.closeEntry();
+        }
+
+        assertEncoding(new FileReaderFactory(compressed), UTF_8);
+    }
+
+    @Test
+    void shouldReadSameLinesOfCompressedAndPlainFile(@TempDir final Path temp) throws IOException {
+        Path compressed = temp.resolve("context.txt.gz");
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            output.write(readAllBytes("context.txt"));
+        }
+
+        assertThat(readLines(new FileReaderFactory(compressed)))
+                .isNotEmpty()
+                .isEqualTo(readLines(createFactory("context.txt")));
+    }
+
+    @Test
+    void shouldReportZipArchiveWithoutFiles(@TempDir final Path temp) throws IOException {
+        Path compressed = temp.resolve("empty.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(compressed))) {
+            output.putNextEntry(new ZipEntry("folder/"));
+            output.closeEntry();
+        }
+
+        assertThatExceptionOfType(ParsingException.class)
+                .isThrownBy(() -> new FileReaderFactory(compressed, UTF_8).readString())
+                .withMessageContaining("Zip archive contains no file");
+    }
+
+    @Test
+    void shouldDetectEncodingFromByteOrderMark(@TempDir final Path temp) throws IOException {
+        Path utf16 = temp.resolve("utf-16.xml");
+        Files.write(utf16, "<?xml version=\"1.0\"?><text>aä</text>".getBytes(StandardCharsets.UTF_16LE));
+        Files.write(utf16, joinBytes(new byte[] {(byte) 0xFF, (byte) 0xFE}, Files.readAllBytes(utf16)));
+
+        assertEncoding(new FileReaderFactory(utf16), StandardCharsets.UTF_16);
+    }
+
+    @Test
+    void shouldDetectEncodingOnlyOnce(@TempDir final Path temp) throws IOException {
+        Path xml = temp.resolve("encoded.xml");
+        Files.write(xml, readAllBytes("encoded-with-ISO8859-1.xml"));
+
+        FileReaderFactory factory = new FileReaderFactory(xml);
+        assertEncoding(factory, StandardCharsets.ISO_8859_1);
+
+        Files.write(xml, readAllBytes("encoded-with-UTF8.xml"));
+        factory.readString();
+        assertThat(factory.getCharset()).isEqualTo(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void shouldReadCompleteFileFromHeadBuffer(@TempDir final Path temp) throws IOException {
+        Path xml = temp.resolve("encoded.xml");
+        Files.write(xml, readAllBytes("encoded-with-ISO8859-1.xml"));
+
+        FileReaderFactory factory = new FileReaderFactory(xml, null, 4096);
+        String content = factory.readString();
+        Files.delete(xml);
+
+        assertThat(factory.readString()).isEqualTo(content);
+        assertEncoding(factory, StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    void shouldReadBeginningOfFileFromHeadBuffer(@TempDir final Path temp) throws IOException {
+        Path log = temp.resolve("context.txt");
+        Files.write(log, readAllBytes("context.txt"));
+
+        FileReaderFactory factory = new FileReaderFactory(log, UTF_8, 16);
+        String firstLine;
+        try (Stream<String> lines = factory.readStream()) {
+            firstLine = lines.findFirst().orElse("-");
+        }
+        assertThat(readLines(factory)).isEqualTo(readLines(createFactory("context.txt")));
+
+        Files.delete(log);
+        try (Stream<String> lines = factory.readStream()) {
+            assertThat(lines.findFirst()).contains(firstLine);
+        }
+        assertThatExceptionOfType(ParsingException.class).isThrownBy(factory::readString);
+    }
+
+    private byte[] joinBytes(final byte[] first, final byte[] second) {
+        byte[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    private String readLines(final FileReaderFactory factory) {
+        try (Stream<String> lines = factory.readStream()) {
+            return lines.collect(Collectors.joining("\n"));
+        }
+    }
+
     private void assertEncoding(final FileReaderFactory factory, final Charset charset) {
         Document document = factory.readDocument();
         assertThat(factory.getCharset()).isEqualTo(charset);
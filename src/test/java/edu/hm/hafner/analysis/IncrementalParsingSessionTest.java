@@ -0,0 +1,182 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import edu.hm.hafner.analysis.parser.Gcc4CompilerParser;
+import edu.hm.hafner.analysis.parser.GccParser;
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.MsBuildParser;
+import edu.hm.hafner.util.ResourceTest;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link IncrementalParsingSession}.
+ *
+ * @author Ullrich Hafner
+ */
+class IncrementalParsingSessionTest extends ResourceTest {
+    private static final String GCC4_WARNING = "file.c:10:5: warning: unused variable 'a'\n";
+
+    @TempDir
+    Path temp;
+
+    private static Stream<Arguments> createLogs() {
+        List<String> logs = Arrays.asList("gcc.txt", "gcc4.txt", "gnuMakeGcc.txt", "javac.txt", "msbuild.txt",
+                "MSBuildANSIColor.txt");
+        return logs.stream().flatMap(log -> Stream.of(
+                Arguments.of(log, new GccParser(), 17),
+                Arguments.of(log, new Gcc4CompilerParser(), 101),
+                Arguments.of(log, new JavacParser(), 4096),
+                Arguments.of(log, new MsBuildParser(), 333)));
+    }
+
+    @ParameterizedTest(name = "{0} - {1} - {2} bytes per increment")
+    @MethodSource("createLogs")
+    void shouldFindSameIssuesAsCompleteParsing(final String fileName, final LookaheadParser parser,
+            final int chunkSize) throws IOException {
+        byte[] content = Files.readAllBytes(getResourceAsFile("parser/" + fileName));
+        Path log = temp.resolve(fileName);
+        Files.write(log, new byte[0]);
+
+        IncrementalParsingSession session = new IncrementalParsingSession(parser, log, StandardCharsets.UTF_8);
+        Report incremental = new Report();
+        for (int start = 0; start < content.length; start += chunkSize) {
+            int length = Math.min(chunkSize, content.length - start);
+            Files.write(log, Arrays.copyOfRange(content, start, start + length), StandardOpenOption.APPEND);
+            incremental.addAll(session.parseIncrement());
+            assertThat(session.getOffset()).isLessThanOrEqualTo(start + length);
+        }
+        incremental.addAll(session.finish());
+
+        assertThat(session.getOffset()).isEqualTo(content.length);
+
+        Report expected = parser.parse(new FileReaderFactory(log, StandardCharsets.UTF_8));
+        assertThat(incremental.stream().collect(Collectors.toList()))
+                .containsExactlyElementsOf(expected.stream().collect(Collectors.toList()));
+        assertThat(incremental.stream().map(Issue::getFileName))
+                .containsExactlyElementsOf(expected.stream().map(Issue::getFileName).collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldReadOnlyCompleteLines() throws IOException {
+        Path log = temp.resolve("gcc.log");
+        IncrementalParsingSession session = new IncrementalParsingSession(new Gcc4CompilerParser(), log,
+                StandardCharsets.UTF_8);
+
+        Files.write(log, "make: Entering directory '/build'\nfile.c:10:5: warn".getBytes(StandardCharsets.UTF_8));
+        assertThat(session.parseIncrement()).isEmpty();
+        assertThat(session.getLine()).isEqualTo(1);
+
+        append(log, "ing: unused variable 'a'\n[INFO] done\n");
+        Report increment = session.parseIncrement();
+
+        assertThat(increment).hasSize(1);
+        assertThat(increment.get(0)).hasLineStart(10).hasFileName("/build/file.c");
+        assertThat(session.getLine()).isEqualTo(3);
+        assertThat(session.parseIncrement()).isEmpty();
+        assertThat(session.finish()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepMultiLineIssuePendingUntilNextLineHasBeenAppended() throws IOException {
+        Path log = temp.resolve("gcc.log");
+        IncrementalParsingSession session = new IncrementalParsingSession(new Gcc4CompilerParser(), log,
+                StandardCharsets.UTF_8);
+
+        Files.write(log, ("output\n" + GCC4_WARNING).getBytes(StandardCharsets.UTF_8));
+        assertThat(session.parseIncrement()).isEmpty();
+        assertThat(session.getLine()).isEqualTo(1);
+
+        append(log, "   int a;\n");
+        assertThat(session.parseIncrement()).isEmpty();
+
+        append(log, "[INFO] done\n");
+        Report increment = session.parseIncrement();
+        assertThat(increment).hasSize(1);
+        assertThat(increment.get(0)).hasLineStart(10);
+        assertThat(increment.get(0).getMessage()).contains("int a;");
+        assertThat(session.getLine()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReportPendingIssueWhenFinished() throws IOException {
+        Path log = temp.resolve("gcc.log");
+        IncrementalParsingSession session = new IncrementalParsingSession(new Gcc4CompilerParser(), log,
+                StandardCharsets.UTF_8);
+
+        Files.write(log, GCC4_WARNING.getBytes(StandardCharsets.UTF_8));
+        assertThat(session.parseIncrement()).isEmpty();
+
+        assertThat(session.finish()).hasSize(1);
+        assertThat(session.getLine()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStartOverIfFileHasBeenTruncated() throws IOException {
+        Path log = temp.resolve("gcc.log");
+        IncrementalParsingSession session = new IncrementalParsingSession(new GccParser(), log,
+                StandardCharsets.UTF_8);
+
+        Files.write(log, ("make: Entering directory '/build'\nfile.c:10: warning: first\n"
+                + "file.c:20: warning: second\n").getBytes(StandardCharsets.UTF_8));
+        assertThat(session.parseIncrement()).hasSize(2);
+
+        Files.write(log, "file.c:30: warning: third\n".getBytes(StandardCharsets.UTF_8));
+        Report restarted = session.parseIncrement();
+
+        assertThat(restarted).hasSize(1);
+        assertThat(restarted.get(0)).hasLineStart(30).hasFileName("file.c");
+        assertThat(restarted.getInfoMessages()).hasSize(1);
+        assertThat(session.getLine()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReadLinesThatSpanSeveralChunks() throws IOException {
+        Path log = temp.resolve("gcc.log");
+        IncrementalParsingSession session = new IncrementalParsingSession(new GccParser(), log,
+                StandardCharsets.UTF_8);
+
+        StringBuilder content = new StringBuilder(StringUtils.repeat('-', 200_000)).append("\r\n");
+        for (int i = 1; i <= 10_000; i++) {
+            content.append("file.c:").append(i).append(": warning: message\r\n");
+        }
+        Files.write(log, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        Report increment = session.parseIncrement();
+
+        assertThat(increment).hasSize(10_000);
+        assertThat(increment.get(9_999)).hasLineStart(10_000).hasMessage("message");
+        assertThat(session.getLine()).isEqualTo(10_001);
+        assertThat(session.getOffset()).isEqualTo(Files.size(log));
+
+        append(log, "file.c:10001: warning: message\n");
+        assertThat(session.parseIncrement()).hasSize(1);
+        assertThat(session.getOffset()).isEqualTo(Files.size(log));
+    }
+
+    @Test
+    void shouldRejectCharsetWithMultiByteLineFeed() {
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(
+                () -> new IncrementalParsingSession(new GccParser(), temp.resolve("log"), StandardCharsets.UTF_16));
+    }
+
+    private void append(final Path log, final String content) throws IOException {
+        Files.write(log, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,103 @@
+package edu.hm.hafner.analysis;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.ParsingStatistics.Phase;
+import edu.hm.hafner.analysis.parser.GccParser;
+import edu.hm.hafner.analysis.parser.checkstyle.CheckStyleParser;
+import edu.hm.hafner.util.ResourceTest;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link InstrumentedParser}.
+ *
+ * @author Ullrich Hafner
+ */
+class InstrumentedParserTest extends ResourceTest {
+    private static final String LOG = "make: Entering directory '/build'\n"
+            + "compiling\n"
+            + "file.c:10: warning: first\n"
+            + "file.c:10: warning: first\n"
+            + "done: nothing\n";
+
+    @Test
+    void shouldRecordStatisticsOfLookaheadParser() {
+        Report report = new InstrumentedParser(new GccParser()).parse(createReaderFactory(LOG));
+
+        assertThat(report).hasSize(1);
+        assertThat(report.getStatistics()).hasValueSatisfying(statistics -> {
+            assertThat(statistics.getParserName()).isEqualTo("GccParser");
+            assertThat(statistics.getCharactersRead()).isEqualTo(LOG.length());
+            assertThat(statistics.getLinesScanned()).isEqualTo(5);
+            assertThat(statistics.getInterestingLines()).isEqualTo(4);
+            assertThat(statistics.getMatchAttempts()).isEqualTo(3);
+            assertThat(statistics.getMatchHits()).isEqualTo(2);
+            assertThat(statistics.getIssuesCreated()).isEqualTo(2);
+            assertThat(statistics.getDuplicatesDropped()).isEqualTo(1);
+
+            assertThat(statistics.getWallTime(Phase.TOTAL)).isPositive();
+            assertThat(statistics.getWallTime(Phase.TOTAL)).isGreaterThanOrEqualTo(
+                    statistics.getWallTime(Phase.SCAN) + statistics.getWallTime(Phase.POST_PROCESS));
+            assertThat(statistics.toMap()).containsEntry("linesScanned", 5L)
+                    .containsEntry("duplicatesDropped", 1L)
+                    .containsKeys("total.wallTime", "scan.cpuTime", "post_process.wallTime");
+        });
+    }
+
+    @Test
+    void shouldRecordStatisticsOfOtherParsers() {
+        ReaderFactory readerFactory = new FileReaderFactory(
+                getResourceAsFile("parser/checkstyle/checkstyle.xml"), StandardCharsets.UTF_8);
+        Report report = new InstrumentedParser(new CheckStyleParser()).parse(readerFactory);
+
+        assertThat(report).isNotEmpty();
+        assertThat(report.getStatistics()).hasValueSatisfying(statistics -> {
+            assertThat(statistics.getCharactersRead()).isPositive();
+            assertThat(statistics.getIssuesCreated()).isEqualTo(report.size());
+            assertThat(statistics.getLinesScanned()).isZero();
+            assertThat(statistics.getMatchAttempts()).isZero();
+            assertThat(statistics.getWallTime(Phase.TOTAL)).isPositive();
+            assertThat(statistics.getWallTime(Phase.SCAN)).isZero();
+        });
+    }
+
+    @Test
+    void shouldNotRecordStatisticsIfNotInstrumented() {
+        Report report = new GccParser().parse(createReaderFactory(LOG));
+
+        assertThat(report).hasSize(1);
+        assertThat(report.getStatistics()).isEmpty();
+    }
+
+    @Test
+    void shouldFindSameIssuesAsParser() {
+        ReaderFactory readerFactory = new FileReaderFactory(getResourceAsFile("parser/gcc.txt"));
+
+        Report instrumented = new InstrumentedParser(new GccParser()).parse(readerFactory);
+        Report expected = new GccParser().parse(readerFactory);
+
+        assertThat(instrumented).isEqualTo(expected);
+        assertThat(instrumented.getStatistics()).hasValueSatisfying(
+                statistics -> assertThat(statistics.getIssuesCreated()).isEqualTo(
+                        expected.size() + expected.getDuplicatesSize()));
+    }
+
+    private ReaderFactory createReaderFactory(final String content) {
+        return new ReaderFactory(StandardCharsets.UTF_8) {
+            @Override
+            public String getFileName() {
+                return "log.txt";
+            }
+
+            @Override
+            public Reader create() {
+                return new StringReader(content);
+            }
+        };
+    }
+}
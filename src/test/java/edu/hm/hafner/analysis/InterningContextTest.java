@@ -0,0 +1,185 @@
+package edu.hm.hafner.analysis;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.TreeString;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link InterningContext}.
+ *
+ * @author Ullrich Hafner
+ */
+class InterningContextTest {
+    @Test
+    void shouldShareStringsOfIssuesCreatedByDifferentBuilders() {
+        InterningContext context = new InterningContext();
+
+        Issue first = new IssueBuilder(context).setFileName("file.txt")
+                .setPackageName("package")
+                .setMessage("message")
+                .build();
+        Issue second = new IssueBuilder(context).setFileName(new String("file.txt"))
+                .setPackageName(new String("package"))
+                .setMessage(new String("message"))
+                .build();
+
+        assertThat(second.getFileNameTreeString()).isSameAs(first.getFileNameTreeString());
+        assertThat(second.getPackageNameTreeString()).isSameAs(first.getPackageNameTreeString());
+        assertThat(second.getMessageTreeString()).isSameAs(first.getMessageTreeString());
+        assertThat(context.getSavedBytes()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldShareOtherStringsOfIssuesCreatedByDifferentBuilders() {
+        InterningContext context = new InterningContext();
+
+        Issue first = new IssueBuilder(context).setCategory("category")
+                .setType("type")
+                .setModuleName("module")
+                .setOrigin("origin")
+                .build();
+        Issue second = new IssueBuilder(context).setCategory(new String("category"))
+                .setType(new String("type"))
+                .setModuleName(new String("module"))
+                .setOrigin(new String("origin"))
+                .build();
+
+        assertThat(second.getCategory()).isSameAs(first.getCategory());
+        assertThat(second.getType()).isSameAs(first.getType());
+        assertThat(second.getModuleName()).isSameAs(first.getModuleName());
+        assertThat(second.getOrigin()).isSameAs(first.getOrigin());
+        assertThat(context.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldShareTreeStringsIfPrefixesAreInternedLater() {
+        InterningContext context = new InterningContext();
+
+        TreeString file = context.internFileName("path/to/file.txt");
+        TreeString prefix = context.internFileName("path/to");
+        TreeString sibling = context.internFileName("path/to/other.txt");
+
+        assertThat(context.internFileName(new String("path/to/file.txt"))).isSameAs(file)
+                .hasToString("path/to/file.txt");
+        assertThat(context.internFileName(new String("path/to"))).isSameAs(prefix).hasToString("path/to");
+        assertThat(context.internFileName(new String("path/to/other.txt"))).isSameAs(sibling)
+                .hasToString("path/to/other.txt");
+        assertThat(context.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotShareStringsOfIndependentBuilders() {
+        Issue first = new IssueBuilder().setMessage("message").build();
+        Issue second = new IssueBuilder().setMessage("message").build();
+
+        assertThat(second.getMessageTreeString()).isNotSameAs(first.getMessageTreeString());
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void shouldInternStrings() {
+        InterningContext context = new InterningContext();
+
+        String value = "value";
+        assertThat(context.intern(value)).isSameAs(value);
+        assertThat(context.getSavedBytes()).isZero();
+        assertThat(context.intern(value)).isSameAs(value);
+        assertThat(context.getSavedBytes()).isZero();
+
+        assertThat(context.intern(new String(value))).isSameAs(value);
+        assertThat(context.getSavedBytes()).isGreaterThan(0);
+        assertThat(context.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopInterningIfCapacityIsReached() {
+        InterningContext context = new InterningContext(2);
+
+        String first = context.intern("first");
+        String second = context.intern("second");
+        assertThat(context.size()).isEqualTo(2);
+
+        String third = "third";
+        assertThat(context.intern(third)).isSameAs(third);
+        assertThat(context.intern(new String(third))).isNotSameAs(third);
+        assertThat(context.internMessage("message")).isNotSameAs(context.internMessage("message"));
+        assertThat(context.size()).isEqualTo(2);
+
+        assertThat(context.intern(new String("first"))).isSameAs(first);
+        assertThat(context.intern(new String("second"))).isSameAs(second);
+
+        InterningContext full = new InterningContext(1);
+        TreeString message = full.internMessage("message");
+        assertThat(full.internMessage(new String("message"))).isSameAs(message);
+        assertThat(full.internMessage("other")).isNotSameAs(full.internMessage("other")).hasToString("other");
+        assertThat(full.size()).isEqualTo(1);
+
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> new InterningContext(0));
+    }
+
+    @Test
+    void shouldInternConcurrently() {
+        InterningContext context = new InterningContext();
+
+        List<Issue> issues = IntStream.range(0, 10_000)
+                .parallel()
+                .mapToObj(i -> new IssueBuilder(context).setFileName("file-" + i % 10)
+                        .setMessage("message-" + i % 20)
+                        .build())
+                .collect(Collectors.toList());
+
+        assertThat(issues.stream().map(Issue::getFileNameTreeString).collect(toIdentitySet())).hasSize(10);
+        assertThat(issues.stream().map(Issue::getMessageTreeString).collect(toIdentitySet())).hasSize(20);
+    }
+
+    private static <T> Collector<T, ?, Set<T>> toIdentitySet() {
+        return Collectors.toCollection(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    @Test
+    void shouldUseInterningContextOfParser() {
+        InterningContext context = new InterningContext();
+        IssueParser parser = new IssueParser() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Report parse(final ReaderFactory readerFactory) {
+                return new Report().add(createIssueBuilder().setMessage("message").build());
+            }
+        };
+        parser.setInterningContext(context);
+
+        Issue issue = parser.parse(null).get(0);
+
+        assertThat(issue.getMessageTreeString()).isSameAs(context.internMessage("message"));
+    }
+
+    @Test
+    void shouldShareStringsOfIssuesCreatedByBuildersOfTheSameParser() {
+        IssueParser parser = new IssueParser() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Report parse(final ReaderFactory readerFactory) {
+                return new Report().add(createIssueBuilder().setMessage(new String("message")).setLineStart(1).build())
+                        .add(createIssueBuilder().setMessage(new String("message")).setLineStart(2).build());
+            }
+        };
+
+        Report first = parser.parse(null);
+        Report second = parser.parse(null);
+
+        assertThat(first.get(1).getMessageTreeString()).isSameAs(first.get(0).getMessageTreeString());
+        assertThat(second.get(0).getMessageTreeString()).isSameAs(first.get(0).getMessageTreeString());
+    }
+}
@@ -253,6 +253,39 @@ class IssueTest extends SerializableTest<Issue> {
         }
     }
 
+    @Test
+    void shouldInvalidateCachedHashCodeWhenPropertiesChange() {
+        Issue issue = createFilledIssue();
+        Issue other = createFilledIssue();
+
+        assertThat(issue).isEqualTo(other);
+        assertThat(issue.hashCode()).isEqualTo(other.hashCode());
+
+        issue.setModuleName("new-module");
+        assertThat(issue).isNotEqualTo(other);
+        assertThat(issue.hashCode()).isNotEqualTo(other.hashCode());
+
+        other.setModuleName("new-module");
+        assertThat(issue).isEqualTo(other);
+        assertThat(issue.hashCode()).isEqualTo(other.hashCode());
+
+        issue.setOrigin("new-origin");
+        assertThat(issue).isNotEqualTo(other);
+        other.setOrigin("new-origin");
+        assertThat(issue).isEqualTo(other);
+
+        issue.setPackageName(TREE_STRING_BUILDER.intern("new-package"));
+        assertThat(issue).isNotEqualTo(other);
+        other.setPackageName(TreeString.valueOf("new-package"));
+        assertThat(issue).isEqualTo(other);
+
+        issue.setFileName(PATH_NAME, TREE_STRING_BUILDER.intern("new-file"));
+        assertThat(issue).isNotEqualTo(other);
+        other.setFileName(PATH_NAME, TreeString.valueOf("new-file"));
+        assertThat(issue).isEqualTo(other);
+        assertThat(issue.hashCode()).isEqualTo(other.hashCode());
+    }
+
     @Test
     @SuppressWarnings("NullAway")
     void testDefaultIssueNullStringsNegativeIntegers() {
@@ -0,0 +1,106 @@
+package edu.hm.hafner.analysis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.EclipseParser;
+import edu.hm.hafner.analysis.parser.Gcc4CompilerParser;
+import edu.hm.hafner.analysis.parser.GccParser;
+import edu.hm.hafner.analysis.parser.GhsMultiParser;
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.MsBuildParser;
+import edu.hm.hafner.util.ResourceTest;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link LiteralPrefilter}.
+ *
+ * @author Ullrich Hafner
+ */
+class LiteralPrefilterTest extends ResourceTest {
+    @Test
+    void shouldAcceptAllLinesIfThereAreNoLiterals() {
+        LiteralPrefilter prefilter = new LiteralPrefilter();
+
+        assertThat(prefilter.accepts("")).isTrue();
+        assertThat(prefilter.accepts("line")).isTrue();
+    }
+
+    @Test
+    void shouldSearchFewLiterals() {
+        LiteralPrefilter prefilter = new LiteralPrefilter("warning", "error");
+
+        assertThat(prefilter.accepts("file.c:1: warning: message")).isTrue();
+        assertThat(prefilter.accepts("file.c:1: error: message")).isTrue();
+        assertThat(prefilter.accepts("file.c:1: note: message")).isFalse();
+        assertThat(prefilter.accepts("")).isFalse();
+    }
+
+    @Test
+    void shouldScanManyLiteralsInOnePass() {
+        LiteralPrefilter prefilter = new LiteralPrefilter("arning", "rror", "ote", "nfo", "r:", "警告");
+
+        assertThat(prefilter.accepts("Warning")).isTrue();
+        assertThat(prefilter.accepts("an error")).isTrue();
+        assertThat(prefilter.accepts("a note")).isTrue();
+        assertThat(prefilter.accepts("info")).isTrue();
+        assertThat(prefilter.accepts("rr:")).isTrue();
+        assertThat(prefilter.accepts("警告: message")).isTrue();
+        assertThat(prefilter.accepts("arnin")).isFalse();
+        assertThat(prefilter.accepts("rro")).isFalse();
+        assertThat(prefilter.accepts("警")).isFalse();
+        assertThat(prefilter.accepts("")).isFalse();
+    }
+
+    @Test
+    void shouldRejectEmptyLiterals() {
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> new LiteralPrefilter("a", ""));
+    }
+
+    /** Matching longer lines with the regular expressions of the parsers takes too long for this test. */
+    private static final int MAX_LINE_LENGTH = 4000;
+
+    @Test
+    void shouldAcceptAllLinesMatchedByPattern() throws IOException {
+        List<String> lines = readAllLogs();
+        assertThat(lines).hasSizeGreaterThan(5_000);
+
+        for (LookaheadParser parser : new LookaheadParser[] {new GccParser(), new Gcc4CompilerParser(),
+                new MsBuildParser(), new JavacParser(), new EclipseParser(), new GhsMultiParser()}) {
+            for (String line : lines) {
+                if (parser.getPattern().matcher(line).find()) {
+                    assertThat(parser.getPrefilter().accepts(line))
+                            .as("%s: %s", parser.getClass().getSimpleName(), line)
+                            .isTrue();
+                }
+            }
+        }
+    }
+
+    private List<String> readAllLogs() throws IOException {
+        Path folder = getResourceAsFile("parser/gcc.txt").getParent();
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(file -> file.toString().endsWith(".txt") || file.toString().endsWith(".log"))
+                    .flatMap(this::readLines)
+                    .filter(line -> line.length() < MAX_LINE_LENGTH)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Stream<String> readLines(final Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.ISO_8859_1).stream();
+        }
+        catch (IOException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
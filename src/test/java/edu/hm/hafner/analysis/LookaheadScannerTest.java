@@ -0,0 +1,46 @@
+package edu.hm.hafner.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import edu.hm.hafner.analysis.parser.ClangTidyParser;
+import edu.hm.hafner.analysis.parser.Gcc4CompilerParser;
+import edu.hm.hafner.analysis.parser.GccParser;
+import edu.hm.hafner.analysis.parser.JavacParser;
+import edu.hm.hafner.analysis.parser.MavenConsoleParser;
+import edu.hm.hafner.analysis.parser.MsBuildParser;
+import edu.hm.hafner.util.ResourceTest;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link LookaheadScanner}.
+ *
+ * @author Ullrich Hafner
+ */
+class LookaheadScannerTest extends ResourceTest {
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"all.txt", "gcc.txt", "gcc4.txt", "gnuMakeGcc.txt", "javac.txt", "maven-console.txt",
+            "msbuild.txt", "MSBuildANSIColor.txt", "issue7077-all.txt"})
+    void shouldCreateSameReportsAsIndividualParsers(final String fileName) {
+        List<LookaheadParser> parsers = Arrays.asList(new GccParser(), new Gcc4CompilerParser(), new JavacParser(),
+                new MavenConsoleParser(), new MsBuildParser(), new ClangTidyParser());
+        FileReaderFactory readerFactory = new FileReaderFactory(getResourceAsFile("parser/" + fileName));
+
+        List<Report> reports = new LookaheadScanner(parsers).scan(readerFactory);
+
+        List<Report> expected = parsers.stream().map(parser -> parser.parse(readerFactory)).collect(Collectors.toList());
+        assertThat(reports).hasSameSizeAs(parsers);
+        for (int i = 0; i < parsers.size(); i++) {
+            assertThat(reports.get(i)).as(parsers.get(i).getClass().getSimpleName()).isEqualTo(expected.get(i));
+            assertThat(reports.get(i).stream().map(Issue::getFileName))
+                    .containsExactlyElementsOf(expected.get(i).stream().map(Issue::getFileName)
+                            .collect(Collectors.toList()));
+        }
+        assertThat(reports.stream().mapToInt(Report::size).sum()).isPositive();
+    }
+}
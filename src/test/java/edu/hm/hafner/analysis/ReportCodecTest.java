@@ -0,0 +1,144 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.assertions.SoftAssertions;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link ReportCodec}.
+ *
+ * @author Ullrich Hafner
+ */
+class ReportCodecTest {
+    @Test
+    void shouldRoundTripEmptyReport() throws IOException {
+        Report report = new Report();
+
+        assertThat(roundTrip(report)).isEqualTo(report).isEmpty();
+    }
+
+    @Test
+    void shouldRoundTripAllPropertiesOfIssues() throws IOException {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder();
+        report.add(builder.setPathName("/path/to/affected/files")
+                .setFileName("some/relative/path/to/file.txt")
+                .setLineStart(1)
+                .setLineEnd(2)
+                .setColumnStart(3)
+                .setColumnEnd(4)
+                .setLineRanges(new LineRangeList(new LineRange(5, 6), new LineRange(700_000, 800_000)))
+                .setCategory("category")
+                .setType("type")
+                .setPackageName("package-name")
+                .setModuleName("module-name")
+                .setSeverity(Severity.WARNING_HIGH)
+                .setMessage("message with umlauts äöü")
+                .setDescription("<b>description</b>")
+                .setOrigin("origin")
+                .setReference("reference")
+                .setFingerprint("fingerprint")
+                .setAdditionalProperties("additional")
+                .build());
+        report.add(new IssueBuilder().setMessage("defaults").build());
+        report.add(builder.setSeverity(new Severity("custom")).setMessage("another message").build());
+        report.add(builder.build()); // duplicate
+        Issue changed = new IssueBuilder().setMessage("changed").build();
+        changed.setModuleName("");
+        changed.setFingerprint("");
+        report.add(changed);
+
+        report.logInfo("info with %s", "100%");
+        report.logError("error");
+        report.addFileName("report.xml");
+        report.setNameOfOrigin("origin", "Origin Name");
+
+        Report restored = roundTrip(report);
+
+        try (SoftAssertions softly = new SoftAssertions()) {
+            softly.assertThat(restored).isEqualTo(report);
+            softly.assertThat(restored.getDuplicatesSize()).isEqualTo(1);
+            softly.assertThat(restored.getInfoMessages()).containsExactly("info with 100%");
+            softly.assertThat(restored.getErrorMessages()).containsExactly("error");
+            softly.assertThat(restored.getFileNames()).containsExactly("report.xml");
+            softly.assertThat(restored.getNameOfOrigin("origin")).isEqualTo("Origin Name");
+
+            Iterator<Issue> expected = report.iterator();
+            for (Issue actual : restored) {
+                Issue issue = expected.next();
+                softly.assertThat(actual).isEqualTo(issue);
+                softly.assertThat(actual.getId()).isEqualTo(issue.getId());
+                softly.assertThat(actual.getPath()).isEqualTo(issue.getPath());
+                softly.assertThat(actual.getReference()).isEqualTo(issue.getReference());
+                softly.assertThat(actual.getFingerprint()).isEqualTo(issue.getFingerprint());
+                softly.assertThat(actual.getModuleName()).isEqualTo(issue.getModuleName());
+                softly.assertThat(actual.getSeverity().getName()).isEqualTo(issue.getSeverity().getName());
+                softly.assertThat(actual.getLineRanges()).isEqualTo(issue.getLineRanges());
+            }
+        }
+    }
+
+    @Test
+    void shouldBeSmallerThanJavaSerialization() throws IOException {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder().setCategory("category").setType("type").setOrigin("origin");
+        for (int i = 0; i < 1000; i++) {
+            report.add(builder.setFileName("path/to/file-" + i % 10 + ".txt")
+                    .setPackageName("package-" + i % 5)
+                    .setLineStart(i)
+                    .setMessage("message " + i % 50)
+                    .build());
+        }
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream stream = new ObjectOutputStream(serialized)) {
+            stream.writeObject(report);
+        }
+
+        assertThat(write(report).length).isLessThan(serialized.size() / 3);
+        assertThat(roundTrip(report)).isEqualTo(report);
+    }
+
+    @Test
+    void shouldReadOnlyTheBytesOfTheReport() throws IOException {
+        Report report = new Report();
+        report.add(new IssueBuilder().setFileName("file.txt").setMessage("message").build());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ReportCodec().write(report, output);
+        output.write(new byte[] {1, 2, 3});
+
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+        assertThat(new ReportCodec().read(input)).isEqualTo(report);
+        assertThat(input.available()).isEqualTo(3);
+        assertThat(input.read()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidStreams() {
+        assertThatExceptionOfType(StreamCorruptedException.class).isThrownBy(
+                () -> new ReportCodec().read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5})));
+
+        assertThatExceptionOfType(StreamCorruptedException.class).isThrownBy(
+                () -> new ReportCodec().read(new ByteArrayInputStream(new byte[] {0x41, 0x4D, 0x52, 0x50, 99})));
+    }
+
+    private Report roundTrip(final Report report) throws IOException {
+        return new ReportCodec().read(new ByteArrayInputStream(write(report)));
+    }
+
+    private byte[] write(final Report report) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ReportCodec().write(report, output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+package edu.hm.hafner.analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.assertions.SoftAssertions;
+import edu.hm.hafner.util.NoSuchElementException;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link SpillingReport}.
+ *
+ * @author Ullrich Hafner
+ */
+class SpillingReportTest {
+    private static final int BUDGET = 10;
+
+    @Test
+    void shouldSpillIssuesThatExceedBudget() throws IOException {
+        Report expected = new Report();
+        try (SpillingReport actual = new SpillingReport(BUDGET)) {
+            fill(expected, 1000);
+            fill(actual, 1000);
+
+            try (SoftAssertions softly = new SoftAssertions()) {
+                softly.assertThat(actual).hasSize(1000);
+                softly.assertThat(actual.getSpilledSize()).isGreaterThan(1000 - BUDGET);
+                softly.assertThat(actual.getDuplicatesSize()).isEqualTo(expected.getDuplicatesSize()).isEqualTo(100);
+                softly.assertThat(actual.stream()).containsExactlyElementsOf(expected);
+                softly.assertThat(actual.get(500).getId()).isNotNull();
+                softly.assertThat(actual.get(500)).isEqualTo(expected.get(500));
+                softly.assertThat(actual.getFiles()).isEqualTo(expected.getFiles());
+                softly.assertThat(actual.getSizeOf(Severity.WARNING_HIGH))
+                        .isEqualTo(expected.getSizeOf(Severity.WARNING_HIGH));
+                softly.assertThat(actual.getPropertyCount("packageName"))
+                        .isEqualTo(expected.getPropertyCount("packageName"));
+            }
+
+            Report filtered = actual.filter(Issue.bySeverity(Severity.WARNING_HIGH));
+            assertThat(filtered).isInstanceOf(SpillingReport.class);
+            assertThat(filtered.stream()).containsExactlyElementsOf(
+                    expected.filter(Issue.bySeverity(Severity.WARNING_HIGH)));
+        }
+    }
+
+    @Test
+    void shouldRemoveSpilledIssues() throws IOException {
+        try (SpillingReport report = new SpillingReport(BUDGET)) {
+            fill(report, 25);
+
+            Issue spilled = report.get(2);
+            Issue inMemory = report.get(24);
+            assertThat(report.findById(spilled.getId())).isEqualTo(spilled);
+
+            assertThat(report.remove(spilled.getId())).isEqualTo(spilled);
+            assertThat(report.remove(inMemory.getId())).isEqualTo(inMemory);
+            assertThat(report).hasSize(23);
+            assertThat(report.stream()).doesNotContain(spilled, inMemory);
+            assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(
+                    () -> report.findById(spilled.getId()));
+
+            report.add(spilled);
+            assertThat(report).hasSize(24);
+            assertThat(report.get(23)).isEqualTo(spilled);
+
+            report.close();
+            assertThat(report.getSpilledSize()).isZero();
+            assertThat(report).hasSize((int) report.stream().count());
+        }
+    }
+
+    @Test
+    void shouldStoreSnapshotsOfSpilledIssues() throws IOException {
+        Issue issue = new IssueBuilder().setFileName("file.txt").setReference("original").build();
+        try (SpillingReport report = new SpillingReport(1); SpillingReport other = new SpillingReport(BUDGET)) {
+            report.add(issue);
+            other.add(issue);
+            assertThat(report.getSpilledSize()).isEqualTo(1);
+
+            issue.setReference("changed");
+            report.get(0).setReference("ignored");
+
+            assertThat(other.get(0)).hasReference("changed");
+            assertThat(report.get(0)).hasReference("original");
+            assertThat(report.findById(issue.getId())).hasReference("original");
+
+            report.add(new IssueBuilder().copy(issue).build());
+            assertThat(report).hasSize(1).hasDuplicatesSize(1);
+        }
+    }
+
+    @Test
+    void shouldSerializeAllIssues() throws IOException, ClassNotFoundException {
+        try (SpillingReport report = new SpillingReport(BUDGET)) {
+            fill(report, 50);
+            report.logInfo("info");
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                output.writeObject(report);
+            }
+            try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+                    SpillingReport restored = (SpillingReport) input.readObject()) {
+                assertThat(restored).isEqualTo(report);
+                assertThat(restored.getBudget()).isEqualTo(BUDGET);
+                assertThat(restored.getInfoMessages()).containsExactly("info");
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidBudget() {
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(() -> new SpillingReport(0));
+        assertThat(new SpillingReport().getBudget()).isEqualTo(SpillingReport.DEFAULT_BUDGET);
+    }
+
+    private void fill(final Report report, final int size) {
+        IssueBuilder builder = new IssueBuilder().setCategory("category").setOrigin("origin");
+        Severity[] severities = {Severity.WARNING_HIGH, Severity.WARNING_NORMAL, Severity.WARNING_LOW};
+        for (int i = 0; i < size + size / 10; i++) {
+            int line = i % size;
+            report.add(builder.setFileName("path/to/file-" + line % 10 + ".txt")
+                    .setPackageName("package-" + line % 5)
+                    .setSeverity(severities[line % 3])
+                    .setLineStart(line)
+                    .setMessage("message " + line % 50)
+                    .build());
+        }
+    }
+}
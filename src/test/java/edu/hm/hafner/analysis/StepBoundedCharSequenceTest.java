@@ -0,0 +1,103 @@
+package edu.hm.hafner.analysis;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.util.LookaheadStream;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link StepBoundedCharSequence}.
+ *
+ * @author Ullrich Hafner
+ */
+class StepBoundedCharSequenceTest {
+    /** Uses a back reference since newer JDKs memoize the nested loop of the simple pattern {@code ^(a+)+b}. */
+    private static final Pattern CATASTROPHIC = Pattern.compile("^(a+)+\\1b");
+    private static final String BACKTRACKING_LINE = StringUtils.repeat('a', 40) + "c";
+
+    @Test
+    void shouldFindMatchesWithinBudget() {
+        StepBoundedCharSequence boundedLine = new StepBoundedCharSequence();
+
+        Matcher matcher = boundedLine.find(Pattern.compile("warning: (.*)"), "file.c:1: warning: message");
+        assertThat(matcher).isNotNull();
+        assertThat(matcher.group(1)).isEqualTo("message");
+
+        assertThat(boundedLine.find(Pattern.compile("error"), "file.c:1: warning: message")).isNull();
+        assertThat(boundedLine.getAbortedLines()).isZero();
+    }
+
+    @Test
+    void shouldAbortMatchesThatExceedBudget() {
+        StepBoundedCharSequence boundedLine = new StepBoundedCharSequence(100_000);
+
+        assertThat(boundedLine.find(CATASTROPHIC, BACKTRACKING_LINE)).isNull();
+        assertThat(boundedLine.getAbortedLines()).isEqualTo(1);
+
+        assertThat(boundedLine.find(CATASTROPHIC, "aaab")).isNotNull();
+        assertThat(boundedLine.getAbortedLines()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLogAbortedLinesOfParser() {
+        Report report = new TestParser(CATASTROPHIC.pattern())
+                .parse(createReaderFactory("aab\n" + BACKTRACKING_LINE + "\naaaab\n" + BACKTRACKING_LINE));
+
+        assertThat(report).hasSize(2);
+        assertThat(report.getErrorMessages()).containsExactly(
+                "TestParser: skipped 2 lines since matching the regular expression exceeded the step budget");
+    }
+
+    @Test
+    void shouldParseLongLines() {
+        String message = StringUtils.repeat("long message", " ", 1000);
+
+        Report report = new TestParser("warning: (.*)").parse(createReaderFactory("file.c:1: warning: " + message));
+
+        assertThat(report).hasSize(1);
+        assertThat(report.get(0)).hasMessage(message);
+        assertThat(report.getErrorMessages()).isEmpty();
+    }
+
+    private ReaderFactory createReaderFactory(final String content) {
+        return new ReaderFactory(StandardCharsets.UTF_8) {
+            @Override
+            public String getFileName() {
+                return "log.txt";
+            }
+
+            @Override
+            public Reader create() {
+                return new StringReader(content);
+            }
+        };
+    }
+
+    /**
+     * Creates an issue for each matching line.
+     */
+    private static class TestParser extends LookaheadParser {
+        private static final long serialVersionUID = 1L;
+
+        TestParser(final String pattern) {
+            super(pattern);
+        }
+
+        @Override
+        protected Optional<Issue> createIssue(final Matcher matcher, final LookaheadStream lookahead,
+                final IssueBuilder builder) {
+            return builder.setMessage(matcher.groupCount() > 0 ? matcher.group(1) : matcher.group())
+                    .setLineStart(lookahead.getLine())
+                    .buildOptional();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package edu.hm.hafner.analysis;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link XmlPathHandler}.
+ *
+ * @author Ullrich Hafner
+ */
+class XmlPathHandlerTest {
+    private static final String XML = "<report><file name='A.java'><error line='1'>First <b>bold</b> &amp; "
+            + "<!-- comment --><![CDATA[<cdata>]]></error><nested><error line='99'>Nested</error></nested></file>"
+            + "<file name='B.java'><error line='2'>Second</error></file><error line='3'>Outside</error></report>";
+
+    @Test
+    void shouldInvokeCallbacksOfMatchingPathsOnly() {
+        List<String> events = new ArrayList<>();
+
+        XmlPathHandler handler = new XmlPathHandler()
+                .onStart("report/file", attributes -> events.add("start " + attributes.getValue("name")))
+                .onStart("report/file/error", attributes -> events.add("line " + attributes.getValue("line")))
+                .onText("report/file/error", text -> events.add("text " + text))
+                .onEnd("report/file/error", () -> events.add("end error"))
+                .onEnd("report/file", () -> events.add("end file"));
+        parse(handler, XML);
+
+        assertThat(handler.hasMatchedRoot()).isTrue();
+        assertThat(events).containsExactly(
+                "start A.java", "line 1", "text First bold & <cdata>", "end error", "end file",
+                "start B.java", "line 2", "text Second", "end error", "end file");
+    }
+
+    @Test
+    void shouldCollectTextOfNestedElements() {
+        List<String> texts = new ArrayList<>();
+
+        XmlPathHandler handler = new XmlPathHandler()
+                .onText("report/file", text -> texts.add("file: " + text))
+                .onText("report/file/error", text -> texts.add("error: " + text))
+                .onText("report/file/error/b", text -> texts.add("b: " + text));
+        parse(handler, XML);
+
+        assertThat(texts).containsExactly(
+                "b: bold", "error: First bold & <cdata>", "file: First bold & <cdata>Nested",
+                "error: Second", "file: Second");
+    }
+
+    @Test
+    void shouldInvokeAllCallbacksOfPath() {
+        List<String> events = new ArrayList<>();
+
+        XmlPathHandler handler = new XmlPathHandler()
+                .onStart("report/file", attributes -> events.add("first start"))
+                .onStart("report/file", attributes -> events.add("second start"))
+                .onEnd("report/file", () -> events.add("first end"))
+                .onEnd("/report/file/", () -> events.add("second end"));
+        parse(handler, "<report><file/></report>");
+
+        assertThat(events).containsExactly("first start", "second start", "first end", "second end");
+    }
+
+    @Test
+    void shouldDetectWrongRootElement() {
+        List<String> events = new ArrayList<>();
+
+        XmlPathHandler handler = new XmlPathHandler()
+                .onStart("checkstyle/file", attributes -> events.add("file"));
+        parse(handler, XML);
+
+        assertThat(handler.hasMatchedRoot()).isFalse();
+        assertThat(events).isEmpty();
+
+        parse(handler, "<checkstyle><file/></checkstyle>");
+        assertThat(handler.hasMatchedRoot()).isTrue();
+        assertThat(events).containsExactly("file");
+    }
+
+    @Test
+    void shouldRejectBlankPath() {
+        assertThatExceptionOfType(AssertionError.class).isThrownBy(
+                () -> new XmlPathHandler().onEnd(" ", () -> { }));
+    }
+
+    @Test
+    void shouldThrowParsingExceptionIfDocumentIsNotWellFormed() {
+        assertThatExceptionOfType(ParsingException.class).isThrownBy(
+                () -> parse(new XmlPathHandler(), "<report><file></report>"));
+    }
+
+    private void parse(final XmlPathHandler handler, final String xml) {
+        new SecureXmlParserFactory().parse(new StringReader(xml), StandardCharsets.UTF_8, handler);
+    }
+}
@@ -1,21 +1,76 @@
 package edu.hm.hafner.analysis.parser;
 
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
 import edu.hm.hafner.analysis.AbstractParserTest;
+import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueParser;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.analysis.assertions.SoftAssertions;
 
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
 /**
  * Tests the class {@link CargoCheckParser}.
  *
  * @author Gary Tierney
  */
 class CargoCheckParserTest extends AbstractParserTest {
+    private static final String MESSAGE = "{\"reason\":\"compiler-message\",\"package_id\":\"dummy-pkg\","
+            + "\"message\":{\"message\":\"unused variable: `value%d`\",\"code\":{\"code\":\"unused_variables\","
+            + "\"explanation\":null},\"level\":\"warning\",\"spans\":[{\"file_name\":\"src/other.rs\",\"line_start\":1,"
+            + "\"line_end\":1,\"column_start\":1,\"column_end\":2,\"is_primary\":false,\"text\":[]},"
+            + "{\"file_name\":\"src/main.rs\",\"line_start\":%d,\"line_end\":%d,\"column_start\":5,\"column_end\":10,"
+            + "\"is_primary\":true,\"text\":[{\"text\":\"let value = 1;\",\"highlight_start\":5,\"highlight_end\":10}],"
+            + "\"expansion\":{\"span\":{\"file_name\":\"src/main.rs\"}}}],\"children\":[{\"message\":\"note\","
+            + "\"code\":null,\"level\":\"note\",\"spans\":[],\"children\":[],\"rendered\":null}],"
+            + "\"rendered\":\"warning: unused variable\\n  --> src/main.rs\"}}";
+
     CargoCheckParserTest() {
         super("CargoCheck.json");
     }
 
+    @Test
+    void shouldSkipLinesWithoutCompilerMessages() {
+        Report report = parseStringContent(String.join("\n",
+                "",
+                "   Compiling dummy-pkg v0.1.0",
+                "{\"reason\":\"build-script-executed\",\"package_id\":\"openssl-sys 0.9.0\",\"linked_libs\":[]}",
+                createMessage(1),
+                "{\"reason\":\"build-finished\",\"success\":true}"));
+
+        assertThat(report).hasSize(1);
+        assertThat(report.get(0))
+                .hasFileName("src/main.rs")
+                .hasMessage("unused variable: `value1`")
+                .hasCategory("unused_variables")
+                .hasSeverity(Severity.WARNING_NORMAL)
+                .hasLineStart(1)
+                .hasLineEnd(2)
+                .hasColumnStart(5)
+                .hasColumnEnd(10);
+    }
+
+    @Test
+    void shouldReportIssuesOfAllChunksInOrder() {
+        int size = 1000;
+        Report report = parseStringContent(IntStream.rangeClosed(1, size)
+                .mapToObj(CargoCheckParserTest::createMessage)
+                .collect(Collectors.joining("\n")));
+
+        assertThat(report).hasSize(size);
+        assertThat(report.stream().mapToInt(Issue::getLineStart))
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, size).boxed().collect(Collectors.toList()));
+    }
+
+    private static String createMessage(final int line) {
+        return String.format(MESSAGE, line, line, line + 1);
+    }
+
     @Override
     protected void assertThatIssuesArePresent(final Report report, final SoftAssertions softly) {
         softly.assertThat(report).hasSize(2);
@@ -1,12 +1,17 @@
 package edu.hm.hafner.analysis.parser;
 
+import org.junit.jupiter.api.Test;
+
 import edu.hm.hafner.analysis.AbstractParserTest;
 import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.analysis.assertions.SoftAssertions;
 import edu.hm.hafner.analysis.parser.ccm.CcmParser;
 
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
 /**
  * Tests CCMParser.
  *
@@ -17,6 +22,13 @@ class CcmParserTest extends AbstractParserTest {
         super("pynamodb_ccm_results_sample.xml");
     }
 
+    @Test
+    void shouldRejectOtherXmlFiles() {
+        assertThatThrownBy(() -> parse("stylecop.xml"))
+                .isInstanceOf(ParsingException.class)
+                .hasMessageContaining("not a CCM file");
+    }
+
     @Override
     protected CcmParser createParser() {
         return new CcmParser();
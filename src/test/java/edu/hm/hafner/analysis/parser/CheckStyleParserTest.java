@@ -3,6 +3,7 @@ package edu.hm.hafner.analysis.parser;
 import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.analysis.AbstractParserTest;
+import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.analysis.assertions.SoftAssertions;
@@ -111,6 +112,38 @@ class CheckStyleParserTest extends AbstractParserTest {
         assertThat(report.get(2)).hasSeverity(Severity.WARNING_LOW);
     }
 
+    /**
+     * Parses a file with errors that are not part of a file or that are part of a package.html file: these errors are
+     * skipped.
+     */
+    @Test
+    void shouldSkipErrorsOutsideOfFiles() {
+        Report report = parseInCheckStyleFolder("skipped-elements.xml");
+
+        assertThat(report).hasSize(2);
+        assertThat(report.get(0)).hasFileName("src/main/java/First.java")
+                .hasLineStart(3)
+                .hasColumnStart(5)
+                .hasCategory("Whitespace")
+                .hasType("NoWhitespaceAfterCheck")
+                .hasSeverity(Severity.WARNING_NORMAL)
+                .hasMessage("First");
+        assertThat(report.get(1)).hasFileName("src/main/java/Second.java")
+                .hasLineStart(5)
+                .hasColumnStart(0)
+                .hasCategory("Whitespace")
+                .hasType("NoWhitespaceAfterCheck")
+                .hasSeverity(Severity.WARNING_LOW)
+                .hasMessage("Second");
+    }
+
+    @Test
+    void shouldRejectOtherXmlFiles() {
+        assertThatThrownBy(() -> parse("taglist.xml"))
+                .isInstanceOf(ParsingException.class)
+                .hasMessageContaining("not a Checkstyle file");
+    }
+
     private Report parseInCheckStyleFolder(final String fileName) {
         return parse(PREFIX + fileName);
     }
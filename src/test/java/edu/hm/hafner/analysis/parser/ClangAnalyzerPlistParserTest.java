@@ -1,5 +1,9 @@
 package edu.hm.hafner.analysis.parser;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.analysis.AbstractParserTest;
@@ -54,6 +58,35 @@ class ClangAnalyzerPlistParserTest extends AbstractParserTest {
                 .hasType("Result of operation is garbage or undefined");
     }
 
+    @Test
+    void shouldResolveFilesThatPrecedeDiagnostics() {
+        Report report = parse("clang-analyzer-files-first.txt");
+
+        assertThat(report).hasSize(2);
+        assertThat(report.get(0))
+                .hasFileName("/src/second.c")
+                .hasMessage("Value stored to 'a' is never read")
+                .hasLineStart(12)
+                .hasColumnStart(3)
+                .hasCategory("Dead store")
+                .hasType("Dead assignment");
+        assertThat(report.get(1))
+                .hasFileName("-")
+                .hasLineStart(7);
+    }
+
+    @Test
+    void shouldParseFilesInParallel() {
+        ClangAnalyzerPlistParser parser = createParser();
+        Report expected = parser.parse(createReaderFactory("clang-analyzer-test.txt"));
+
+        List<Report> reports = IntStream.range(0, 16).parallel()
+                .mapToObj(i -> parser.parse(createReaderFactory("clang-analyzer-test.txt")))
+                .collect(Collectors.toList());
+
+        assertThat(reports).allSatisfy(report -> assertThat(report).isEqualTo(expected));
+    }
+
     @Test
     void shouldOnlyAcceptXmlFiles() {
         ClangAnalyzerPlistParser parser = createParser();
@@ -0,0 +1,70 @@
+package edu.hm.hafner.analysis.parser;
+
+import org.junit.jupiter.api.Test;
+
+import edu.hm.hafner.analysis.parser.ContentSniff.Format;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link ContentSniff}.
+ *
+ * @author Ullrich Hafner
+ */
+class ContentSniffTest {
+    private static final String FILE_NAME = "report";
+
+    @Test
+    void shouldFindRootElementAfterPrologCommentsAndDoctype() {
+        ContentSniff sniff = new ContentSniff(FILE_NAME, "\uFEFF<?xml version=\"1.0\"?>\n"
+                + "<!-- generated -->\n<!DOCTYPE plist PUBLIC \"-//Apple//DTD PLIST 1.0//EN\">\n"
+                + "<pmd-cpd version=\"1\"><duplication/>", false);
+
+        assertThat(sniff.getFormat()).isEqualTo(Format.XML);
+        assertThat(sniff.getXmlRootElement()).contains("pmd-cpd");
+        assertThat(sniff.getJsonKeys()).isEmpty();
+    }
+
+    @Test
+    void shouldFindTopLevelKeysOfTruncatedJson() {
+        ContentSniff sniff = new ContentSniff(FILE_NAME, "{\n  \"total\": 2,\n  \"issues\": [{\"key\": \"a\\\"b\", "
+                + "\"nested\": {\"inner\": 1}}],\n  \"comp", false);
+
+        assertThat(sniff.getFormat()).isEqualTo(Format.JSON);
+        assertThat(sniff.getJsonKeys()).containsExactly("total", "issues");
+        assertThat(sniff.getXmlRootElement()).isEmpty();
+    }
+
+    @Test
+    void shouldDetectJsonLines() {
+        ContentSniff sniff = new ContentSniff(FILE_NAME, "{\"reason\": \"compiler-message\"}\n\n"
+                + "{\"reason\": \"build-finished\", \"success\": true}\n{\"reason\": ", false);
+
+        assertThat(sniff.getFormat()).isEqualTo(Format.JSON_LINES);
+        assertThat(sniff.getJsonKeys()).containsExactly("reason", "success");
+        assertThat(sniff.getLines()).hasSize(3);
+    }
+
+    @Test
+    void shouldDetectSingleLineObjectAsJson() {
+        ContentSniff sniff = new ContentSniff(FILE_NAME, "{\"total\": 1, \"issues\": [{\"line\": 1}]}\n", true);
+
+        assertThat(sniff.getFormat()).isEqualTo(Format.JSON);
+        assertThat(sniff.getJsonKeys()).containsExactly("total", "issues");
+    }
+
+    @Test
+    void shouldSplitTextIntoCompleteLines() {
+        String text = "first\r\nsecond\rthird \u001B[1;31merror\u001B[m\nincomplete";
+
+        ContentSniff truncated = new ContentSniff(FILE_NAME, text, false);
+        assertThat(truncated.getFormat()).isEqualTo(Format.TEXT);
+        assertThat(truncated.getLines()).containsExactly("first", "second", "third error");
+        assertThat(truncated.isComplete()).isFalse();
+
+        ContentSniff complete = new ContentSniff(FILE_NAME, text, true);
+        assertThat(complete.getLines()).containsExactly("first", "second", "third error", "incomplete");
+        assertThat(complete.isComplete()).isTrue();
+        assertThat(complete.getFileName()).isEqualTo(FILE_NAME);
+    }
+}
@@ -1,14 +1,22 @@
 package edu.hm.hafner.analysis.parser;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.IssueBuilder;
@@ -18,6 +26,7 @@ import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.analysis.assertions.SoftAssertions;
 import edu.hm.hafner.analysis.parser.FindBugsParser.PriorityProperty;
 import edu.hm.hafner.analysis.parser.FindBugsParser.XmlBugInstance;
+import edu.hm.hafner.util.PathUtil;
 
 import static edu.hm.hafner.analysis.assertions.Assertions.*;
 import static edu.hm.hafner.analysis.parser.FindBugsParser.PriorityProperty.*;
@@ -35,12 +44,20 @@ class FindBugsParserTest {
     /** File in native format. */
     private static final String FINDBUGS_NATIVE_XML = "findbugs-native.xml";
 
+    private static final String AFFECTED_FILE = "edu/hm/hafner/analysis/IssuesTest.java";
+
+    @TempDir
+    Path temp;
+
     private Report parseFile(final String fileName, final PriorityProperty priorityProperty) {
+        return parseFile(fileName, new FindBugsParser(priorityProperty), Collections.emptyList());
+    }
+
+    private Report parseFile(final String fileName, final FindBugsParser parser, final Collection<String> sources) {
         ReaderFactory readerFactory = mock(ReaderFactory.class);
         when(readerFactory.create()).thenAnswer(
                 mock -> new InputStreamReader(read(PREFIX + fileName), StandardCharsets.UTF_8));
-        return new FindBugsParser(priorityProperty).parse(readerFactory,
-                Collections.emptyList(), new IssueBuilder());
+        return parser.parse(readerFactory, sources, new IssueBuilder());
     }
 
     private InputStream read(final String fileName) {
@@ -109,6 +126,43 @@ class FindBugsParserTest {
         }
     }
 
+    @ParameterizedTest(name = "Index source folders: {0}")
+    @ValueSource(booleans = {true, false})
+    void shouldResolveSourceFilesInFirstSourceFolderThatContainsTheFile(final boolean isIndexingSources)
+            throws IOException {
+        Path main = Files.createDirectories(temp.resolve("src/main/java"));
+        Path test = createSourceFile(temp.resolve("src/test/java"), AFFECTED_FILE);
+        createSourceFile(temp.resolve("src"), AFFECTED_FILE);
+
+        Report report = parseFile("spotbugsXml.xml", new FindBugsParser(CONFIDENCE, isIndexingSources),
+                Arrays.asList(main.toString(), test.toString(), temp.resolve("src").toString()));
+
+        String expectedFileName = new PathUtil().getAbsolutePath(test.resolve(AFFECTED_FILE));
+        assertThat(report).hasSize(2);
+        assertThat(report.get(0)).hasFileName(expectedFileName).hasLineStart(286);
+        assertThat(report.get(1)).hasFileName(expectedFileName).hasLineStart(289);
+    }
+
+    @ParameterizedTest(name = "Index source folders: {0}")
+    @ValueSource(booleans = {true, false})
+    void shouldUsePackageBasedFileNameIfSourceFileIsNotFound(final boolean isIndexingSources) throws IOException {
+        Path main = createSourceFile(temp.resolve("src/main/java"), "edu/hm/hafner/analysis/Issues.java");
+
+        Report report = parseFile("spotbugsXml.xml", new FindBugsParser(CONFIDENCE, isIndexingSources),
+                Arrays.asList(main.toString(), temp.resolve("does-not-exist").toString()));
+
+        assertThat(report).hasSize(2);
+        assertThat(report.get(0)).hasFileName(AFFECTED_FILE);
+        assertThat(report.get(1)).hasFileName(AFFECTED_FILE);
+    }
+
+    private Path createSourceFile(final Path sourceFolder, final String fileName) throws IOException {
+        Path sourceFile = sourceFolder.resolve(fileName);
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, "class Dummy {}".getBytes(StandardCharsets.UTF_8));
+        return sourceFolder;
+    }
+
     /**
      * Parses fb-contrib messages.
      *
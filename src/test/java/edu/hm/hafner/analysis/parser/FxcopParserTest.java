@@ -54,5 +54,28 @@ class FxcopParserTest extends AbstractParserTest {
 
         assertThat(result).hasSize(44);
     }
+
+    /**
+     * Verifies that the issues of the namespaces are reported before the issues of the targets, even if the rules
+     * precede the messages so that the report is read in a single pass.
+     */
+    @Test
+    void shouldReportNamespacesBeforeTargets() {
+        Report report = parse("fxcop-rules-first.xml");
+
+        assertThat(report).hasSize(3);
+        assertThat(report.get(0).getMessage()).isEqualTo(
+                "<a href=\"@http://msdn2.microsoft.com/library/ms182190(VS.90).aspx\">SpecifyIFormatProvider</a> - First issue.");
+        assertThat(report.get(0).getDescription()).isEqualTo("Specify the IFormatProvider.");
+        assertThat(report.get(0).getSeverity()).isEqualTo(Severity.ERROR);
+        assertThat(report.get(0).getLineStart()).isEqualTo(299);
+        assertThat(report.get(1).getMessage()).endsWith("SpecifyIFormatProvider</a> - Second issue.");
+        assertThat(report.get(1).getDescription()).isEqualTo("Specify the IFormatProvider.");
+        assertThat(report.get(1).getSeverity()).isEqualTo(Severity.WARNING_NORMAL);
+        assertThat(report.get(2).getMessage()).isEqualTo("UnknownRule - Resource in target.");
+        assertThat(report.get(2).getDescription()).isEmpty();
+        assertThat(report.get(2).getCategory()).isEqualTo("Microsoft.Naming");
+        assertThat(report.get(2).getFileName()).isEqualTo("C:/workspace/test/Resources.resx");
+    }
 }
 
@@ -31,6 +31,16 @@ class GccParserTest extends AbstractParserTest {
      *
      * @see <a href="https://issues.jenkins-ci.org/browse/JENKINS-34141">Issue 34141</a>
      */
+    @Test
+    void shouldMatchWarningLinesOnly() {
+        GccParser parser = createParser();
+
+        assertThat(parser.matches("testhist.l:451: warning: `void yyunput(int, char*)' defined but not used")).isTrue();
+        assertThat(parser.matches("foo.cc:4:39: error: foo.h: No such file or directory")).isTrue();
+        assertThat(parser.matches("make: Entering directory '/build'")).isFalse();
+        assertThat(parser.matches("")).isFalse();
+    }
+
     @Test
     void issue34141() {
         Report warnings = parse("issue34141.txt");
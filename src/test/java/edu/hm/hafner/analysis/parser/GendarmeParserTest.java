@@ -2,6 +2,8 @@ package edu.hm.hafner.analysis.parser;
 
 import java.util.Iterator;
 
+import org.junit.jupiter.api.Test;
+
 import edu.hm.hafner.analysis.AbstractParserTest;
 import edu.hm.hafner.analysis.Issue;
 import edu.hm.hafner.analysis.Report;
@@ -9,6 +11,8 @@ import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.analysis.assertions.SoftAssertions;
 import edu.hm.hafner.analysis.parser.gendarme.GendarmeParser;
 
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
 /**
  * Tests the class {@link GendarmeParser}.
  *
@@ -53,6 +57,30 @@ class GendarmeParserTest extends AbstractParserTest {
                 .hasSeverity(Severity.WARNING_LOW);
     }
 
+    /**
+     * Verifies that the results are read in a second pass if the rules follow the results. Targets that precede the
+     * problem of a rule get the message of this problem as well.
+     */
+    @Test
+    void shouldReadResultsThatPrecedeRules() {
+        Report report = parse("gendarme/Gendarme_rules_last.xml");
+
+        assertThat(report).hasSize(2);
+        String message = "This method does not use any instance fields, properties or methods and can be made static.";
+        assertThat(report.get(0))
+                .hasLineStart(10)
+                .hasMessage(message)
+                .hasFileName("C:/Dev/src/hudson/Hudson.Domain/Dog.cs")
+                .hasCategory("MethodCanBeMadeStaticRule")
+                .hasSeverity(Severity.WARNING_LOW);
+        assertThat(report.get(1))
+                .hasLineStart(22)
+                .hasMessage(message)
+                .hasFileName("C:/Dev/src/hudson/Hudson.Domain/Dog.cs")
+                .hasCategory("MethodCanBeMadeStaticRule")
+                .hasSeverity(Severity.WARNING_HIGH);
+    }
+
     @Override
     protected GendarmeParser createParser() {
         return new GendarmeParser();
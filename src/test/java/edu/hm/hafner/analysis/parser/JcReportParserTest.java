@@ -81,6 +81,13 @@ class JcReportParserTest extends AbstractParserTest {
 
     }
 
+    @Test
+    void shouldRejectOtherXmlFiles() {
+        assertThatThrownBy(() -> parse("pynamodb_ccm_results_sample.xml"))
+                .isInstanceOf(ParsingException.class)
+                .hasMessageContaining("not a jcReport file");
+    }
+
     @Override
     protected void assertThatIssuesArePresent(final Report report, final SoftAssertions softly) {
         assertThat(report).hasSize(6).hasDuplicatesSize(1);
@@ -0,0 +1,120 @@
+package edu.hm.hafner.analysis.parser;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.google.errorprone.annotations.MustBeClosed;
+
+import edu.hm.hafner.analysis.FileReaderFactory;
+import edu.hm.hafner.analysis.ReaderFactory;
+import edu.hm.hafner.analysis.parser.ParserRegistry.Candidate;
+import edu.hm.hafner.util.ResourceTest;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link ParserRegistry}.
+ *
+ * @author Ullrich Hafner
+ */
+class ParserRegistryTest extends ResourceTest {
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource({
+            "pmd/4-pmd-warnings.xml, PmdParser, 4",
+            "dry/cpd/cpd.xml, CpdParser, 4",
+            "taglist.xml, TaglistParser, 4",
+            "findbugs/issue12314.xml, FindBugsParser, 1",
+            "issues.json, JsonParser, 5",
+            "sonarqube-api-minified.json, SonarQubeIssuesParser, 1",
+            "CargoCheck.json, CargoCheckParser, 2",
+            "msbuild.txt, MsBuildParser, 8",
+            "eclipse.txt, EclipseParser, 8"})
+    void shouldDetectParser(final String fileName, final String expectedParser, final int expectedIssues) {
+        List<Candidate> candidates = new ParserRegistry().detect(createReaderFactory(fileName));
+
+        assertThat(candidates).isNotEmpty();
+        Candidate best = candidates.get(0);
+        assertThat(best.getId()).isEqualTo(expectedParser);
+        assertThat(best.isVerified()).isTrue();
+        assertThat(best.getIssues()).isEqualTo(expectedIssues);
+        assertThat(best.createParser()).isInstanceOf(best.createParser().getClass());
+    }
+
+    @Test
+    void shouldRankCandidatesWithoutReadingTheFileAgain() {
+        CountingReaderFactory readerFactory = new CountingReaderFactory(createReaderFactory("gcc.txt"));
+        ParserRegistry registry = new ParserRegistry();
+
+        ContentSniff sniff = ContentSniff.of(readerFactory);
+        List<Candidate> ranked = registry.rank(sniff);
+        List<Candidate> verified = registry.verify(ranked, sniff);
+
+        assertThat(readerFactory.count).isEqualTo(1);
+        assertThat(ranked).extracting(Candidate::getId).contains("GccParser").doesNotContain("PmdParser");
+        assertThat(ranked).noneMatch(Candidate::isVerified);
+        assertThat(verified).hasSameSizeAs(ranked).allMatch(Candidate::isVerified);
+        assertThat(verified.get(0).getIssues()).isPositive();
+    }
+
+    @Test
+    void shouldVerifyOnlyLineBasedParsersOfTruncatedFiles() {
+        ParserRegistry registry = new ParserRegistry();
+        ContentSniff sniff = ContentSniff.of(createReaderFactory("pmd/4-pmd-warnings.xml"), 100);
+
+        List<Candidate> verified = registry.verify(registry.rank(sniff), sniff);
+
+        assertThat(verified).hasSize(1);
+        assertThat(verified.get(0).getId()).isEqualTo("PmdParser");
+        assertThat(verified.get(0).isVerified()).isFalse();
+        assertThat(verified.get(0).getIssues()).isZero();
+    }
+
+    @Test
+    void shouldRankTruncatedJsonByTopLevelKeys() {
+        List<Candidate> candidates = new ParserRegistry().detect(createReaderFactory("sonarqube-api.json"));
+
+        assertThat(candidates).extracting(Candidate::getId)
+                .containsExactly("SonarQubeIssuesParser", "JsonParser", "DScannerParser");
+        assertThat(candidates).noneMatch(Candidate::isVerified);
+    }
+
+    @Test
+    void shouldRegisterAllBuiltInParsers() {
+        assertThat(new ParserRegistry().getIds()).contains("CheckStyleParser", "Gcc4CompilerParser",
+                "SonarQubeDiffParser", "JUnitAdapter", "AjcParser").doesNotHaveDuplicates();
+    }
+
+    private FileReaderFactory createReaderFactory(final String fileName) {
+        return new FileReaderFactory(getResourceAsFile(fileName));
+    }
+
+    /**
+     * Counts the number of readers that have been created.
+     */
+    private static class CountingReaderFactory extends ReaderFactory {
+        private final ReaderFactory delegate;
+        private int count;
+
+        CountingReaderFactory(final ReaderFactory delegate) {
+            super(StandardCharsets.UTF_8);
+
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getFileName() {
+            return delegate.getFileName();
+        }
+
+        @Override @MustBeClosed
+        public Reader create() {
+            count++;
+            return delegate.create();
+        }
+    }
+}
@@ -47,6 +47,22 @@ class SonarQubeIssuesParserTest extends AbstractParserTest {
         }
     }
 
+    /**
+     * Parses several reports with the same parser instance: the components and module paths of a previous report must
+     * not be used to resolve the file names of the next report.
+     */
+    @Test
+    void shouldResolveComponentsOfEachReport() {
+        SonarQubeParser parser = createParser();
+
+        Report multiModule = parser.parse(createReaderFactory(FILENAME_API_MULTIMODULE));
+        Report singleModule = parser.parse(createReaderFactory(FILENAME_API));
+
+        assertThat(multiModule).isEqualTo(createParser().parse(createReaderFactory(FILENAME_API_MULTIMODULE)));
+        assertThat(singleModule).isEqualTo(createParser().parse(createReaderFactory(FILENAME_API)));
+        assertThat(singleModule.get(0).getFileName()).isEqualTo("src/com/tsystems/sbs/jenkinslib/SbsBuild.groovy");
+    }
+
     @Test
     void shouldAcceptDifferentialFile() {
         SonarQubeParser parser = createParser();
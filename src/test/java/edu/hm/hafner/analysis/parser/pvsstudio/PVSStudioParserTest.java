@@ -1,6 +1,11 @@
 package edu.hm.hafner.analysis.parser.pvsstudio;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
 
 import edu.hm.hafner.analysis.AbstractParserTest;
 import edu.hm.hafner.analysis.Issue;
@@ -9,6 +14,8 @@ import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import edu.hm.hafner.analysis.assertions.SoftAssertions;
 
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
 /**
  * Tests the class {@link PVSStudioParser}.
  *
@@ -48,6 +55,38 @@ class PVSStudioParserTest extends AbstractParserTest {
                 .hasFileName("D:/PartPath/PartPath/out/test/resources/TestReport.plog");
     }
 
+    @Test
+    void shouldLogSkippedMessages() {
+        Report report = parseDefaultFile();
+
+        assertThat(report.getInfoMessages()).containsExactly("Skipped 1 false alarms and 7 invalid messages");
+        assertThat(report.getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldLogErrorIfAllMessagesAreInvalid() {
+        Report report = parse("Invalid.plog");
+
+        assertThat(report).isEmpty();
+        assertThat(report.getInfoMessages()).containsExactly("Skipped 0 false alarms and 3 invalid messages");
+        assertThat(report.getErrorMessages()).containsExactly("No messages were parsed!");
+    }
+
+    @Test
+    void shouldCountSkippedMessagesOfEachParsingRun() {
+        PVSStudioParser parser = new PVSStudioParser();
+
+        List<Report> reports = IntStream.range(0, 8).parallel()
+                .mapToObj(i -> parser.parse(createReaderFactory(i % 2 == 0 ? "TestReport.plog" : "Invalid.plog")))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < reports.size(); i++) {
+            assertThat(reports.get(i).getInfoMessages()).containsExactly(i % 2 == 0
+                    ? "Skipped 1 false alarms and 7 invalid messages"
+                    : "Skipped 0 false alarms and 3 invalid messages");
+        }
+    }
+
     private String getFormedMessage(final String type, final String messageFromFile) {
         return "<a target=\"_blank\" href=\"https://www.viva64.com/en/w/" + type.toLowerCase(Locale.ENGLISH) + "/\">"
                 + type + "</a> " + messageFromFile;
@@ -0,0 +1,62 @@
+package edu.hm.hafner.util;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link AnsiEscapeCodes}.
+ *
+ * @author Ullrich Hafner
+ */
+class AnsiEscapeCodesTest {
+    private static final Pattern ANSI_COLOR_CODES = Pattern.compile("\u001B\\[[;\\d]*[ -/]*[@-~]");
+
+    @Test
+    void shouldReturnSameInstanceWithoutEscapeCharacter() {
+        String line = "[WARNING] file.java:[10,20] message";
+
+        assertThat(AnsiEscapeCodes.strip(line)).isSameAs(line);
+        assertThat(AnsiEscapeCodes.containsEscape(line)).isFalse();
+        assertThat(AnsiEscapeCodes.containsEscape(new StringBuilder(line))).isFalse();
+    }
+
+    @Test
+    void shouldRemoveColorCodes() {
+        String line = "\u001B[1;33mWARNING\u001B[m file.java: \u001B[0;1mmessage\u001B[0m";
+
+        assertThat(AnsiEscapeCodes.strip(line)).isEqualTo("WARNING file.java: message");
+        assertThat(AnsiEscapeCodes.containsEscape(line)).isTrue();
+        assertThat(AnsiEscapeCodes.containsEscape(new StringBuilder(line))).isTrue();
+    }
+
+    @ParameterizedTest(name = "[{index}] \"{0}\"")
+    @ValueSource(strings = {"\u001B", "a\u001B", "\u001B[", "\u001B[1;2", "\u001B[1;2 ", "\u001Bx[1m", "\u001B\u001B[1m",
+            "\u001B[ !m", "\u001B[1 m\u001B", "text\u001B[31", "\u001B[31\u001B[0m"})
+    void shouldHandleIncompleteSequencesLikeRegularExpression(final String line) {
+        assertThat(AnsiEscapeCodes.strip(line)).isEqualTo(ANSI_COLOR_CODES.matcher(line).replaceAll(""));
+    }
+
+    @Test
+    void shouldProduceSameResultAsRegularExpression() {
+        char[] alphabet = {'\u001B', '[', ';', '0', '9', ' ', '/', '@', '~', 'm', 'a', 'ä'};
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder line = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                line.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String value = line.toString();
+
+            assertThat(AnsiEscapeCodes.strip(value))
+                    .as(value)
+                    .isEqualTo(ANSI_COLOR_CODES.matcher(value).replaceAll(""));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package edu.hm.hafner.util;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static edu.hm.hafner.analysis.assertions.Assertions.*;
+
+/**
+ * Tests the class {@link CharSequenceLineReader}.
+ *
+ * @author Ullrich Hafner
+ */
+class CharSequenceLineReaderTest {
+    @ParameterizedTest(name = "[{index}] \"{0}\"")
+    @ValueSource(strings = {"", "\n", "\n\n", "one", "one\n", "one\ntwo", "one\r\ntwo\r\n", "one\rtwo\r", "\r\n\r\n",
+            "one\n\ntwo", "one\r\rtwo", "one\n\rtwo"})
+    void shouldSplitLinesLikeBufferedReader(final String content) {
+        assertThat(readAll(content)).isEqualTo(new BufferedReader(new StringReader(content)).lines()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldReadLinesThatExceedBuffer() {
+        String longLine = StringUtils.repeat("a", 20_000);
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append("\r\n").append(longLine.substring(0, i * 17)).append('\r');
+        }
+        content.append(longLine);
+
+        assertThat(readAll(content.toString())).isEqualTo(
+                new BufferedReader(new StringReader(content.toString())).lines().collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldReuseLines() {
+        try (CharSequenceLineReader reader = new CharSequenceLineReader(new StringReader("first\nsecond"))) {
+            CharSequence first = reader.next();
+            assertThat(reader.hasNext()).isTrue();
+            assertThat(first.toString()).isEqualTo("first");
+            assertThat(first.subSequence(1, 3)).isEqualTo("ir");
+            assertThat(first.charAt(4)).isEqualTo('t');
+            assertThatExceptionOfType(StringIndexOutOfBoundsException.class).isThrownBy(() -> first.charAt(5));
+            assertThatExceptionOfType(StringIndexOutOfBoundsException.class).isThrownBy(
+                    () -> first.subSequence(3, 6));
+
+            CharSequence second = reader.next();
+            assertThat(second).isSameAs(first);
+            assertThat(second.toString()).isEqualTo("second");
+
+            assertThat(reader.hasNext()).isFalse();
+            assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(reader::next);
+        }
+    }
+
+    @Test
+    void shouldMapSelectedLines() {
+        try (CharSequenceLineReader reader = new CharSequenceLineReader(new StringReader("keep\nmap me\nkeep"),
+                line -> line.length() > 4, String::toUpperCase)) {
+            assertThat(reader.next().toString()).isEqualTo("keep");
+            assertThat(reader.next()).isEqualTo("MAP ME");
+            assertThat(reader.next()).isNotInstanceOf(String.class).hasToString("keep");
+        }
+    }
+
+    private List<String> readAll(final String content) {
+        List<String> lines = new ArrayList<>();
+        try (CharSequenceLineReader reader = new CharSequenceLineReader(new StringReader(content))) {
+            while (reader.hasNext()) {
+                lines.add(reader.next().toString());
+            }
+        }
+        return lines;
+    }
+}
@@ -1,5 +1,6 @@
 package edu.hm.hafner.util;
 
+import java.io.StringReader;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -80,4 +81,26 @@ class LookaheadStreamTest extends ResourceTest {
             verify(lines).close(); // lines will be closed by stream
         }
     }
+
+    @Test
+    void shouldReturnCharSequencesOfLineReader() {
+        CharSequenceLineReader reader = new CharSequenceLineReader(new StringReader("First Line\nSecond Line\nThird"));
+        try (LookaheadStream stream = new LookaheadStream(reader, "file.txt")) {
+            assertThat(stream.getFileName()).isEqualTo("file.txt");
+            assertThat(stream.hasNext()).isTrue();
+
+            CharSequence first = stream.nextCharSequence();
+            assertThat(first).isNotInstanceOf(String.class);
+            assertThat(first.toString()).isEqualTo(FIRST_LINE);
+            assertThat(stream.getLine()).isEqualTo(1);
+
+            assertThat(stream.peekNext()).isEqualTo("Second Line");
+            assertThat(stream.nextCharSequence()).isEqualTo("Second Line");
+            assertThat(stream.getLine()).isEqualTo(2);
+
+            assertThat(stream.next()).isEqualTo("Third");
+            assertThat(stream.getLine()).isEqualTo(3);
+            assertThat(stream.hasNext()).isFalse();
+        }
+    }
 }
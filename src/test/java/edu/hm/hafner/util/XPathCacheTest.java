@@ -0,0 +1,57 @@
+package edu.hm.hafner.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link XPathCache}.
+ *
+ * @author Ullrich Hafner
+ */
+class XPathCacheTest {
+    private static final String EXPRESSION = "/report/issue";
+
+    @Test
+    void shouldCompileExpressionOnlyOnce() throws XPathExpressionException {
+        XPathExpression compiled = XPathCache.compile(EXPRESSION);
+
+        assertThat(XPathCache.compile(EXPRESSION)).isSameAs(compiled);
+        assertThat(XPathCache.compile("/report/other")).isNotSameAs(compiled);
+    }
+
+    @Test
+    void shouldUseSeparateExpressionsForEachThread() throws Exception {
+        XPathExpression compiled = XPathCache.compile(EXPRESSION);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<XPathExpression> other = executor.submit(() -> XPathCache.compile(EXPRESSION));
+
+            assertThat(other.get()).isNotSameAs(compiled);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldEvictEldestExpressions() throws XPathExpressionException {
+        for (int i = 0; i < XPathCache.CAPACITY * 2; i++) {
+            XPathCache.compile("/report/issue[" + i + "]");
+        }
+
+        assertThat(XPathCache.size()).isEqualTo(XPathCache.CAPACITY);
+    }
+
+    @Test
+    void shouldRejectInvalidExpression() {
+        assertThatExceptionOfType(XPathExpressionException.class).isThrownBy(() -> XPathCache.compile("/report["));
+    }
+}
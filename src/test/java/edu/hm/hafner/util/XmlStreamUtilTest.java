@@ -0,0 +1,50 @@
+package edu.hm.hafner.util;
+
+import java.io.StringReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests the class {@link XmlStreamUtil}.
+ *
+ * @author Ullrich Hafner
+ */
+class XmlStreamUtilTest {
+    private static final String XML = "<root><a id='1'>Text <!-- comment --><b>in child</b> &amp; <![CDATA[<cdata>]]></a>"
+            + "<skipped><a>nested</a></skipped><c/></root>";
+
+    @Test
+    void shouldReadTextOfElementAndChildren() throws XMLStreamException {
+        XMLStreamReader reader = createReader();
+
+        assertThat(XmlStreamUtil.moveTo(reader, "a")).isTrue();
+        assertThat(XmlStreamUtil.getAttribute(reader, "id")).isEqualTo("1");
+        assertThat(XmlStreamUtil.getAttribute(reader, "name")).isEmpty();
+        assertThat(XmlStreamUtil.readText(reader)).isEqualTo("Text in child & <cdata>");
+        assertThat(reader.isEndElement()).isTrue();
+        assertThat(reader.getLocalName()).isEqualTo("a");
+    }
+
+    @Test
+    void shouldSkipElementAndChildren() throws XMLStreamException {
+        XMLStreamReader reader = createReader();
+
+        assertThat(XmlStreamUtil.moveTo(reader, "skipped")).isTrue();
+        XmlStreamUtil.skipElement(reader);
+        assertThat(reader.isEndElement()).isTrue();
+        assertThat(reader.getLocalName()).isEqualTo("skipped");
+
+        assertThat(reader.nextTag()).isEqualTo(XMLStreamReader.START_ELEMENT);
+        assertThat(reader.getLocalName()).isEqualTo("c");
+        assertThat(XmlStreamUtil.moveTo(reader, "a")).isFalse();
+    }
+
+    private XMLStreamReader createReader() throws XMLStreamException {
+        return XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(XML));
+    }
+}